@@ -1,19 +1,25 @@
 package com.ximpify.rentabot;
 
 import com.ximpify.rentabot.bot.BotManager;
+import com.ximpify.rentabot.bot.BotNetworkRuntime;
+import com.ximpify.rentabot.bot.ProtocolWarmup;
 import com.ximpify.rentabot.bot.RentableBot;
 import com.ximpify.rentabot.commands.RentCommand;
 import com.ximpify.rentabot.commands.AdminCommand;
 import com.ximpify.rentabot.gui.GUIListener;
 import com.ximpify.rentabot.gui.GUIManager;
 import com.ximpify.rentabot.hooks.EconomyHandler;
+import com.ximpify.rentabot.hooks.EssentialsTpaHook;
 import com.ximpify.rentabot.hooks.PlaceholderAPIHook;
 import com.ximpify.rentabot.listeners.PlayerListener;
 import com.ximpify.rentabot.rental.RentalManager;
 import com.ximpify.rentabot.storage.StorageManager;
 import com.ximpify.rentabot.util.ConfigMigrator;
+import com.ximpify.rentabot.util.DebugLog;
+import com.ximpify.rentabot.util.LifecycleLog;
 import com.ximpify.rentabot.util.MessageUtil;
 import com.ximpify.rentabot.util.ReloadManager;
+import com.ximpify.rentabot.util.RentABotSettings;
 import com.ximpify.rentabot.util.UpdateChecker;
 
 import net.milkbowl.vault.economy.Economy;
@@ -21,11 +27,19 @@ import org.bukkit.Bukkit;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.function.Supplier;
+
 public class RentABot extends JavaPlugin {
     
     private static RentABot instance;
     
     private BotManager botManager;
+    private BotNetworkRuntime networkRuntime;
+    private ProtocolWarmup protocolWarmup;
+    // Swapped as a whole on reload
+    private volatile RentABotSettings settings;
+    private final DebugLog debugLog = new DebugLog(getLogger());
+    private LifecycleLog lifecycleLog;
     private RentalManager rentalManager;
     private StorageManager storageManager;
     private EconomyHandler economyHandler;
@@ -38,6 +52,8 @@ public class RentABot extends JavaPlugin {
     private boolean economyEnabled = false;
     private boolean placeholderAPIEnabled = false;
     private boolean essentialsEnabled = false;
+    private volatile boolean serverSideTpa = false;
+    private EssentialsTpaHook essentialsTpaHook;
     
     @Override
     public void onEnable() {
@@ -52,10 +68,13 @@ public class RentABot extends JavaPlugin {
         ConfigMigrator configMigrator = new ConfigMigrator(this);
         configMigrator.migrateIfNeeded();
         configMigrator.migrateMessages();
+        reloadSettings();
         
         // Initialize utilities
         this.messageUtil = new MessageUtil(this);
         this.reloadManager = new ReloadManager(this);
+        this.lifecycleLog = new LifecycleLog(this);
+        lifecycleLog.start();
         
         // Setup storage
         this.storageManager = new StorageManager(this);
@@ -71,6 +90,14 @@ public class RentABot extends JavaPlugin {
         // Setup hooks
         setupHooks();
         
+        // Start shared network runtime (must exist before any bot connects)
+        this.networkRuntime = new BotNetworkRuntime(this);
+        networkRuntime.start();
+        
+        // Load protocol/codec classes in the background before loadRentals connects bots
+        this.protocolWarmup = new ProtocolWarmup(this);
+        protocolWarmup.start();
+        
         // Initialize managers
         this.botManager = new BotManager(this);
         this.rentalManager = new RentalManager(this);
@@ -128,6 +155,16 @@ public class RentABot extends JavaPlugin {
             storageManager.close();
         }
         
+        // Write out buffered lifecycle events
+        if (lifecycleLog != null) {
+            lifecycleLog.shutdown();
+        }
+        
+        // Release shared network threads
+        if (networkRuntime != null) {
+            networkRuntime.shutdown();
+        }
+        
         getLogger().info("RentABot disabled!");
     }
     
@@ -169,6 +206,7 @@ public class RentABot extends JavaPlugin {
             if (getConfig().getBoolean("hooks.essentials.enabled", true)) {
                 essentialsEnabled = true;
                 getLogger().info("Essentials hook enabled!");
+                refreshServerSideTpa();
             }
         }
     }
@@ -196,33 +234,8 @@ public class RentABot extends JavaPlugin {
             botManager.checkBotStatus();
         }, checkInterval, checkInterval);
         
-        // Anti-AFK task with randomized intervals
-        if (getConfig().getBoolean("bots.behavior.anti-afk.enabled", true)) {
-            int baseInterval = getConfig().getInt("bots.behavior.anti-afk.interval", 45) * 20;
-            double randomness = getConfig().getDouble("bots.behavior.anti-afk.interval-randomness", 0.4);
-            
-            // Schedule individual random interval tasks per bot instead of fixed global interval
-            scheduleAntiAFKTask(baseInterval, randomness);
-            debug("Anti-AFK task started with base interval: " + baseInterval / 20 + " seconds, randomness: " + (randomness * 100) + "%");
-        }
-    }
-    
-    private void scheduleAntiAFKTask(int baseInterval, double randomness) {
-        // Calculate randomized interval: base ± (base * randomness)
-        int minInterval = (int) (baseInterval * (1.0 - randomness));
-        int maxInterval = (int) (baseInterval * (1.0 + randomness));
-        int actualInterval = minInterval + (int) (Math.random() * (maxInterval - minInterval));
-        
-        Bukkit.getScheduler().runTaskLaterAsynchronously(this, () -> {
-            // Perform anti-AFK for all connected bots
-            for (RentableBot bot : botManager.getAllBots()) {
-                if (bot.isConnected()) {
-                    bot.performAntiAFK();
-                }
-            }
-            // Schedule next with new random interval
-            scheduleAntiAFKTask(baseInterval, randomness);
-        }, actualInterval);
+        // Anti-AFK timing wheel (each bot on its own phase of the interval)
+        botManager.getAntiAFKScheduler().start();
     }
     
     public void reload() {
@@ -246,6 +259,14 @@ public class RentABot extends JavaPlugin {
         return botManager;
     }
     
+    public BotNetworkRuntime getNetworkRuntime() {
+        return networkRuntime;
+    }
+    
+    public ProtocolWarmup getProtocolWarmup() {
+        return protocolWarmup;
+    }
+    
     public RentalManager getRentalManager() {
         return rentalManager;
     }
@@ -282,13 +303,80 @@ public class RentABot extends JavaPlugin {
         return essentialsEnabled;
     }
     
+    /**
+     * Checks if teleport requests to bots are answered by the server-side Essentials hook.
+     */
+    public boolean isServerSideTpa() {
+        return serverSideTpa;
+    }
+    
+    /**
+     * Applies {@code hooks.essentials.use-tpa}: answers teleport requests to bots
+     * server-side instead of parsing bot chat. Called from setup and on reload; the
+     * listener is registered the first time it is needed and checks the flag per event.
+     *
+     * @return whether teleport requests are now handled server-side
+     */
+    public boolean refreshServerSideTpa() {
+        boolean wanted = essentialsEnabled && getConfig().getBoolean("hooks.essentials.use-tpa", true);
+        if (wanted && essentialsTpaHook == null) {
+            if (!EssentialsTpaHook.isSupported()) {
+                getLogger().warning("This Essentials version has no teleport request event - bots will parse chat for TPA");
+                return false;
+            }
+            essentialsTpaHook = new EssentialsTpaHook(this);
+            getServer().getPluginManager().registerEvents(essentialsTpaHook, this);
+        }
+        if (wanted == serverSideTpa) {
+            return wanted;
+        }
+        serverSideTpa = wanted;
+        getLogger().info(wanted ? "Essentials TPA requests handled server-side" : "Bots will parse chat for TPA requests");
+        
+        // Connected bots may have hidden chat on that assumption - resend their client settings
+        if (botManager != null) {
+            for (RentableBot bot : botManager.snapshot().getActive()) {
+                bot.refreshClientProfile();
+            }
+        }
+        return wanted;
+    }
+    
     public UpdateChecker getUpdateChecker() {
         return updateChecker;
     }
     
+    /**
+     * Gets the current config snapshot. Never holds on to it across reloads.
+     */
+    public RentABotSettings getSettings() {
+        return settings;
+    }
+    
+    /**
+     * Rebuilds the config snapshot from the loaded config and publishes it.
+     */
+    public void reloadSettings() {
+        this.settings = RentABotSettings.load(getConfig());
+        debugLog.setEnabled(settings.debug());
+    }
+    
+    public DebugLog getDebugLog() {
+        return debugLog;
+    }
+    
+    public LifecycleLog getLifecycleLog() {
+        return lifecycleLog;
+    }
+    
     public void debug(String message) {
-        if (getConfig().getBoolean("advanced.debug", false)) {
-            getLogger().info("[DEBUG] " + message);
-        }
+        debugLog.debug(message);
+    }
+    
+    /**
+     * Logs a debug message built only when debug is on.
+     */
+    public void debug(Supplier<String> message) {
+        debugLog.debug(message);
     }
 }
@@ -0,0 +1,191 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.RentABotSettings;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hashed timing wheel that drives anti-AFK actions for every connected bot.
+ * Each bot gets a fixed phase inside the interval (hash of its name), so
+ * anti-AFK traffic is spread evenly over time instead of bursting all at once.
+ * The shared {@link BotTicker} advances the wheel every tick, which only touches
+ * the bots in the current slot.
+ */
+public class AntiAFKScheduler {
+    
+    // Power of two so the slot index is a mask
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+    
+    private static final class Entry {
+        final RentableBot bot;
+        // Nominal fire tick: phase + k * interval
+        long anchor;
+        // Actual fire tick: anchor +/- randomness
+        long deadline;
+        // Tick of the last action, -1 before the first
+        long lastFired = -1;
+        
+        Entry(RentableBot bot) {
+            this.bot = bot;
+        }
+    }
+    
+    private final RentABot plugin;
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Entry>[] wheel = new ArrayDeque[WHEEL_SIZE];
+    // Bots currently on the wheel (prevents double scheduling)
+    private final Map<RentableBot, Entry> members;
+    // Bots added from network threads, moved onto the wheel by the tick thread
+    private final Queue<Entry> incoming;
+    
+    private long tick;
+    
+    private volatile boolean enabled;
+    private int intervalTicks;
+    private int jitterTicks;
+    
+    public AntiAFKScheduler(RentABot plugin) {
+        this.plugin = plugin;
+        this.members = new ConcurrentHashMap<>();
+        this.incoming = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+    
+    /**
+     * (Re)starts the wheel with the current anti-AFK settings and schedules every connected bot.
+     */
+    public synchronized void start() {
+        stop();
+        
+        RentABotSettings.AntiAfk settings = plugin.getSettings().antiAfk();
+        enabled = settings.enabled();
+        if (!enabled) {
+            return;
+        }
+        intervalTicks = settings.intervalTicks();
+        jitterTicks = settings.jitterTicks();
+        
+        for (RentableBot bot : plugin.getBotManager().getAllBots()) {
+            if (bot.isConnected()) {
+                schedule(bot);
+            }
+        }
+        
+        plugin.debug("Anti-AFK scheduler started: interval " + (intervalTicks / 20) + "s, randomness ±" + (jitterTicks / 20) + "s");
+    }
+    
+    /**
+     * Stops the wheel and forgets every scheduled bot.
+     */
+    public synchronized void stop() {
+        enabled = false;
+        members.clear();
+        incoming.clear();
+        for (ArrayDeque<Entry> slot : wheel) {
+            slot.clear();
+        }
+    }
+    
+    /**
+     * Puts a bot on the wheel. Safe to call from any thread; no-op if already scheduled.
+     */
+    public void schedule(RentableBot bot) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(bot);
+        if (members.putIfAbsent(bot, entry) == null) {
+            incoming.add(entry);
+        }
+    }
+    
+    /**
+     * Number of bots currently on the wheel.
+     */
+    public int size() {
+        return members.size();
+    }
+    
+    /**
+     * Advances the wheel by one tick. Called by the bot ticker.
+     */
+    synchronized void advance() {
+        if (!enabled) {
+            return;
+        }
+        long now = ++tick;
+        
+        Entry added;
+        while ((added = incoming.poll()) != null) {
+            // Next tick matching this bot's phase
+            long phase = phaseOf(added.bot);
+            added.anchor = now + Math.floorMod(phase - now, (long) intervalTicks);
+            if (added.anchor <= now) {
+                added.anchor += intervalTicks;
+            }
+            place(added, now);
+        }
+        
+        ArrayDeque<Entry> slot = wheel[(int) (now & MASK)];
+        for (int i = slot.size(); i > 0; i--) {
+            Entry entry = slot.poll();
+            if (entry.deadline > now) {
+                // Not this lap
+                slot.add(entry);
+                continue;
+            }
+            
+            RentableBot bot = entry.bot;
+            if (!bot.isConnected() || bot.getStatus() != BotStatus.ACTIVE) {
+                // Dropped off; re-added on next login
+                members.remove(bot, entry);
+                continue;
+            }
+            
+            try {
+                bot.performAntiAFK();
+            } catch (Exception e) {
+                plugin.debug("Anti-AFK failed for bot '" + bot.getInternalName() + "': " + e.getMessage());
+            }
+            
+            entry.lastFired = now;
+            entry.anchor += intervalTicks;
+            place(entry, now);
+        }
+    }
+    
+    private void place(Entry entry, long now) {
+        long jitter = jitterTicks > 0
+            ? ThreadLocalRandom.current().nextLong(-jitterTicks, jitterTicks + 1L)
+            : 0L;
+        long deadline = entry.anchor + jitter;
+        if (entry.lastFired >= 0) {
+            // Jitter on both ends could put two actions up to two jitters closer (or
+            // further apart) than the interval; keep every gap within interval +/- randomness
+            deadline = Math.max(deadline, entry.lastFired + intervalTicks - jitterTicks);
+            deadline = Math.min(deadline, entry.lastFired + intervalTicks + jitterTicks);
+        }
+        entry.deadline = Math.max(now + 1, deadline);
+        wheel[(int) (entry.deadline & MASK)].add(entry);
+    }
+    
+    /**
+     * Deterministic phase inside the interval, spread by a mixed hash of the bot's name.
+     */
+    private long phaseOf(RentableBot bot) {
+        int h = bot.getInternalName().toLowerCase().hashCode();
+        h ^= (h >>> 16);
+        h *= 0x9E3779B9;
+        h ^= (h >>> 15);
+        return Math.floorMod(h, intervalTicks);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ximpify.rentabot.bot;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A bot's status and rental clock as one immutable value. Lifecycle commands build
+ * the next value and publish it with a single write, so a reader on any thread
+ * always sees a status together with the clock that belongs to it, without locking.
+ * Each transition returns null when it doesn't apply to the current value.
+ *
+ * @param status lifecycle status
+ * @param expiresAt when the rental runs out; only counts down while ACTIVE
+ * @param remainingSeconds rental time left while STOPPED or EXPIRED
+ * @param lastActiveAt last time the bot was active (for cleanup)
+ */
+public record BotLifecycle(BotStatus status, Instant expiresAt, long remainingSeconds, Instant lastActiveAt) {
+    
+    /**
+     * A freshly rented, active bot.
+     */
+    static BotLifecycle rented(Instant now, long seconds) {
+        return new BotLifecycle(BotStatus.ACTIVE, now.plusSeconds(seconds), seconds, now);
+    }
+    
+    /**
+     * Rental time left: counted down from {@link #expiresAt} while ACTIVE, frozen otherwise.
+     */
+    public long remainingSeconds(Instant now) {
+        if (status == BotStatus.ACTIVE) {
+            return Math.max(0, Duration.between(now, expiresAt).toSeconds());
+        }
+        return remainingSeconds;
+    }
+    
+    /**
+     * Checks if any rental time is left.
+     */
+    public boolean hasTimeRemaining(Instant now) {
+        if (status == BotStatus.ACTIVE) {
+            return now.isBefore(expiresAt);
+        }
+        return remainingSeconds > 0;
+    }
+    
+    // ==================== Transitions ====================
+    
+    /**
+     * Pauses an active bot, freezing the time it has left.
+     */
+    BotLifecycle stop(Instant now) {
+        if (status != BotStatus.ACTIVE) {
+            return null;
+        }
+        return new BotLifecycle(BotStatus.STOPPED, expiresAt, remainingSeconds(now), now);
+    }
+    
+    /**
+     * Expires an active bot whose time has run out. A bot extended since the
+     * expiry check was made is left alone.
+     */
+    BotLifecycle expire(Instant now) {
+        if (status != BotStatus.ACTIVE || now.isBefore(expiresAt)) {
+            return null;
+        }
+        return new BotLifecycle(BotStatus.EXPIRED, expiresAt, 0, now);
+    }
+    
+    /**
+     * Resumes a stopped bot with the time it had left.
+     */
+    BotLifecycle resume(Instant now) {
+        if (status != BotStatus.STOPPED || remainingSeconds <= 0) {
+            return null;
+        }
+        return new BotLifecycle(BotStatus.ACTIVE, now.plusSeconds(remainingSeconds), remainingSeconds, now);
+    }
+    
+    /**
+     * Resumes a bot that is out of time (expired, or stopped with nothing left)
+     * with newly bought hours.
+     */
+    BotLifecycle resumeWithHours(Instant now, int hours) {
+        boolean outOfTime = status == BotStatus.EXPIRED || (status == BotStatus.STOPPED && remainingSeconds <= 0);
+        if (!outOfTime) {
+            return null;
+        }
+        return rented(now, hours * 3600L);
+    }
+    
+    /**
+     * Adds hours: to the expiry while ACTIVE, to the frozen time while STOPPED,
+     * and as the new frozen time while EXPIRED.
+     */
+    BotLifecycle extend(int hours) {
+        long seconds = hours * 3600L;
+        return switch (status) {
+            case ACTIVE -> new BotLifecycle(status, expiresAt.plusSeconds(seconds), remainingSeconds, lastActiveAt);
+            case STOPPED -> new BotLifecycle(status, expiresAt, remainingSeconds + seconds, lastActiveAt);
+            case EXPIRED -> new BotLifecycle(status, expiresAt, seconds, lastActiveAt);
+        };
+    }
+    
+    // ==================== Loading ====================
+    
+    BotLifecycle withStatus(BotStatus status, Instant now) {
+        return new BotLifecycle(status, expiresAt, remainingSeconds, status == BotStatus.ACTIVE ? now : lastActiveAt);
+    }
+    
+    BotLifecycle withExpiresAt(Instant expiresAt) {
+        return new BotLifecycle(status, expiresAt, remainingSeconds, lastActiveAt);
+    }
+    
+    BotLifecycle withRemainingSeconds(long seconds) {
+        return new BotLifecycle(status, expiresAt, Math.max(0, seconds), lastActiveAt);
+    }
+    
+    BotLifecycle withLastActiveAt(Instant lastActiveAt) {
+        return new BotLifecycle(status, expiresAt, remainingSeconds, lastActiveAt);
+    }
+}
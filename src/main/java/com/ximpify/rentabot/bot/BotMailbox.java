@@ -0,0 +1,90 @@
+package com.ximpify.rentabot.bot;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Per-bot mailbox: runs submitted messages one at a time, in order, on a shared
+ * pool. A bot's state is only touched by its own mailbox, so packet events and
+ * lifecycle commands never race each other, and no thread is tied to one bot.
+ */
+final class BotMailbox implements Executor {
+    
+    // Messages handled per turn before yielding the pool thread to other bots
+    private static final int BATCH = 64;
+    
+    private final Executor pool;
+    private final Consumer<Throwable> errorHandler;
+    private final Queue<Runnable> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    BotMailbox(Executor pool, Consumer<Throwable> errorHandler) {
+        this.pool = pool;
+        this.errorHandler = errorHandler;
+    }
+    
+    /**
+     * Queues a message; it runs after every message queued before it.
+     */
+    @Override
+    public void execute(Runnable message) {
+        messages.add(message);
+        schedule();
+    }
+    
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                pool.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool shut down - run what's left on the caller, still holding the flag
+                // so other callers only queue and this one stays the only runner
+                drainNow();
+            }
+        }
+    }
+    
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH; i++) {
+                Runnable message = messages.poll();
+                if (message == null) {
+                    break;
+                }
+                run(message);
+            }
+        } finally {
+            scheduled.set(false);
+            // Messages added while we were finishing (or left over from the batch)
+            if (!messages.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+    
+    /**
+     * Runs every queued message on the calling thread. Called with the scheduled
+     * flag held; releases it, and takes it back if messages arrived meanwhile.
+     */
+    private void drainNow() {
+        do {
+            Runnable message;
+            while ((message = messages.poll()) != null) {
+                run(message);
+            }
+            scheduled.set(false);
+        } while (!messages.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+    
+    private void run(Runnable message) {
+        try {
+            message.run();
+        } catch (Throwable t) {
+            errorHandler.accept(t);
+        }
+    }
+}
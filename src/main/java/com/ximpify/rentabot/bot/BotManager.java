@@ -1,14 +1,27 @@
 package com.ximpify.rentabot.bot;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.LifecycleLog;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages all bot instances on the server.
@@ -18,13 +31,115 @@ public class BotManager {
     private final RentABot plugin;
     // All bots (active + reserved)
     private final Map<String, RentableBot> bots;
-    // Track counts per player for active bots only
-    private final Map<UUID, Integer> activeBotCounts;
+    // Owner UUID -> that owner's bots (all states), each with the status it is counted under.
+    // An owner's entry is only changed inside botsByOwner.compute, so its updates are serialized.
+    private final Map<UUID, Map<RentableBot, BotStatus>> botsByOwner;
+    // Bots per status, adjusted on every registration and status change
+    private final Map<BotStatus, LongAdder> statusCounts;
+    // Bumped on every membership or status change; the snapshot is rebuilt when it falls behind
+    private final AtomicLong epoch = new AtomicLong();
+    private final Object snapshotLock = new Object();
+    private volatile BotRegistrySnapshot snapshot = BotRegistrySnapshot.EMPTY;
+    // Staggers logins for every connect path
+    private final ConnectionAdmissionController admissionController;
+    // Backoff + circuit breaker for automatic reconnects
+    private final ReconnectEngine reconnectEngine;
+    // Spreads anti-AFK actions over the interval (started with the plugin tasks)
+    private final AntiAFKScheduler antiAFKScheduler;
+    // Plays anti-AFK motion scripts frame by frame
+    private final MotionEngine motionEngine;
+    // Coalesces each bot's outbound packets into one flush per tick
+    private final OutboundFlusher outboundFlusher;
+    // Caps non-critical packets sent by all bots per tick
+    private final PacketBudget packetBudget;
+    // One 20 Hz task driving the budget, the wheel, the motion scripts and the flushes
+    private final BotTicker ticker;
+    // Shared threads that run the bots' mailboxes
+    private final ExecutorService actorPool;
     
     public BotManager(RentABot plugin) {
         this.plugin = plugin;
         this.bots = new ConcurrentHashMap<>();
-        this.activeBotCounts = new ConcurrentHashMap<>();
+        this.botsByOwner = new ConcurrentHashMap<>();
+        this.statusCounts = new EnumMap<>(BotStatus.class);
+        for (BotStatus status : BotStatus.values()) {
+            statusCounts.put(status, new LongAdder());
+        }
+        this.actorPool = createActorPool();
+        this.admissionController = new ConnectionAdmissionController(plugin);
+        admissionController.start();
+        this.reconnectEngine = new ReconnectEngine(plugin);
+        reconnectEngine.start();
+        this.antiAFKScheduler = new AntiAFKScheduler(plugin);
+        this.motionEngine = new MotionEngine(plugin);
+        this.outboundFlusher = new OutboundFlusher(plugin);
+        this.packetBudget = new PacketBudget(plugin);
+        this.ticker = new BotTicker(plugin);
+        ticker.register(packetBudget::tick);
+        ticker.register(antiAFKScheduler::advance);
+        ticker.register(motionEngine::tick);
+        ticker.register(outboundFlusher::tick);
+        ticker.start();
+    }
+    
+    private ExecutorService createActorPool() {
+        // Sized once at startup; a reload doesn't resize the pool
+        int threads = plugin.getSettings().network().actorThreads();
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "RentABot-Bot-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Gets the shared pool that runs bot mailboxes.
+     */
+    Executor getActorPool() {
+        return actorPool;
+    }
+    
+    /**
+     * Gets the connection admission controller.
+     */
+    public ConnectionAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+    
+    /**
+     * Gets the reconnect engine.
+     */
+    public ReconnectEngine getReconnectEngine() {
+        return reconnectEngine;
+    }
+    
+    /**
+     * Gets the anti-AFK scheduler.
+     */
+    public AntiAFKScheduler getAntiAFKScheduler() {
+        return antiAFKScheduler;
+    }
+    
+    /**
+     * Gets the anti-AFK motion engine.
+     */
+    public MotionEngine getMotionEngine() {
+        return motionEngine;
+    }
+    
+    /**
+     * Gets the outbound write coalescer.
+     */
+    public OutboundFlusher getOutboundFlusher() {
+        return outboundFlusher;
+    }
+    
+    /**
+     * Gets the global outbound packet budget.
+     */
+    public PacketBudget getPacketBudget() {
+        return packetBudget;
     }
     
     /**
@@ -42,42 +157,48 @@ public class BotManager {
             return null;
         }
         
-        // Get prefix/suffix for display purposes only
-        String prefix = plugin.getConfig().getString("bots.naming.prefix", "Bot_");
-        String suffix = plugin.getConfig().getString("bots.naming.suffix", "");
-        
         // Connection name must be valid Minecraft username: [a-zA-Z0-9_] only, max 16 chars
         // Remove any illegal characters and ensure valid format
-        String connectionName = sanitizeUsername(prefix + botName + suffix);
+        String connectionName = sanitizeUsername(plugin.getSettings().naming().apply(botName));
         
         // Create bot instance - connectionName is used for Minecraft, botName is internal reference
         RentableBot bot = new RentableBot(plugin, connectionName, botName, ownerUUID, ownerName, hours);
         
-        // Connect bot
-        if (bot.connect()) {
-            bots.put(botName.toLowerCase(), bot);
-            activeBotCounts.merge(ownerUUID, 1, (a, b) -> a + b);
-            plugin.getLogger().info("Bot '" + botName + "' created for player " + ownerName);
-            return bot;
+        // Register before queueing, so status changes from the connect path are counted
+        String key = botName.toLowerCase();
+        if (bots.putIfAbsent(key, bot) != null) {
+            return null;
+        }
+        index(bot);
+        
+        // Queue connection (admitted at the configured join rate)
+        if (!admissionController.submit(bot, ConnectionAdmissionController.Priority.INTERACTIVE)) {
+            bots.remove(key, bot);
+            unindex(bot);
+            return null;
         }
         
-        return null;
+        plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "created", "Bot '" + botName + "' created for player " + ownerName);
+        return bot;
     }
     
     /**
      * Stops a bot (pauses it, doesn't delete).
      * Bot stays in memory with STOPPED status.
+     *
+     * @return completes, on the bot's mailbox, with true if the bot was stopped
      */
-    public boolean stopBot(String botName) {
+    public CompletableFuture<Boolean> stopBot(String botName) {
         RentableBot bot = bots.get(botName.toLowerCase());
-        if (bot != null && bot.getStatus() == BotStatus.ACTIVE) {
-            bot.stopAndFreeze();
-            UUID owner = bot.getOwnerUUID();
-            activeBotCounts.computeIfPresent(owner, (k, v) -> v > 1 ? v - 1 : null);
-            plugin.getLogger().info("Bot '" + botName + "' stopped (paused)");
-            return true;
+        if (bot == null) {
+            return CompletableFuture.completedFuture(false);
         }
-        return false;
+        return bot.stopAndFreeze().thenApply(stopped -> {
+            if (stopped) {
+                plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "stopped", "Bot '" + botName + "' stopped (paused)");
+            }
+            return stopped;
+        });
     }
     
     /**
@@ -86,63 +207,74 @@ public class BotManager {
     public boolean deleteBot(String botName) {
         RentableBot bot = bots.remove(botName.toLowerCase());
         if (bot != null) {
+            unindex(bot);
+            
+            // Drop any pending connection
+            admissionController.cancel(bot);
+            reconnectEngine.cancel(bot);
+            
             // Disconnect if connected
             if (bot.isConnected()) {
                 bot.disconnect("Bot deleted");
             }
-            // Update counts if was active
-            if (bot.getStatus() == BotStatus.ACTIVE) {
-                UUID owner = bot.getOwnerUUID();
-                activeBotCounts.computeIfPresent(owner, (k, v) -> v > 1 ? v - 1 : null);
-            }
-            plugin.getLogger().info("Bot '" + botName + "' permanently deleted");
+            plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "deleted", "Bot '" + botName + "' permanently deleted");
             return true;
         }
         return false;
     }
     
     /**
-     * Resumes a stopped bot.
+     * Resumes a stopped bot with the time it had left.
+     *
+     * @return completes, on the bot's mailbox, with true if the bot was resumed
      */
-    public boolean resumeBot(String botName) {
+    public CompletableFuture<Boolean> resumeBot(String botName) {
         RentableBot bot = bots.get(botName.toLowerCase());
-        if (bot != null && bot.getStatus() == BotStatus.STOPPED && bot.hasTimeRemaining()) {
-            if (bot.resume()) {
-                activeBotCounts.merge(bot.getOwnerUUID(), 1, (a, b) -> a + b);
-                plugin.getLogger().info("Bot '" + botName + "' resumed");
-                return true;
-            }
+        if (bot == null) {
+            return CompletableFuture.completedFuture(false);
         }
-        return false;
+        return bot.resume().thenApply(resumed -> {
+            if (resumed) {
+                plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "resumed", "Bot '" + botName + "' resumed");
+            }
+            return resumed;
+        });
     }
     
     /**
-     * Resumes an expired bot with new hours.
+     * Resumes a bot that is out of time (expired, or stopped with none left) with new hours.
+     *
+     * @return completes, on the bot's mailbox, with true if the bot was resumed
      */
-    public boolean resumeBotWithHours(String botName, int hours) {
+    public CompletableFuture<Boolean> resumeBotWithHours(String botName, int hours) {
         RentableBot bot = bots.get(botName.toLowerCase());
-        if (bot != null && (bot.getStatus() == BotStatus.EXPIRED || 
-                          (bot.getStatus() == BotStatus.STOPPED && !bot.hasTimeRemaining()))) {
-            if (bot.resumeWithHours(hours)) {
-                activeBotCounts.merge(bot.getOwnerUUID(), 1, (a, b) -> a + b);
-                plugin.getLogger().info("Bot '" + botName + "' resumed with " + hours + " hours");
-                return true;
-            }
+        if (bot == null) {
+            return CompletableFuture.completedFuture(false);
         }
-        return false;
+        return bot.resumeWithHours(hours).thenApply(resumed -> {
+            if (resumed) {
+                plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "resumed", "Bot '" + botName + "' resumed with " + hours + " hours");
+            }
+            return resumed;
+        });
     }
     
     /**
-     * Marks a bot as expired.
+     * Marks an active bot whose time ran out as expired.
+     *
+     * @return completes, on the bot's mailbox, with true if the bot was expired
      */
-    public void expireBot(String botName) {
+    public CompletableFuture<Boolean> expireBot(String botName) {
         RentableBot bot = bots.get(botName.toLowerCase());
-        if (bot != null && bot.getStatus() == BotStatus.ACTIVE) {
-            bot.markExpired();
-            UUID owner = bot.getOwnerUUID();
-            activeBotCounts.computeIfPresent(owner, (k, v) -> v > 1 ? v - 1 : null);
-            plugin.getLogger().info("Bot '" + botName + "' expired");
+        if (bot == null) {
+            return CompletableFuture.completedFuture(false);
         }
+        return bot.markExpired().thenApply(expired -> {
+            if (expired) {
+                plugin.getLifecycleLog().info(LifecycleLog.Category.EXPIRE, null, "Bot '" + botName + "' expired");
+            }
+            return expired;
+        });
     }
     
     /**
@@ -153,48 +285,85 @@ public class BotManager {
     }
     
     /**
-     * Gets all bots owned by a player (all states).
+     * Gets a bot by its in-game name (the name it logs in with).
+     */
+    public Optional<RentableBot> getBotByDisplayName(String displayName) {
+        return Optional.ofNullable(snapshot().findByDisplayName(displayName));
+    }
+    
+    /**
+     * Gets the current registry snapshot, rebuilding it first if bots were added,
+     * removed or changed status since the last one.
+     */
+    public BotRegistrySnapshot snapshot() {
+        BotRegistrySnapshot current = snapshot;
+        if (current.getEpoch() == epoch.get()) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            current = snapshot;
+            // Read the epoch before walking the map so a change during the build triggers another one
+            long version = epoch.get();
+            if (current.getEpoch() != version) {
+                current = BotRegistrySnapshot.build(version, bots.values());
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+    
+    /**
+     * Gets all bots owned by a player (all states). Read-only live view of the
+     * owner index; iterating it is safe while bots are added or removed.
      */
     public Collection<RentableBot> getPlayerBots(UUID playerUUID) {
-        return bots.values().stream()
-            .filter(bot -> bot.getOwnerUUID().equals(playerUUID))
-            .toList();
+        return Collections.unmodifiableSet(ownedBots(playerUUID).keySet());
     }
     
     /**
      * Gets all active bots owned by a player.
      */
     public Collection<RentableBot> getPlayerActiveBots(UUID playerUUID) {
-        return bots.values().stream()
-            .filter(bot -> bot.getOwnerUUID().equals(playerUUID))
-            .filter(bot -> bot.getStatus() == BotStatus.ACTIVE)
-            .toList();
+        return filterOwned(playerUUID, false);
     }
     
     /**
      * Gets all reserved (stopped/expired) bots owned by a player.
      */
     public Collection<RentableBot> getPlayerReservedBots(UUID playerUUID) {
-        return bots.values().stream()
-            .filter(bot -> bot.getOwnerUUID().equals(playerUUID))
-            .filter(bot -> bot.getStatus().isReserved())
-            .toList();
+        return filterOwned(playerUUID, true);
+    }
+    
+    private List<RentableBot> filterOwned(UUID playerUUID, boolean reserved) {
+        Map<RentableBot, BotStatus> owned = ownedBots(playerUUID);
+        List<RentableBot> result = new ArrayList<>(owned.size());
+        for (RentableBot bot : owned.keySet()) {
+            if (bot.getStatus().isReserved() == reserved) {
+                result.add(bot);
+            }
+        }
+        return result;
     }
     
     /**
      * Gets all bots in memory.
      */
     public Collection<RentableBot> getAllBots() {
-        return bots.values();
+        return snapshot().getAll();
     }
     
     /**
      * Gets all active (connected) bots.
      */
     public Collection<RentableBot> getAllActiveBots() {
-        return bots.values().stream()
-            .filter(bot -> bot.getStatus() == BotStatus.ACTIVE)
-            .toList();
+        return snapshot().getActive();
+    }
+    
+    /**
+     * Gets all reserved (stopped/expired) bots.
+     */
+    public Collection<RentableBot> getAllReservedBots() {
+        return snapshot().getReserved();
     }
     
     /**
@@ -249,33 +418,47 @@ public class BotManager {
      * Gets the number of ACTIVE bots a player owns.
      */
     public int getPlayerBotCount(UUID playerUUID) {
-        return activeBotCounts.getOrDefault(playerUUID, 0);
+        return countOwned(playerUUID, false);
     }
     
     /**
      * Gets the number of ACTIVE bots a player owns (alias).
      */
     public int getPlayerActiveBotCount(UUID playerUUID) {
-        return activeBotCounts.getOrDefault(playerUUID, 0);
+        return countOwned(playerUUID, false);
     }
     
     /**
      * Gets the number of reserved (stopped/expired) bots a player owns.
      */
     public int getPlayerReservedBotCount(UUID playerUUID) {
-        return (int) bots.values().stream()
-            .filter(bot -> bot.getOwnerUUID().equals(playerUUID))
-            .filter(bot -> bot.getStatus().isReserved())
-            .count();
+        return countOwned(playerUUID, true);
+    }
+    
+    /**
+     * Gets a player's entry in the owner index, sized by what they own rather than
+     * by the whole registry. Live view; statuses are read from the bots themselves.
+     */
+    private Map<RentableBot, BotStatus> ownedBots(UUID playerUUID) {
+        Map<RentableBot, BotStatus> owned = botsByOwner.get(playerUUID);
+        return owned != null ? owned : Map.of();
+    }
+    
+    private int countOwned(UUID playerUUID, boolean reserved) {
+        int count = 0;
+        for (RentableBot bot : ownedBots(playerUUID).keySet()) {
+            if (bot.getStatus().isReserved() == reserved) {
+                count++;
+            }
+        }
+        return count;
     }
     
     /**
      * Gets total bot count (all players) for a specific status.
      */
     public int getTotalBotCountByStatus(BotStatus status) {
-        return (int) bots.values().stream()
-            .filter(bot -> bot.getStatus() == status)
-            .count();
+        return statusCounts.get(status).intValue();
     }
     
     /**
@@ -340,16 +523,17 @@ public class BotManager {
             
             // Update both internal name and display name
             bot.setInternalName(newName);
-            String newDisplayName = sanitizeUsername(plugin.getConfig().getString("bots.naming.prefix", "Bot_") 
-                + newName + plugin.getConfig().getString("bots.naming.suffix", ""));
+            String newDisplayName = sanitizeUsername(plugin.getSettings().naming().apply(newName));
             bot.setDisplayName(newDisplayName);
             
             // Update database: delete old entry and save with new name
             plugin.getStorageManager().deleteRental(oldName);
             plugin.getStorageManager().saveRental(bot);
             
-            // Add back to bots map with new name
+            // Add back to bots map with new name; a snapshot built while it was out
+            // of the map is missing it, so move the epoch on again
             bots.put(newName.toLowerCase(), bot);
+            epoch.incrementAndGet();
             
             // CRITICAL FIX: Wait for the old player entity to be fully removed from server
             // before attempting to connect with new name
@@ -364,7 +548,7 @@ public class BotManager {
                         var oldPlayer = plugin.getServer().getPlayer(oldDisplayName);
                         if (oldPlayer != null) {
                             oldPlayer.kick(net.kyori.adventure.text.Component.text("Bot renamed"));
-                            plugin.debug("Kicked stale bot player entity: " + oldDisplayName);
+                            plugin.debug(() -> "Kicked stale bot player entity: " + oldDisplayName);
                         }
                     });
                     
@@ -395,11 +579,12 @@ public class BotManager {
         // Reset reconnect state
         bot.resetForReconnect();
         
-        // Now attempt to connect with new name
-        if (bot.connect()) {
-            plugin.getLogger().info("Bot reconnected with new name: " + bot.getDisplayName());
+        // Now queue the connection with the new name
+        if (admissionController.submit(bot, ConnectionAdmissionController.Priority.INTERACTIVE)) {
+            plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "renamed", "Bot queued to reconnect with new name: " + bot.getDisplayName());
         } else {
-            plugin.getLogger().warning("Failed to reconnect bot after rename: " + bot.getInternalName());
+            plugin.getLifecycleLog().warning(LifecycleLog.Category.CONNECT_FAILED, "not queued after rename",
+                "Failed to reconnect bot after rename: " + bot.getInternalName());
         }
     }
     
@@ -407,12 +592,11 @@ public class BotManager {
      * Checks status of all bots and handles disconnections.
      */
     public void checkBotStatus() {
-        // Create a copy of values to avoid ConcurrentModificationException
-        // since reconnect operations may modify the map
-        for (RentableBot bot : new java.util.ArrayList<>(bots.values())) {
+        // The snapshot is immutable, so reconnects modifying the registry are safe
+        for (RentableBot bot : snapshot().getActive()) {
             // Only try to reconnect active bots
             if (bot.getStatus() == BotStatus.ACTIVE && !bot.isConnected() && bot.shouldReconnect()) {
-                plugin.debug("Attempting to reconnect bot: " + bot.getInternalName());
+                plugin.debug(() -> "Attempting to reconnect bot: " + bot.getInternalName());
                 bot.reconnect();
             }
         }
@@ -423,13 +607,28 @@ public class BotManager {
      * Stopped/expired bots remain in memory for saving.
      */
     public void disconnectAll() {
-        for (RentableBot bot : bots.values()) {
+        // Stop admitting new logins first
+        ticker.stop();
+        antiAFKScheduler.stop();
+        reconnectEngine.stop();
+        admissionController.shutdown();
+        
+        for (RentableBot bot : snapshot().getAll()) {
             if (bot.isConnected()) {
                 bot.disconnect("Server shutdown");
             }
         }
+        
+        // Let queued disconnects and events finish before the plugin goes away
+        actorPool.shutdown();
+        try {
+            if (!actorPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Bot tasks did not finish within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         // Don't clear bots map - let RentalManager save them first
-        activeBotCounts.clear();
     }
     
     /**
@@ -437,17 +636,21 @@ public class BotManager {
      */
     public void clearAll() {
         bots.clear();
-        activeBotCounts.clear();
+        botsByOwner.clear();
+        statusCounts.values().forEach(LongAdder::reset);
+        epoch.incrementAndGet();
     }
     
     /**
      * Registers an existing bot (used when loading from storage).
-     * Only increments active count if bot is ACTIVE.
      */
     public void registerBot(RentableBot bot) {
-        bots.put(bot.getInternalName().toLowerCase(), bot);
-        if (bot.getStatus() == BotStatus.ACTIVE) {
-            activeBotCounts.merge(bot.getOwnerUUID(), 1, (a, b) -> a + b);
+        RentableBot previous = bots.put(bot.getInternalName().toLowerCase(), bot);
+        if (previous != null && previous != bot) {
+            unindex(previous);
+        }
+        if (previous != bot) {
+            index(bot);
         }
     }
     
@@ -455,7 +658,52 @@ public class BotManager {
      * Registers a bot without connecting (for stopped/expired bots from storage).
      */
     public void registerBotWithoutConnect(RentableBot bot) {
-        bots.put(bot.getInternalName().toLowerCase(), bot);
-        // Don't increment active counts for non-active bots
+        registerBot(bot);
+    }
+    
+    /**
+     * Called by a bot after its status changed. Moves the bot's count to its current
+     * status; bots that aren't registered (still loading, or deleted) are ignored.
+     * Reading the status inside the owner's compute means a change that races with
+     * {@link #index} is either seen by it or reconciled here, never lost.
+     */
+    void onStatusChanged(RentableBot bot) {
+        botsByOwner.computeIfPresent(bot.getOwnerUUID(), (k, owned) -> {
+            BotStatus counted = owned.get(bot);
+            BotStatus current = bot.getStatus();
+            if (counted != null && counted != current) {
+                owned.put(bot, current);
+                statusCounts.get(counted).decrement();
+                statusCounts.get(current).increment();
+            }
+            return owned;
+        });
+        epoch.incrementAndGet();
+    }
+    
+    private void index(RentableBot bot) {
+        botsByOwner.compute(bot.getOwnerUUID(), (k, owned) -> {
+            if (owned == null) {
+                owned = new ConcurrentHashMap<>();
+            }
+            if (!owned.containsKey(bot)) {
+                BotStatus status = bot.getStatus();
+                owned.put(bot, status);
+                statusCounts.get(status).increment();
+            }
+            return owned;
+        });
+        epoch.incrementAndGet();
+    }
+    
+    private void unindex(RentableBot bot) {
+        botsByOwner.computeIfPresent(bot.getOwnerUUID(), (k, owned) -> {
+            BotStatus counted = owned.remove(bot);
+            if (counted != null) {
+                statusCounts.get(counted).decrement();
+            }
+            return owned.isEmpty() ? null : owned;
+        });
+        epoch.incrementAndGet();
     }
 }
\ No newline at end of file
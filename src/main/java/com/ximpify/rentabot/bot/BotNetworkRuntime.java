@@ -0,0 +1,321 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.geysermc.mcprotocollib.network.Session;
+import org.geysermc.mcprotocollib.network.session.ClientNetworkSession;
+import org.geysermc.mcprotocollib.protocol.codec.MinecraftCodec;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plugin-owned network runtime shared by every bot connection.
+ * Holds one sized event loop group on the transport MCProtocolLib picked for its
+ * client channels (native epoll on Linux, NIO elsewhere), one pooled buffer
+ * allocator and the resolved server address, so thread count and direct memory
+ * stay flat no matter how many bots are connected.
+ */
+public class BotNetworkRuntime {
+    
+    // Static group MCProtocolLib lazily creates for all client sessions
+    private static final String CLIENT_GROUP_FIELD = "EVENT_LOOP_GROUP";
+    // Where MCProtocolLib records the transport it picked for client channels
+    private static final String TRANSPORT_HELPER = "org.geysermc.mcprotocollib.network.helper.TransportHelper";
+    // MCProtocolLib versions (named after their Minecraft version) this class was checked against
+    private static final Set<String> VERIFIED_LIBRARY_VERSIONS = Set.of("1.21.9");
+    // Event loop handler for each transport's channel package
+    private static final Map<String, String> IO_HANDLERS = Map.of(
+        "io.netty.channel.epoll", "io.netty.channel.epoll.EpollIoHandler",
+        "io.netty.channel.kqueue", "io.netty.channel.kqueue.KQueueIoHandler",
+        "io.netty.channel.uring", "io.netty.channel.uring.IoUringIoHandler",
+        "io.netty.channel.socket.nio", "io.netty.channel.nio.NioIoHandler");
+    
+    private final RentABot plugin;
+    private EventLoopGroup eventLoopGroup;
+    private ByteBufAllocator allocator;
+    private int threads;
+    private boolean nativeTransport;
+    private String transportName = "library default";
+    private boolean installed;
+    
+    // Resolved once, cleared on config reload
+    private volatile SocketAddress serverAddress;
+    
+    public BotNetworkRuntime(RentABot plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Creates the shared allocator and, for verified MCProtocolLib versions, an event
+     * loop group matching the library's channel type, handed to the library.
+     * Must be called before the first bot connects.
+     */
+    public void start() {
+        int configuredThreads = plugin.getConfig().getInt("advanced.network.event-loop-threads", 0);
+        threads = configuredThreads > 0
+            ? configuredThreads
+            : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        
+        // One arena per event loop thread bounds pooled direct memory by thread count, not bot count
+        allocator = new PooledByteBufAllocator(true, threads, threads, 8192, 9, 0, 0, true);
+        // Until the library's transport is known, domain sockets follow epoll availability
+        nativeTransport = Epoll.isAvailable();
+        
+        installed = installClientEventLoopGroup();
+        
+        plugin.getLogger().info("Network runtime started: "
+            + (installed ? threads + " event loop thread(s), " + transportName + " transport" : "MCProtocolLib defaults in use"));
+    }
+    
+    /**
+     * Hands a shared group to MCProtocolLib, which otherwise creates its own unsized group
+     * on the first connect. MCProtocolLib has no API for this, so the static field is set
+     * reflectively, and only on library versions this was checked against. The group gets
+     * the event loop handler for the channel class the library connects with, and a probe
+     * channel of that class must register on it first, so the two can't mismatch.
+     * Returns false (and warns) otherwise.
+     */
+    private boolean installClientEventLoopGroup() {
+        String version = libraryVersion();
+        if (!VERIFIED_LIBRARY_VERSIONS.contains(version)) {
+            warnNotInstalled("MCProtocolLib " + version + " is not a version this plugin was checked against");
+            return false;
+        }
+        try {
+            Field field = ClientNetworkSession.class.getDeclaredField(CLIENT_GROUP_FIELD);
+            if (!Modifier.isStatic(field.getModifiers()) || !field.getType().isAssignableFrom(MultiThreadIoEventLoopGroup.class)) {
+                warnNotInstalled("unexpected type of " + CLIENT_GROUP_FIELD + " (" + field.getType().getName() + ")");
+                return false;
+            }
+            field.setAccessible(true);
+            if (field.get(null) != null) {
+                warnNotInstalled("the library already created its own group");
+                return false;
+            }
+            
+            Class<?> channelClass = libraryChannelClass();
+            String handler = IO_HANDLERS.get(channelClass.getPackageName());
+            if (handler == null) {
+                warnNotInstalled("no event loop handler known for " + channelClass.getName());
+                return false;
+            }
+            IoHandlerFactory ioHandlerFactory = (IoHandlerFactory) Class.forName(handler).getMethod("newFactory").invoke(null);
+            eventLoopGroup = new AllocatingEventLoopGroup(threads,
+                new DefaultThreadFactory("RentABot-Netty", true), ioHandlerFactory, allocator);
+            if (!canRegister(channelClass)) {
+                warnNotInstalled(channelClass.getName() + " does not register on a " + handler + " group");
+                discardGroup();
+                return false;
+            }
+            
+            field.set(null, eventLoopGroup);
+            String transport = channelClass.getPackageName().substring("io.netty.channel.".length());
+            nativeTransport = !transport.equals("socket.nio");
+            transportName = nativeTransport ? "native " + transport : "NIO";
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            warnNotInstalled(e.toString());
+            discardGroup();
+            return false;
+        }
+    }
+    
+    /**
+     * Gets the library's Minecraft version, which MCProtocolLib versions are named after.
+     */
+    private static String libraryVersion() {
+        try {
+            return MinecraftCodec.CODEC.getMinecraftVersion();
+        } catch (RuntimeException | LinkageError e) {
+            return "unknown";
+        }
+    }
+    
+    /**
+     * Gets the socket channel class MCProtocolLib picked for client connections.
+     */
+    private static Class<?> libraryChannelClass() throws ReflectiveOperationException {
+        Object transportType = Class.forName(TRANSPORT_HELPER).getField("TRANSPORT_TYPE").get(null);
+        return (Class<?>) transportType.getClass().getMethod("socketChannelClass").invoke(transportType);
+    }
+    
+    /**
+     * Registers and closes a throwaway channel of the given class on the shared group.
+     */
+    private boolean canRegister(Class<?> channelClass) throws ReflectiveOperationException {
+        Channel probe = (Channel) channelClass.getConstructor().newInstance();
+        try {
+            ChannelFuture registered = eventLoopGroup.register(probe);
+            return registered.awaitUninterruptibly(2000) && registered.isSuccess();
+        } finally {
+            probe.close();
+        }
+    }
+    
+    private void discardGroup() {
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+            eventLoopGroup = null;
+        }
+    }
+    
+    private void warnNotInstalled(String cause) {
+        plugin.getLogger().warning("Not sharing a bot event loop group with MCProtocolLib: " + cause
+            + ". Bots will use the library's own event loop threads and the pooled allocator only after login starts.");
+    }
+    
+    /**
+     * Applies the shared allocator to a freshly connected bot channel. Channels on the
+     * shared group already got it at registration; this covers the library's own group.
+     */
+    public void configureChannel(Session session) {
+        Channel channel = session.getChannel();
+        if (channel != null && allocator != null && channel.config().getAllocator() != allocator) {
+            channel.config().setAllocator(allocator);
+        }
+    }
+    
+    /**
+     * Gets the address bots connect to, resolving {@code server.host} only once.
+     * With {@code server.transport: unix} this is the domain socket at {@code server.socket-path}.
+     */
+    public SocketAddress getServerAddress() {
+        SocketAddress address = serverAddress;
+        if (address == null || (address instanceof InetSocketAddress inet && inet.isUnresolved())) {
+            address = isUnixTransport() ? resolveDomainSocket() : null;
+            if (address == null) {
+                address = resolveTcp();
+            }
+            serverAddress = address;
+            plugin.debug("Resolved bot server address: " + address);
+        }
+        return address;
+    }
+    
+    private InetSocketAddress resolveTcp() {
+        String host = plugin.getConfig().getString("server.host", "localhost");
+        int port = plugin.getConfig().getInt("server.port", -1);
+        
+        // If port is not manually set, auto-detect from server
+        if (port == -1) {
+            port = plugin.getServer().getPort();
+            plugin.debug("Auto-detected server port: " + port);
+        }
+        
+        return new InetSocketAddress(host, port);
+    }
+    
+    /**
+     * Domain socket address, or null (TCP fallback) if it can't be used.
+     */
+    private SocketAddress resolveDomainSocket() {
+        String path = plugin.getConfig().getString("server.socket-path", "");
+        if (path == null || path.isBlank()) {
+            plugin.getLogger().warning("server.transport is 'unix' but server.socket-path is empty - using TCP");
+            return null;
+        }
+        // Domain sockets need a native transport; NIO can only do TCP here
+        if (!nativeTransport) {
+            plugin.getLogger().warning("server.transport is 'unix' but no native transport is in use - using TCP");
+            return null;
+        }
+        if (!new File(path).exists()) {
+            plugin.getLogger().warning("Domain socket " + path + " does not exist yet - bots will retry until the server creates it");
+        }
+        return new DomainSocketAddress(path);
+    }
+    
+    private boolean isUnixTransport() {
+        return "unix".equalsIgnoreCase(plugin.getConfig().getString("server.transport", "tcp"));
+    }
+    
+    /**
+     * Gets a short description of the transport in use, e.g. "tcp" or "unix (/run/mc.sock)".
+     */
+    public String describeTransport() {
+        SocketAddress address = getServerAddress();
+        return address instanceof DomainSocketAddress domain
+            ? "unix (" + domain.path() + ")"
+            : "tcp (" + address + ")";
+    }
+    
+    /**
+     * Drops the cached address so the next connect re-reads the server address settings.
+     */
+    public void invalidateServerAddress() {
+        serverAddress = null;
+    }
+    
+    /**
+     * Shuts down the shared event loop group. Called after all bots have disconnected.
+     */
+    public void shutdown() {
+        if (installed) {
+            // Don't leave a terminated group behind for the next enable (e.g. plugin reloaders)
+            try {
+                Field field = ClientNetworkSession.class.getDeclaredField(CLIENT_GROUP_FIELD);
+                field.setAccessible(true);
+                if (field.get(null) == eventLoopGroup) {
+                    field.set(null, null);
+                }
+            } catch (ReflectiveOperationException | RuntimeException ignored) {}
+            installed = false;
+        }
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdownGracefully(100, 2000, TimeUnit.MILLISECONDS).awaitUninterruptibly(3000);
+            eventLoopGroup = null;
+        }
+    }
+    
+    /**
+     * Event loop group that gives every channel the shared allocator as it registers,
+     * before any bytes (handshake included) are written.
+     */
+    private static final class AllocatingEventLoopGroup extends MultiThreadIoEventLoopGroup {
+        
+        private final ByteBufAllocator allocator;
+        
+        AllocatingEventLoopGroup(int threads, ThreadFactory threadFactory, IoHandlerFactory ioHandlerFactory,
+                                 ByteBufAllocator allocator) {
+            super(threads, threadFactory, ioHandlerFactory);
+            this.allocator = allocator;
+        }
+        
+        @Override
+        public ChannelFuture register(Channel channel) {
+            channel.config().setAllocator(allocator);
+            return super.register(channel);
+        }
+        
+        @Override
+        public ChannelFuture register(ChannelPromise promise) {
+            promise.channel().config().setAllocator(allocator);
+            return super.register(promise);
+        }
+    }
+    
+    public EventLoopGroup getEventLoopGroup() { return eventLoopGroup; }
+    public ByteBufAllocator getAllocator() { return allocator; }
+    public int getThreads() { return threads; }
+    public boolean isNativeTransport() { return nativeTransport; }
+    public String getTransportName() { return transportName; }
+    public boolean isInstalled() { return installed; }
+}
@@ -0,0 +1,134 @@
+package com.ximpify.rentabot.bot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A bot position (coordinates, rotation and world) shared between the thread that
+ * receives position packets and everything else that reads it.
+ * <p>
+ * Works like a seqlock: a writer makes the sequence odd, writes the fields and
+ * makes it even again; a reader retries if the sequence was odd or changed while
+ * it copied the fields. Readers copy into a {@link Snapshot} they own, so reading
+ * never allocates and writing never blocks on a lock.
+ */
+public final class BotPosition {
+    
+    private static final VarHandle SEQUENCE;
+    
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(BotPosition.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    /**
+     * Consistent copy of a position. Reuse one per reader where it matters.
+     */
+    public static final class Snapshot {
+        private double x, y, z;
+        private float yaw, pitch;
+        private String world;
+        
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public double getZ() { return z; }
+        public float getYaw() { return yaw; }
+        public float getPitch() { return pitch; }
+        public String getWorld() { return world; }
+    }
+    
+    // Odd while a write is in progress
+    @SuppressWarnings("unused")
+    private volatile long sequence;
+    
+    private double x, y, z;
+    private float yaw, pitch;
+    private String world;
+    
+    /**
+     * Sets every field.
+     */
+    public void set(double x, double y, double z, float yaw, float pitch, String world) {
+        long start = beginWrite();
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.world = world;
+        endWrite(start);
+    }
+    
+    /**
+     * Sets coordinates and rotation, keeping the world.
+     */
+    public void set(double x, double y, double z, float yaw, float pitch) {
+        long start = beginWrite();
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        endWrite(start);
+    }
+    
+    /**
+     * Sets the rotation only.
+     */
+    public void setRotation(float yaw, float pitch) {
+        long start = beginWrite();
+        this.yaw = yaw;
+        this.pitch = pitch;
+        endWrite(start);
+    }
+    
+    /**
+     * Copies a consistent position into {@code target}.
+     *
+     * @return {@code target}
+     */
+    public Snapshot readInto(Snapshot target) {
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+            if ((before & 1) == 0) {
+                target.x = x;
+                target.y = y;
+                target.z = z;
+                target.yaw = yaw;
+                target.pitch = pitch;
+                target.world = world;
+                // Field reads must complete before the sequence is checked again
+                VarHandle.acquireFence();
+                if ((long) SEQUENCE.getOpaque(this) == before) {
+                    return target;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+    
+    /**
+     * Copies a consistent position into a new snapshot (for cold paths).
+     */
+    public Snapshot snapshot() {
+        return readInto(new Snapshot());
+    }
+    
+    private long beginWrite() {
+        // Writers from different threads are rare; they take turns on the sequence
+        while (true) {
+            long current = (long) SEQUENCE.getVolatile(this);
+            if ((current & 1) == 0 && SEQUENCE.compareAndSet(this, current, current + 1)) {
+                return current + 1;
+            }
+            Thread.onSpinWait();
+        }
+    }
+    
+    private void endWrite(long started) {
+        SEQUENCE.setRelease(this, started + 1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ximpify.rentabot.bot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable view of the bot registry at one epoch. Built by {@link BotManager}
+ * after bots are added, removed or change status, then shared by every reader
+ * until the next change, so iterating it never copies or races with writers.
+ * Per-owner queries don't use it; they are answered from the owner index.
+ */
+public final class BotRegistrySnapshot {
+    
+    static final BotRegistrySnapshot EMPTY = new BotRegistrySnapshot(-1, List.of(), List.of(), List.of(), Map.of());
+    
+    private final long epoch;
+    private final List<RentableBot> all;
+    private final List<RentableBot> active;
+    private final List<RentableBot> reserved;
+    // Lower-cased in-game name -> bot
+    private final Map<String, RentableBot> byDisplayName;
+    
+    private BotRegistrySnapshot(long epoch, List<RentableBot> all, List<RentableBot> active,
+                                List<RentableBot> reserved, Map<String, RentableBot> byDisplayName) {
+        this.epoch = epoch;
+        this.all = all;
+        this.active = active;
+        this.reserved = reserved;
+        this.byDisplayName = byDisplayName;
+    }
+    
+    /**
+     * Builds a snapshot of the given bots, sorting them by their current status.
+     */
+    static BotRegistrySnapshot build(long epoch, Collection<RentableBot> bots) {
+        List<RentableBot> all = new ArrayList<>(bots.size());
+        List<RentableBot> active = new ArrayList<>();
+        List<RentableBot> reserved = new ArrayList<>();
+        Map<String, RentableBot> byDisplayName = new HashMap<>();
+        for (RentableBot bot : bots) {
+            all.add(bot);
+            byDisplayName.put(bot.getDisplayName().toLowerCase(Locale.ROOT), bot);
+            if (bot.getStatus() == BotStatus.ACTIVE) {
+                active.add(bot);
+            } else {
+                reserved.add(bot);
+            }
+        }
+        return new BotRegistrySnapshot(epoch, List.copyOf(all), List.copyOf(active), List.copyOf(reserved), byDisplayName);
+    }
+    
+    /**
+     * Registry version this snapshot was built from.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    /**
+     * All bots (all states).
+     */
+    public List<RentableBot> getAll() {
+        return all;
+    }
+    
+    /**
+     * Bots that were ACTIVE when the snapshot was built.
+     */
+    public List<RentableBot> getActive() {
+        return active;
+    }
+    
+    /**
+     * Bots that were STOPPED or EXPIRED when the snapshot was built.
+     */
+    public List<RentableBot> getReserved() {
+        return reserved;
+    }
+    
+    /**
+     * Finds a bot by its in-game (display) name, ignoring case.
+     *
+     * @return the bot, or null if no bot uses that name
+     */
+    public RentableBot findByDisplayName(String name) {
+        return byDisplayName.get(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -54,6 +54,18 @@ public enum BotStatus {
         return this == STOPPED || this == EXPIRED;
     }
     
+    /**
+     * Check if a bot in this state may move to the given state.
+     * ACTIVE -> STOPPED/EXPIRED, STOPPED -> ACTIVE/EXPIRED, EXPIRED -> ACTIVE.
+     */
+    public boolean canTransitionTo(BotStatus next) {
+        return switch (this) {
+            case ACTIVE -> next == STOPPED || next == EXPIRED;
+            case STOPPED -> next == ACTIVE || next == EXPIRED;
+            case EXPIRED -> next == ACTIVE;
+        };
+    }
+    
     /**
      * Parse status from string (for database).
      */
@@ -0,0 +1,60 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single 20 Hz async task shared by every per-tick bot component
+ * (anti-AFK wheel, motion scripts), instead of one Bukkit task each.
+ */
+public class BotTicker {
+    
+    private final RentABot plugin;
+    // Run in registration order every tick
+    private final List<Runnable> phases;
+    private BukkitTask task;
+    
+    public BotTicker(RentABot plugin) {
+        this.plugin = plugin;
+        this.phases = new CopyOnWriteArrayList<>();
+    }
+    
+    /**
+     * Adds a phase that runs once per tick.
+     */
+    public void register(Runnable phase) {
+        phases.add(phase);
+    }
+    
+    /**
+     * Starts ticking.
+     */
+    public void start() {
+        stop();
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::tick, 1L, 1L);
+    }
+    
+    /**
+     * Stops ticking.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+        task = null;
+    }
+    
+    private void tick() {
+        for (Runnable phase : phases) {
+            try {
+                phase.run();
+            } catch (Exception e) {
+                plugin.debug("Bot tick phase failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ximpify.rentabot.bot;
+
+/**
+ * Groups of persisted bot fields that change together. A bot marks a group
+ * dirty when one of its fields changes, and a save only updates the columns of
+ * the dirty groups.
+ */
+public enum ColumnGroup {
+    
+    /**
+     * Names, owner and creation time.
+     */
+    IDENTITY,
+    
+    /**
+     * Status, remaining time, last active and expiry.
+     */
+    LIFECYCLE,
+    
+    /**
+     * Current world, coordinates and rotation.
+     */
+    POSITION,
+    
+    /**
+     * Saved spawn point.
+     */
+    SPAWN;
+    
+    /**
+     * Bit mask with every group set.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+    
+    /**
+     * This group's bit in a dirty mask.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+    
+    /**
+     * Checks if this group is set in a mask.
+     */
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+}
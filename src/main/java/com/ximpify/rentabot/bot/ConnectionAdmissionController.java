@@ -0,0 +1,274 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.RentABotSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Staggers bot logins so a restart or mass resume doesn't hit the server with
+ * hundreds of joins in the same second.
+ * Every connect path queues here; a per-tick drain admits bots at a configurable
+ * joins-per-second rate while capping how many logins are in flight at once.
+ */
+public class ConnectionAdmissionController {
+    
+    // Login time assumed for the drain estimate until real logins have been measured
+    private static final long ASSUMED_LOGIN_MILLIS = 3000;
+    
+    /**
+     * Admission priority. Lower ordinal is admitted first.
+     */
+    public enum Priority {
+        /** Player or admin action (create, give, resume, rename) - someone is waiting on it. */
+        INTERACTIVE,
+        /** Automatic reconnect after an unexpected disconnect. */
+        RECONNECT,
+        /** Restoring active rentals after a restart. */
+        STARTUP
+    }
+    
+    private record Ticket(RentableBot bot, Priority priority, long sequence) implements Comparable<Ticket> {
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+    
+    private final RentABot plugin;
+    private final PriorityBlockingQueue<Ticket> queue;
+    // Bots waiting in the queue (prevents duplicate tickets)
+    private final Set<RentableBot> queued;
+    // Bots admitted but not yet logged in, with the time they were admitted
+    private final Map<RentableBot, Long> inFlight;
+    private final AtomicLong sequence;
+    // Running average of admission-to-login time; updates may race, which only blurs the estimate
+    private volatile long averageLoginMillis = ASSUMED_LOGIN_MILLIS;
+    
+    private BukkitTask drainTask;
+    private double tokens;
+    // Set on plugin disable; no more tickets are accepted
+    private volatile boolean closed;
+    
+    private int maxInFlight;
+    private double joinsPerSecond;
+    private long loginTimeoutMillis;
+    
+    public ConnectionAdmissionController(RentABot plugin) {
+        this.plugin = plugin;
+        this.queue = new PriorityBlockingQueue<>();
+        this.queued = ConcurrentHashMap.newKeySet();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong();
+        reload();
+    }
+    
+    /**
+     * Re-reads admission limits from the current config snapshot.
+     */
+    public void reload() {
+        RentABotSettings.Admission settings = plugin.getSettings().admission();
+        this.maxInFlight = settings.maxInFlight();
+        this.joinsPerSecond = settings.joinsPerSecond();
+        this.loginTimeoutMillis = settings.loginTimeoutMillis();
+    }
+    
+    /**
+     * Starts the per-tick drain task.
+     */
+    public void start() {
+        stop();
+        drainTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::drain, 1L, 1L);
+    }
+    
+    /**
+     * Stops the drain task. Queued bots stay queued until {@link #start()} is called again.
+     */
+    public void stop() {
+        if (drainTask != null && !drainTask.isCancelled()) {
+            drainTask.cancel();
+        }
+        drainTask = null;
+    }
+    
+    /**
+     * Stops the drain task for good and drops every queued ticket (plugin disable).
+     */
+    public void shutdown() {
+        closed = true;
+        stop();
+        queue.clear();
+        queued.clear();
+        inFlight.clear();
+    }
+    
+    /**
+     * Queues a bot for connection.
+     *
+     * @return true if a ticket was queued; false if the controller is shut down or
+     *         the bot is already waiting or logging in
+     */
+    public boolean submit(RentableBot bot, Priority priority) {
+        if (closed) {
+            plugin.debug(() -> "Bot '" + bot.getInternalName() + "' not queued - connection queue is shut down");
+            return false;
+        }
+        if (inFlight.containsKey(bot) || !queued.add(bot)) {
+            plugin.debug(() -> "Bot '" + bot.getInternalName() + "' not queued - already waiting or logging in");
+            return false;
+        }
+        queue.add(new Ticket(bot, priority, sequence.incrementAndGet()));
+        plugin.debug(() -> "Bot '" + bot.getInternalName() + "' queued for connection (" + priority
+            + ", position " + queue.size() + ")");
+        return true;
+    }
+    
+    /**
+     * Removes a bot from the queue and frees its login slot (stop, delete, rename).
+     */
+    public void cancel(RentableBot bot) {
+        if (queued.remove(bot)) {
+            queue.removeIf(ticket -> ticket.bot() == bot);
+        }
+        inFlight.remove(bot);
+    }
+    
+    /**
+     * Checks if a bot is waiting in the queue or currently logging in.
+     */
+    public boolean isPending(RentableBot bot) {
+        return queued.contains(bot) || inFlight.containsKey(bot);
+    }
+    
+    /**
+     * Called when a bot reaches the play state - frees its login slot.
+     */
+    public void onLoginComplete(RentableBot bot) {
+        Long admittedAt = inFlight.remove(bot);
+        if (admittedAt != null) {
+            long loginMillis = Math.max(0, System.currentTimeMillis() - admittedAt);
+            averageLoginMillis = (averageLoginMillis * 7 + loginMillis) / 8;
+        }
+    }
+    
+    /**
+     * Called when a connect attempt fails before reaching the server (bad address,
+     * channel setup error) - frees its login slot right away instead of at the timeout.
+     */
+    public void onConnectFailed(RentableBot bot) {
+        if (inFlight.remove(bot) != null) {
+            plugin.debug(() -> "Bot '" + bot.getInternalName() + "' connect failed - freeing slot");
+        }
+    }
+    
+    /**
+     * Called when a bot's connection closes before or after login - frees its login slot.
+     */
+    public void onConnectionClosed(RentableBot bot) {
+        inFlight.remove(bot);
+    }
+    
+    /**
+     * Admits queued bots within the rate and in-flight limits. Runs every tick.
+     */
+    private void drain() {
+        // Hold the queue until the protocol classes are loaded so the first wave isn't stalled on class init
+        ProtocolWarmup warmup = plugin.getProtocolWarmup();
+        if (warmup != null && !warmup.isReady()) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        
+        // Free slots held by logins that never completed
+        inFlight.entrySet().removeIf(entry -> {
+            if (now - entry.getValue() > loginTimeoutMillis) {
+                plugin.debug(() -> "Bot '" + entry.getKey().getInternalName() + "' login timed out - freeing slot");
+                return true;
+            }
+            return false;
+        });
+        
+        // Token bucket refilled at joins-per-second, allowing a burst of one second's worth
+        double burst = Math.max(1.0, joinsPerSecond);
+        tokens = Math.min(burst, tokens + joinsPerSecond / 20.0);
+        
+        while (tokens >= 1.0 && inFlight.size() < maxInFlight) {
+            Ticket ticket = queue.poll();
+            if (ticket == null) {
+                break;
+            }
+            RentableBot bot = ticket.bot();
+            queued.remove(bot);
+            
+            // Skip bots that were stopped, expired or connected by another path while waiting
+            if (bot.getStatus() != BotStatus.ACTIVE) {
+                plugin.debug(() -> "Bot '" + bot.getInternalName() + "' left the connection queue - now " + bot.getStatus());
+                continue;
+            }
+            if (bot.isConnected()) {
+                // If the flag is stale (disconnect still being handled), that disconnect
+                // schedules its own reconnect, so the ticket isn't needed
+                plugin.debug(() -> "Bot '" + bot.getInternalName() + "' left the connection queue - already connected");
+                continue;
+            }
+            
+            tokens -= 1.0;
+            inFlight.put(bot, now);
+            // A failed attempt frees its slot through onConnectFailed or onConnectionClosed
+            bot.connect();
+        }
+    }
+    
+    /**
+     * Gets the number of bots waiting to be admitted.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+    
+    /**
+     * Gets the number of queued bots with the given priority.
+     */
+    public int getQueueDepth(Priority priority) {
+        int count = 0;
+        for (Ticket ticket : queue) {
+            if (ticket.priority() == priority) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the number of bots currently logging in.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public double getJoinsPerSecond() {
+        return joinsPerSecond;
+    }
+    
+    /**
+     * Estimates the seconds until the current queue is fully admitted. Admission runs
+     * at joins-per-second unless the in-flight cap is the tighter limit: each login
+     * holds its slot for about the average login time.
+     */
+    public long getEstimatedSecondsToDrain() {
+        double slotRate = maxInFlight * 1000.0 / Math.max(1, averageLoginMillis);
+        return (long) Math.ceil(queue.size() / Math.min(joinsPerSecond, slotRate));
+    }
+}
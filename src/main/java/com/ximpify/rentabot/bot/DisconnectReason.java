@@ -0,0 +1,41 @@
+package com.ximpify.rentabot.bot;
+
+import java.util.regex.Pattern;
+
+/**
+ * Classification of a bot disconnect message.
+ * Patterns are compiled once instead of lower-casing the reason for every check.
+ */
+public enum DisconnectReason {
+    
+    /** Another player (or a stale bot entity) is online with the same name. */
+    DUPLICATE,
+    /** Bans, whitelist, bad usernames - retrying will not help. */
+    PERMANENT,
+    /** Everything else (server restart, timeout, network error) - worth retrying. */
+    TRANSIENT;
+    
+    private static final Pattern DUPLICATE_PATTERN = Pattern.compile(
+        "same username|already playing|name is already taken|already connected|logged in from another",
+        Pattern.CASE_INSENSITIVE);
+    
+    // Case-sensitive on purpose: matches the exact server/plugin kick messages
+    private static final Pattern PERMANENT_PATTERN = Pattern.compile(
+        "should join using username|Invalid username|Kicked for spamming|Banned|Whitelist");
+    
+    /**
+     * Classifies a plain-text disconnect reason.
+     */
+    public static DisconnectReason classify(String reason) {
+        if (reason == null) {
+            return TRANSIENT;
+        }
+        if (DUPLICATE_PATTERN.matcher(reason).find()) {
+            return DUPLICATE;
+        }
+        if (PERMANENT_PATTERN.matcher(reason).find()) {
+            return PERMANENT;
+        }
+        return TRANSIENT;
+    }
+}
@@ -0,0 +1,130 @@
+package com.ximpify.rentabot.bot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.network.packet.PacketRegistry;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundCookieRequestPacket;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundDisconnectPacket;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundKeepAlivePacket;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundPingPacket;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundTransferPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundLoginPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundPlayerChatPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundRespawnPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundStartConfigurationPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundSystemChatPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.player.ClientboundPlayerPositionPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.player.ClientboundSetHealthPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchFinishedPacket;
+
+import java.util.List;
+
+/**
+ * Drops in-game packets the bot never handles (chunks, light, entities, block
+ * updates...) right after decompression, by peeking at the packet ID, so
+ * MCProtocolLib never decodes them into objects. Sits just before the codec;
+ * login and configuration traffic always passes through.
+ */
+public class InboundPacketFilter extends ChannelInboundHandlerAdapter {
+    
+    public static final String NAME = "rentabot-filter";
+    
+    // Packets the bot or MCProtocolLib's own client listener reacts to in the game state
+    private static final List<Class<? extends Packet>> ALLOWED = List.of(
+        // RentableBot handlers
+        ClientboundLoginPacket.class,
+        ClientboundPlayerPositionPacket.class,   // teleport - must be accepted
+        ClientboundRespawnPacket.class,
+        ClientboundSetHealthPacket.class,
+        ClientboundSystemChatPacket.class,
+        ClientboundPlayerChatPacket.class,
+        // Answered by MCProtocolLib
+        ClientboundKeepAlivePacket.class,
+        ClientboundPingPacket.class,
+        ClientboundDisconnectPacket.class,
+        ClientboundStartConfigurationPacket.class,
+        ClientboundChunkBatchFinishedPacket.class,
+        ClientboundCookieRequestPacket.class,
+        ClientboundTransferPacket.class
+    );
+    
+    private final MinecraftProtocol protocol;
+    // Indexed by game-state packet ID, built on the first game packet
+    private boolean[] allowedIds;
+    
+    // Written by the channel's event loop only
+    private volatile long packetsDropped;
+    private volatile long bytesDropped;
+    private volatile long packetsPassed;
+    
+    public InboundPacketFilter(MinecraftProtocol protocol) {
+        this.protocol = protocol;
+    }
+    
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ByteBuf buf && protocol.getInboundState() == ProtocolState.GAME) {
+            if (allowedIds == null) {
+                allowedIds = buildAllowedIds(protocol.getInboundPacketRegistry());
+            }
+            
+            int id = peekVarInt(buf);
+            if (id >= 0 && (id >= allowedIds.length || !allowedIds[id])) {
+                bytesDropped += buf.readableBytes();
+                packetsDropped++;
+                buf.release();
+                return;
+            }
+            packetsPassed++;
+        }
+        super.channelRead(ctx, msg);
+    }
+    
+    private static boolean[] buildAllowedIds(PacketRegistry registry) {
+        int max = -1;
+        int[] ids = new int[ALLOWED.size()];
+        for (int i = 0; i < ids.length; i++) {
+            try {
+                ids[i] = registry.getClientboundId(ALLOWED.get(i));
+            } catch (RuntimeException e) {
+                // Not registered in this protocol version
+                ids[i] = -1;
+            }
+            max = Math.max(max, ids[i]);
+        }
+        
+        boolean[] allowed = new boolean[max + 1];
+        for (int id : ids) {
+            if (id >= 0) {
+                allowed[id] = true;
+            }
+        }
+        return allowed;
+    }
+    
+    /**
+     * Reads the leading VarInt (packet ID) without moving the reader index.
+     * Returns -1 if it is malformed, in which case the packet is passed on for the codec to reject.
+     */
+    private static int peekVarInt(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+        int value = 0;
+        for (int shift = 0; shift < 35 && index < end; shift += 7) {
+            byte b = buf.getByte(index++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+    
+    public long getPacketsDropped() { return packetsDropped; }
+    public long getBytesDropped() { return bytesDropped; }
+    public long getPacketsPassed() { return packetsPassed; }
+}
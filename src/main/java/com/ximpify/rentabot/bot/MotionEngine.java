@@ -0,0 +1,271 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.player.Hand;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundPlayerInputPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerPosRotPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerRotPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundSwingPacket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays anti-AFK motion scripts for every bot from the shared bot ticker.
+ * Scripts are built once at reload and advanced one frame per tick, so no
+ * thread ever sleeps between movement packets.
+ */
+public class MotionEngine {
+    
+    /**
+     * Anti-AFK action types from {@code bots.behavior.anti-afk.type}.
+     */
+    public enum Action {
+        LOOK, SNEAK, JUMP, MOVE, SWING, COMBO;
+        
+        /**
+         * Parses a config name, or returns null if unknown.
+         */
+        static Action fromConfig(String name) {
+            return switch (name.trim().toLowerCase()) {
+                case "look" -> LOOK;
+                case "sneak" -> SNEAK;
+                case "jump" -> JUMP;
+                case "move" -> MOVE;
+                case "swing" -> SWING;
+                case "combo", "all" -> COMBO;
+                default -> null;
+            };
+        }
+    }
+    
+    // Random variants built per reload for the actions that have random offsets
+    private static final int VARIANTS = 16;
+    
+    private static final class Playback {
+        final RentableBot bot;
+        final MotionScript script;
+        final double originX, originY, originZ;
+        final double dirX, dirZ;
+        final float baseYaw, basePitch;
+        int index;
+        // Current frame is waiting for packet budget
+        boolean waiting;
+        
+        Playback(RentableBot bot, MotionScript script, BotPosition.Snapshot start, double directionDegrees) {
+            this.bot = bot;
+            this.script = script;
+            this.originX = start.getX();
+            this.originY = start.getY();
+            this.originZ = start.getZ();
+            double radians = Math.toRadians(directionDegrees);
+            this.dirX = -Math.sin(radians);
+            this.dirZ = Math.cos(radians);
+            this.baseYaw = start.getYaw();
+            this.basePitch = start.getPitch();
+        }
+    }
+    
+    private final RentABot plugin;
+    private final Map<RentableBot, Playback> active;
+    // Playbacks started since the last tick, moved into the rotation by tick()
+    private final Queue<Playback> started;
+    // Order scripts are advanced in; only touched by tick()
+    private final ArrayDeque<Playback> rotation = new ArrayDeque<>();
+    private final ArrayDeque<Playback> waiting = new ArrayDeque<>();
+    // Reused for position reads; only touched on the ticker thread
+    private final BotPosition.Snapshot position = new BotPosition.Snapshot();
+    
+    private volatile Action[] actions = new Action[] { Action.LOOK };
+    private volatile Map<Action, MotionScript[]> scripts = new EnumMap<>(Action.class);
+    
+    public MotionEngine(RentABot plugin) {
+        this.plugin = plugin;
+        this.active = new ConcurrentHashMap<>();
+        this.started = new ConcurrentLinkedQueue<>();
+        reload();
+    }
+    
+    /**
+     * Parses the configured action types and rebuilds the script tables.
+     */
+    public void reload() {
+        String typeConfig = plugin.getSettings().antiAfk().type();
+        List<Action> parsed = new ArrayList<>();
+        for (String name : typeConfig.split(",")) {
+            Action action = Action.fromConfig(name);
+            if (action != null) {
+                parsed.add(action);
+            } else if (!name.isBlank()) {
+                plugin.getLogger().warning("Unknown anti-AFK type '" + name.trim() + "' - ignoring");
+            }
+        }
+        if (parsed.isEmpty()) {
+            parsed.add(Action.LOOK);
+        }
+        
+        Random random = new Random();
+        Map<Action, MotionScript[]> built = new EnumMap<>(Action.class);
+        
+        MotionScript[] look = new MotionScript[VARIANTS];
+        MotionScript[] move = new MotionScript[VARIANTS];
+        MotionScript[] combo = new MotionScript[VARIANTS];
+        for (int i = 0; i < VARIANTS; i++) {
+            look[i] = MotionScript.look(random);
+            move[i] = MotionScript.move(random);
+            combo[i] = MotionScript.combo(random);
+        }
+        built.put(Action.LOOK, look);
+        built.put(Action.MOVE, move);
+        built.put(Action.COMBO, combo);
+        
+        // 3-5 steps, 4-10 tick pause
+        List<MotionScript> sneak = new ArrayList<>();
+        for (int steps = 3; steps <= 5; steps++) {
+            for (int pause = 4; pause <= 10; pause++) {
+                sneak.add(MotionScript.sneak(steps, pause));
+            }
+        }
+        built.put(Action.SNEAK, sneak.toArray(new MotionScript[0]));
+        
+        built.put(Action.JUMP, new MotionScript[] { MotionScript.jump() });
+        
+        // 60% single swing, 40% a second swing 5-14 ticks later
+        List<MotionScript> swing = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            swing.add(MotionScript.swing(0));
+        }
+        for (int i = 0; i < 4; i++) {
+            swing.add(MotionScript.swing(5 + random.nextInt(10)));
+        }
+        built.put(Action.SWING, swing.toArray(new MotionScript[0]));
+        
+        this.scripts = built;
+        this.actions = parsed.toArray(new Action[0]);
+        plugin.debug("Anti-AFK actions: " + parsed);
+    }
+    
+    /**
+     * Starts a random configured action for a bot.
+     *
+     * @return the action started, or null if the bot is still playing one
+     */
+    public Action play(RentableBot bot) {
+        if (active.containsKey(bot)) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Action[] current = actions;
+        Action action = current[random.nextInt(current.length)];
+        MotionScript[] variants = scripts.get(action);
+        MotionScript script = variants[random.nextInt(variants.length)];
+        
+        // Sneak walks where the bot faces; move/combo pick a random direction
+        BotPosition.Snapshot start = bot.getPosition().readInto(position);
+        double direction = action == Action.SNEAK ? start.getYaw() : random.nextDouble() * 360.0;
+        Playback playback = new Playback(bot, script, start, direction);
+        active.put(bot, playback);
+        started.add(playback);
+        return action;
+    }
+    
+    /**
+     * Number of scripts currently playing.
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+    
+    /**
+     * Advances every playing script by one frame. Called by the bot ticker.
+     * Scripts whose frame had to wait for budget are advanced first on the next
+     * tick, so the same bots don't always get the budget first.
+     */
+    void tick() {
+        Playback added;
+        while ((added = started.poll()) != null) {
+            rotation.add(added);
+        }
+        
+        PacketBudget budget = plugin.getBotManager().getPacketBudget();
+        for (int i = rotation.size(); i > 0; i--) {
+            Playback playback = rotation.poll();
+            RentableBot bot = playback.bot;
+            if (!bot.isConnected()) {
+                active.remove(bot, playback);
+                continue;
+            }
+            
+            MotionScript.Frame frame = playback.script.frame(playback.index);
+            int packets = frame.packetCount();
+            if (packets > 0) {
+                // Swing-only frames are cosmetic and dropped when over budget;
+                // anything that moves the bot waits for a tick with budget left
+                boolean cosmetic = frame.ops() == MotionScript.OP_SWING;
+                PacketBudget.Priority priority = cosmetic ? PacketBudget.Priority.COSMETIC : PacketBudget.Priority.MOVEMENT;
+                if (budget.tryAcquire(packets, priority, playback.waiting)) {
+                    playback.waiting = false;
+                    apply(playback, frame);
+                } else if (!cosmetic) {
+                    playback.waiting = true;
+                    waiting.add(playback);
+                    continue;
+                }
+            }
+            
+            if (++playback.index >= playback.script.length()) {
+                active.remove(bot, playback);
+            } else {
+                rotation.add(playback);
+            }
+        }
+        
+        // Waiting frames go to the front, in the order they were deferred
+        while (!waiting.isEmpty()) {
+            rotation.addFirst(waiting.pollLast());
+        }
+    }
+    
+    private void apply(Playback playback, MotionScript.Frame frame) {
+        RentableBot bot = playback.bot;
+        
+        if (frame.has(MotionScript.OP_INPUT)) {
+            int input = frame.input();
+            // forward, backward, left, right, jump, shift, sprint
+            bot.sendPacket(new ServerboundPlayerInputPacket(
+                (input & MotionScript.INPUT_FORWARD) != 0,
+                (input & MotionScript.INPUT_BACKWARD) != 0,
+                false, false, false,
+                (input & MotionScript.INPUT_SHIFT) != 0,
+                false));
+        }
+        
+        if (frame.has(MotionScript.OP_ROTATION)) {
+            float yaw = playback.baseYaw + frame.yaw();
+            float pitch = Math.max(-90, Math.min(90, playback.basePitch + frame.pitch()));
+            bot.sendPacket(new ServerboundMovePlayerRotPacket(true, false, yaw, pitch));
+            bot.updateRotation(yaw, pitch);
+        }
+        
+        if (frame.has(MotionScript.OP_POSITION)) {
+            double x = playback.originX + playback.dirX * frame.forward();
+            double y = playback.originY + frame.up();
+            double z = playback.originZ + playback.dirZ * frame.forward();
+            BotPosition.Snapshot current = bot.getPosition().readInto(position);
+            bot.sendPacket(new ServerboundMovePlayerPosRotPacket(frame.onGround(), false,
+                x, y, z, current.getYaw(), current.getPitch()));
+        }
+        
+        if (frame.has(MotionScript.OP_SWING)) {
+            bot.sendPacket(new ServerboundSwingPacket(Hand.MAIN_HAND));
+        }
+    }
+}
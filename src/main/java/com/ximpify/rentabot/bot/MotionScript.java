@@ -0,0 +1,168 @@
+package com.ximpify.rentabot.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Precomputed anti-AFK motion: one frame per tick, played back by {@link MotionEngine}.
+ * Positions are stored relative to where the bot stood when the script started
+ * ({@code forward} along the script's direction, {@code up} on the Y axis) and
+ * rotations relative to the bot's starting yaw/pitch, so one script can be
+ * replayed by any bot.
+ */
+final class MotionScript {
+    
+    // Frame operations
+    static final int OP_INPUT = 1;
+    static final int OP_ROTATION = 2;
+    static final int OP_POSITION = 4;
+    static final int OP_SWING = 8;
+    
+    // Player input flags
+    static final int INPUT_FORWARD = 1;
+    static final int INPUT_BACKWARD = 2;
+    static final int INPUT_SHIFT = 4;
+    
+    // Movement constants (blocks per tick)
+    private static final double SNEAK_SPEED = 0.0663;
+    private static final double JUMP_VELOCITY = 0.42;
+    private static final double GRAVITY = 0.08;
+    
+    /**
+     * What to send on one tick. A frame with no operations is a wait.
+     */
+    record Frame(int ops, int input, double forward, double up, float yaw, float pitch, boolean onGround) {
+        static final Frame WAIT = new Frame(0, 0, 0, 0, 0, 0, true);
+        
+        boolean has(int op) {
+            return (ops & op) != 0;
+        }
+        
+        /**
+         * Number of packets this frame sends (one per operation).
+         */
+        int packetCount() {
+            return Integer.bitCount(ops);
+        }
+    }
+    
+    private final Frame[] frames;
+    
+    private MotionScript(List<Frame> frames) {
+        this.frames = frames.toArray(new Frame[0]);
+    }
+    
+    int length() {
+        return frames.length;
+    }
+    
+    Frame frame(int index) {
+        return frames[index];
+    }
+    
+    private static void waitTicks(List<Frame> frames, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            frames.add(Frame.WAIT);
+        }
+    }
+    
+    /**
+     * Look somewhere nearby, then look back a second later.
+     */
+    static MotionScript look(Random random) {
+        List<Frame> frames = new ArrayList<>();
+        float yaw = (float) (random.nextDouble() * 30 - 15);
+        float pitch = (float) (random.nextDouble() * 20 - 10);
+        frames.add(new Frame(OP_ROTATION, 0, 0, 0, yaw, pitch, true));
+        waitTicks(frames, 19);
+        float returnYaw = yaw - (float) (random.nextDouble() * 20 - 10);
+        frames.add(new Frame(OP_ROTATION, 0, 0, 0, returnYaw, pitch, true));
+        return new MotionScript(frames);
+    }
+    
+    /**
+     * Sneak a few steps forward, pause, sneak back and stand up.
+     */
+    static MotionScript sneak(int steps, int pauseTicks) {
+        List<Frame> frames = new ArrayList<>();
+        // Input is only sent when it changes - the server keeps the last one, like
+        // keys a player holds down
+        for (int i = 1; i <= steps; i++) {
+            frames.add(new Frame(i == 1 ? OP_INPUT | OP_POSITION : OP_POSITION, INPUT_FORWARD | INPUT_SHIFT,
+                i * SNEAK_SPEED, 0, 0, 0, true));
+        }
+        // Release forward, keep holding shift through the pause
+        frames.add(new Frame(OP_INPUT, INPUT_SHIFT, 0, 0, 0, 0, true));
+        waitTicks(frames, pauseTicks - 1);
+        for (int i = steps - 1; i >= 0; i--) {
+            frames.add(new Frame(i == steps - 1 ? OP_INPUT | OP_POSITION : OP_POSITION, INPUT_BACKWARD | INPUT_SHIFT,
+                i * SNEAK_SPEED, 0, 0, 0, true));
+        }
+        frames.add(new Frame(OP_INPUT | OP_POSITION, 0, 0, 0, 0, 0, true));
+        return new MotionScript(frames);
+    }
+    
+    /**
+     * Vanilla jump arc: 0.42 blocks/tick up, 0.08 blocks/tick² gravity, then land.
+     */
+    static MotionScript jump() {
+        List<Frame> frames = new ArrayList<>();
+        double velocity = JUMP_VELOCITY;
+        double height = 0;
+        
+        while (velocity > 0) {
+            height += velocity;
+            velocity -= GRAVITY;
+            frames.add(new Frame(OP_POSITION, 0, 0, height, 0, 0, false));
+        }
+        while (height > 0) {
+            velocity -= GRAVITY;
+            height = Math.max(0, height + velocity);
+            frames.add(new Frame(OP_POSITION, 0, 0, height, 0, 0, height <= 0));
+        }
+        frames.add(new Frame(OP_POSITION, 0, 0, 0, 0, 0, true));
+        return new MotionScript(frames);
+    }
+    
+    /**
+     * Small step in the playback direction and back a second later.
+     */
+    static MotionScript move(Random random) {
+        List<Frame> frames = new ArrayList<>();
+        double distance = 0.1 + random.nextDouble() * 0.2;
+        frames.add(new Frame(OP_POSITION, 0, distance, 0, 0, 0, true));
+        waitTicks(frames, 19);
+        frames.add(new Frame(OP_POSITION, 0, 0, 0, 0, 0, true));
+        return new MotionScript(frames);
+    }
+    
+    /**
+     * Arm swing, sometimes followed by a second one.
+     */
+    static MotionScript swing(int secondSwingDelay) {
+        List<Frame> frames = new ArrayList<>();
+        frames.add(new Frame(OP_SWING, 0, 0, 0, 0, 0, true));
+        if (secondSwingDelay > 0) {
+            waitTicks(frames, secondSwingDelay - 1);
+            frames.add(new Frame(OP_SWING, 0, 0, 0, 0, 0, true));
+        }
+        return new MotionScript(frames);
+    }
+    
+    /**
+     * Look + swing, then a small step and back.
+     */
+    static MotionScript combo(Random random) {
+        List<Frame> frames = new ArrayList<>();
+        float yaw = (float) (random.nextDouble() * 40 - 20);
+        float pitch = (float) (random.nextDouble() * 20 - 10);
+        frames.add(new Frame(OP_ROTATION | OP_SWING, 0, 0, 0, yaw, pitch, true));
+        waitTicks(frames, 9);
+        double distance = 0.05 + random.nextDouble() * 0.15;
+        frames.add(new Frame(OP_POSITION, 0, distance, 0, 0, 0, true));
+        waitTicks(frames, 9);
+        frames.add(new Frame(OP_POSITION, 0, 0, 0, 0, 0, true));
+        return new MotionScript(frames);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.RentABotSettings;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flushes every bot's queued outbound packets once per tick.
+ * Bots queue non-critical packets (movement, swings, inputs) and mark themselves
+ * dirty; the bot ticker then writes each queue in one event loop task with a
+ * single flush, instead of one write-and-flush syscall per packet.
+ */
+public class OutboundFlusher {
+    
+    private final RentABot plugin;
+    // Bots with queued packets since the last tick
+    private final Queue<RentableBot> dirty;
+    
+    private volatile boolean enabled;
+    private volatile int threshold;
+    
+    // Metrics
+    private final LongAdder packetsWritten = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    
+    public OutboundFlusher(RentABot plugin) {
+        this.plugin = plugin;
+        this.dirty = new ConcurrentLinkedQueue<>();
+        reload();
+    }
+    
+    /**
+     * Re-reads coalescing settings from the current config snapshot.
+     */
+    public void reload() {
+        RentABotSettings.Network settings = plugin.getSettings().network();
+        this.enabled = settings.coalesceWrites();
+        this.threshold = settings.flushThreshold();
+    }
+    
+    /**
+     * Queues a bot for the next tick's flush.
+     */
+    void markDirty(RentableBot bot) {
+        dirty.add(bot);
+    }
+    
+    /**
+     * Flushes every dirty bot. Called by the bot ticker after the motion scripts ran.
+     */
+    void tick() {
+        RentableBot bot;
+        while ((bot = dirty.poll()) != null) {
+            bot.flushOutbound();
+        }
+    }
+    
+    /**
+     * Records one coalesced flush of {@code packets} writes.
+     */
+    void recordFlush(int packets) {
+        packetsWritten.add(packets);
+        flushes.increment();
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public int getThreshold() { return threshold; }
+    public long getPacketsWritten() { return packetsWritten.sum(); }
+    public long getFlushes() { return flushes.sum(); }
+}
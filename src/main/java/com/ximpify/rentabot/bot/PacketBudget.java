@@ -0,0 +1,138 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.RentABotSettings;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global token bucket capping how many non-critical packets all bots send per tick,
+ * so hundreds of anti-AFK movements can't land on the main thread in the same tick.
+ * Movement frames over budget are deferred to a later tick; cosmetic packets are dropped.
+ */
+public class PacketBudget {
+    
+    /**
+     * What happens to a request when the budget is used up.
+     */
+    public enum Priority {
+        /** Deferred until a tick with budget left - movement, rotation, input. */
+        MOVEMENT,
+        /** Dropped - extra arm swings. */
+        COSMETIC
+    }
+    
+    private final RentABot plugin;
+    private final AtomicInteger tokens;
+    private final AtomicInteger usedThisTick;
+    
+    private volatile int perTick;
+    private volatile int burst;
+    
+    // Metrics
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private volatile int lastTickUsed;
+    private volatile int peakTickUsed;
+    
+    public PacketBudget(RentABot plugin) {
+        this.plugin = plugin;
+        this.tokens = new AtomicInteger();
+        this.usedThisTick = new AtomicInteger();
+        reload();
+    }
+    
+    /**
+     * Re-reads the budget from the current config snapshot.
+     */
+    public void reload() {
+        RentABotSettings.Network settings = plugin.getSettings().network();
+        this.perTick = settings.packetsPerTick();
+        this.burst = settings.packetBurst();
+        tokens.set(burst);
+    }
+    
+    /**
+     * Refills the bucket. Called by the bot ticker before any bot sends.
+     */
+    void tick() {
+        int used = usedThisTick.getAndSet(0);
+        lastTickUsed = used;
+        if (used > peakTickUsed) {
+            peakTickUsed = used;
+        }
+        ticks.increment();
+        
+        if (perTick > 0) {
+            tokens.updateAndGet(current -> Math.min(burst, current + perTick));
+        }
+    }
+    
+    /**
+     * Takes budget for {@code packets} packets.
+     *
+     * @return true if the packets may be sent now
+     */
+    public boolean tryAcquire(int packets, Priority priority) {
+        return tryAcquire(packets, priority, false);
+    }
+    
+    /**
+     * Takes budget for {@code packets} packets.
+     *
+     * @param retry true if the same frame was already deferred on an earlier tick,
+     *              so it isn't counted as deferred again
+     * @return true if the packets may be sent now
+     */
+    public boolean tryAcquire(int packets, Priority priority, boolean retry) {
+        if (perTick <= 0) {
+            record(packets);
+            return true;
+        }
+        
+        while (true) {
+            int current = tokens.get();
+            if (current < packets) {
+                if (priority == Priority.COSMETIC) {
+                    dropped.add(packets);
+                } else if (!retry) {
+                    deferred.add(packets);
+                }
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - packets)) {
+                record(packets);
+                return true;
+            }
+        }
+    }
+    
+    private void record(int packets) {
+        granted.add(packets);
+        usedThisTick.addAndGet(packets);
+    }
+    
+    public int getPerTick() { return perTick; }
+    public int getLastTickUsed() { return lastTickUsed; }
+    public int getPeakTickUsed() { return peakTickUsed; }
+    public long getGranted() { return granted.sum(); }
+    /**
+     * Packets in movement frames that had to wait for a later tick (each frame counted once).
+     */
+    public long getDeferred() { return deferred.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    
+    /**
+     * Average share of the per-tick budget used since startup (0-100).
+     */
+    public double getAverageUtilization() {
+        long tickCount = ticks.sum();
+        if (perTick <= 0 || tickCount == 0) {
+            return 0;
+        }
+        return Math.min(100.0, granted.sum() * 100.0 / (tickCount * (double) perTick));
+    }
+}
@@ -0,0 +1,136 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import org.geysermc.mcprotocollib.network.factory.ClientNetworkSessionFactory;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.codec.MinecraftCodec;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads and initializes MCProtocolLib's codec, packet registries and the Netty
+ * pipeline classes on a background thread at enable, so the first wave of bot
+ * connects after a restart doesn't pay for class loading and static init.
+ * Also records connect timings to compare the first connect with later ones.
+ */
+public class ProtocolWarmup {
+    
+    // Connection admission waits at most this long for the warmup
+    private static final long MAX_WAIT_MILLIS = 10_000;
+    // Steady-state average is logged after this many connects
+    private static final int STEADY_STATE_SAMPLES = 10;
+    
+    // Pipeline classes loaded lazily on the first connect
+    private static final List<String> NETTY_CLASSES = List.of(
+        "io.netty.bootstrap.Bootstrap",
+        "io.netty.channel.DefaultChannelPipeline",
+        "io.netty.channel.epoll.EpollSocketChannel",
+        "io.netty.channel.epoll.EpollDomainSocketChannel",
+        "io.netty.channel.socket.nio.NioSocketChannel",
+        "io.netty.handler.codec.ByteToMessageCodec",
+        "io.netty.handler.codec.MessageToMessageCodec",
+        "io.netty.handler.flow.FlowControlHandler",
+        "io.netty.handler.timeout.ReadTimeoutHandler",
+        "io.netty.handler.timeout.WriteTimeoutHandler",
+        "io.netty.resolver.dns.DnsAddressResolverGroup",
+        "java.util.zip.Inflater",
+        "java.util.zip.Deflater"
+    );
+    
+    private final RentABot plugin;
+    private volatile boolean done;
+    private volatile long startedAt;
+    private volatile long warmupMillis = -1;
+    
+    // Connect timings
+    private final AtomicLong connects = new AtomicLong();
+    private volatile long firstSetupMicros = -1;
+    private volatile long firstLoginMillis = -1;
+    private final AtomicLong steadySetupMicros = new AtomicLong();
+    private final AtomicLong steadyLoginMillis = new AtomicLong();
+    
+    public ProtocolWarmup(RentABot plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Starts warming up on a daemon thread.
+     */
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        Thread thread = new Thread(this::warmup, "RentABot-Warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void warmup() {
+        long start = System.nanoTime();
+        try {
+            // Codec + every state's packet registry
+            for (ProtocolState state : ProtocolState.values()) {
+                MinecraftCodec.CODEC.getCodec(state);
+            }
+            
+            // Protocol + session objects (not connected)
+            MinecraftProtocol protocol = new MinecraftProtocol("RentABotWarmup");
+            ClientNetworkSessionFactory.factory()
+                .setRemoteSocketAddress(InetSocketAddress.createUnresolved("localhost", 25565))
+                .setProtocol(protocol)
+                .create();
+            
+            ClassLoader loader = getClass().getClassLoader();
+            for (String name : NETTY_CLASSES) {
+                try {
+                    Class.forName(name, true, loader);
+                } catch (ClassNotFoundException | LinkageError ignored) {
+                    // Optional transport classes (e.g. epoll on Windows)
+                }
+            }
+            
+            warmupMillis = (System.nanoTime() - start) / 1_000_000;
+            plugin.debug("Protocol warmup finished in " + warmupMillis + "ms");
+        } catch (Throwable t) {
+            plugin.getLogger().warning("Protocol warmup failed (first connects may be slower): " + t.getMessage());
+        } finally {
+            done = true;
+        }
+    }
+    
+    /**
+     * Checks if bots may start connecting - warmup finished or took too long.
+     */
+    public boolean isReady() {
+        return done || System.currentTimeMillis() - startedAt > MAX_WAIT_MILLIS;
+    }
+    
+    /**
+     * Records one connect: protocol/session setup time and time until the login packet.
+     */
+    public void recordConnect(long setupMicros, long loginMillis) {
+        long count = connects.incrementAndGet();
+        if (count == 1) {
+            firstSetupMicros = setupMicros;
+            firstLoginMillis = loginMillis;
+            plugin.getLogger().info("First bot connect: setup " + formatMicros(setupMicros) + ", login " + loginMillis + "ms"
+                + (warmupMillis >= 0 ? " (warmed up in " + warmupMillis + "ms)" : ""));
+            return;
+        }
+        
+        long setupTotal = steadySetupMicros.addAndGet(setupMicros);
+        long loginTotal = steadyLoginMillis.addAndGet(loginMillis);
+        if (count == STEADY_STATE_SAMPLES + 1) {
+            plugin.getLogger().info("Steady-state bot connect (avg of " + STEADY_STATE_SAMPLES + "): setup "
+                + formatMicros(setupTotal / STEADY_STATE_SAMPLES) + ", login " + (loginTotal / STEADY_STATE_SAMPLES) + "ms"
+                + " - first connect: setup " + formatMicros(firstSetupMicros) + ", login " + firstLoginMillis + "ms");
+        }
+    }
+    
+    private static String formatMicros(long micros) {
+        return micros >= 1000 ? (micros / 1000) + "ms" : micros + "µs";
+    }
+    
+    public long getWarmupMillis() { return warmupMillis; }
+}
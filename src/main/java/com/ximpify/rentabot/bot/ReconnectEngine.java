@@ -0,0 +1,312 @@
+package com.ximpify.rentabot.bot;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.RentABotSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Schedules bot reconnects after unexpected disconnects.
+ * Each bot backs off exponentially with jitter so retries don't line up, and a
+ * server-wide circuit breaker pauses all retries when many bots drop at once
+ * (backend restart). After a cooldown one probe bot is let through; once it logs
+ * in, parked bots are released at a rate that doubles every second.
+ */
+public class ReconnectEngine {
+    
+    private final RentABot plugin;
+    // Backoff timing and breaker state, guarded by this engine's lock
+    private final ReconnectPolicy policy;
+    // Bots waiting for their backoff delay or for the breaker, with the time they are due
+    private final Map<RentableBot, Long> pending;
+    // When each recovering bot first dropped (for time-to-recovery)
+    private final Map<RentableBot, Long> downSince;
+    
+    private BukkitTask task;
+    
+    // Mirrors the policy's state for lock-free reads
+    private volatile ReconnectPolicy.BreakerState state = ReconnectPolicy.BreakerState.CLOSED;
+    private RentableBot probe;
+    private long probeStartedAt;
+    
+    // Metrics
+    private final LongAdder retriesScheduled = new LongAdder();
+    private final LongAdder retriesReleased = new LongAdder();
+    private final LongAdder recoveries = new LongAdder();
+    private final LongAdder recoveryMillisTotal = new LongAdder();
+    private final LongAdder breakerTrips = new LongAdder();
+    private volatile long lastOutageMillis = -1;
+    
+    private boolean enabled;
+    
+    public ReconnectEngine(RentABot plugin) {
+        this.plugin = plugin;
+        this.policy = new ReconnectPolicy();
+        this.pending = new ConcurrentHashMap<>();
+        this.downSince = new ConcurrentHashMap<>();
+        reload();
+    }
+    
+    /**
+     * Re-reads backoff and breaker settings from the current config snapshot.
+     */
+    public synchronized void reload() {
+        RentABotSettings.Reconnect settings = plugin.getSettings().reconnect();
+        RentABotSettings.CircuitBreaker breaker = settings.breaker();
+        this.enabled = settings.enabled();
+        policy.configureBackoff(settings.delayMillis(), settings.maxDelayMillis(), settings.multiplier(), settings.jitter());
+        policy.configureBreaker(breaker.enabled(), breaker.failureThreshold(), breaker.windowMillis(), breaker.cooldownMillis());
+        
+        // Breaker switched off while open - let everything through again
+        if (!breaker.enabled() && state != ReconnectPolicy.BreakerState.CLOSED) {
+            close(System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * Starts the scheduling task (every 10 ticks).
+     */
+    public void start() {
+        stop();
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::tick, 10L, 10L);
+    }
+    
+    /**
+     * Stops the scheduling task and forgets every pending retry.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+        task = null;
+        pending.clear();
+        downSince.clear();
+    }
+    
+    /**
+     * Records a disconnect and schedules the bot's next attempt if it should reconnect.
+     * Called for every disconnect, so a probe's outcome always reaches the breaker.
+     */
+    public synchronized void onDisconnect(RentableBot bot, DisconnectReason reason) {
+        long now = System.currentTimeMillis();
+        downSince.putIfAbsent(bot, now);
+        
+        if (bot == probe) {
+            probe = null;
+            if (reason == DisconnectReason.TRANSIENT) {
+                trip(now, "probe bot '" + bot.getInternalName() + "' failed");
+            } else {
+                // Turned away by name or ban - the server is up and answering logins
+                plugin.debug(() -> "Probe bot '" + bot.getInternalName() + "' was rejected (" + reason + ") - server is reachable");
+                close(now);
+            }
+        } else if (reason == DisconnectReason.TRANSIENT && bot.shouldReconnect() && policy.recordFailure(now)) {
+            tripped(true, policy.failureThreshold() + " bots disconnected within " + (policy.windowMillis() / 1000) + "s");
+        }
+        
+        schedule(bot);
+    }
+    
+    /**
+     * Schedules a reconnect for a bot after its backoff delay.
+     * Does nothing if the bot is already waiting or connecting.
+     */
+    public synchronized void schedule(RentableBot bot) {
+        if (!enabled || !bot.shouldReconnect()) {
+            downSince.remove(bot);
+            return;
+        }
+        if (bot == probe || pending.containsKey(bot)
+                || plugin.getBotManager().getAdmissionController().isPending(bot)) {
+            return;
+        }
+        
+        long delay = policy.delay(bot.getReconnectAttempts(), ThreadLocalRandom.current().nextDouble());
+        pending.put(bot, System.currentTimeMillis() + delay);
+        retriesScheduled.increment();
+        plugin.debug(() -> "Bot '" + bot.getInternalName() + "' reconnecting in " + (delay / 1000.0) + "s"
+            + (state != ReconnectPolicy.BreakerState.CLOSED ? " (circuit breaker " + state + ")" : ""));
+    }
+    
+    /**
+     * Called when a bot reaches the play state.
+     */
+    public synchronized void onLoginSuccess(RentableBot bot) {
+        long now = System.currentTimeMillis();
+        pending.remove(bot);
+        bot.resetReconnectAttempts();
+        
+        Long down = downSince.remove(bot);
+        if (down != null) {
+            recoveries.increment();
+            recoveryMillisTotal.add(now - down);
+        }
+        
+        if (bot == probe) {
+            probe = null;
+            close(now);
+        }
+    }
+    
+    /**
+     * Drops a bot's pending retry (stop, delete, rename).
+     */
+    public synchronized void cancel(RentableBot bot) {
+        pending.remove(bot);
+        downSince.remove(bot);
+        if (bot == probe) {
+            // Next tick picks another probe
+            probe = null;
+        }
+    }
+    
+    private void trip(long now, String cause) {
+        tripped(policy.trip(now), cause);
+    }
+    
+    private void tripped(boolean newOutage, String cause) {
+        if (newOutage) {
+            breakerTrips.increment();
+        }
+        state = policy.state();
+        plugin.getLogger().warning("Reconnect circuit breaker opened (" + cause + ") - pausing reconnects for "
+            + (policy.cooldownMillis() / 1000) + "s");
+    }
+    
+    private void close(long now) {
+        long outage = policy.close(now);
+        state = policy.state();
+        probe = null;
+        if (outage >= 0) {
+            lastOutageMillis = outage;
+            plugin.getLogger().info("Reconnect circuit breaker closed after " + (outage / 1000)
+                + "s - resuming " + pending.size() + " bot(s) gradually");
+        }
+    }
+    
+    /**
+     * Advances the breaker and releases due retries to the admission controller.
+     */
+    private synchronized void tick() {
+        long now = System.currentTimeMillis();
+        
+        if (policy.advance(now)) {
+            state = policy.state();
+            plugin.debug("Reconnect circuit breaker half-open");
+        }
+        
+        if (state == ReconnectPolicy.BreakerState.HALF_OPEN) {
+            tickHalfOpen(now);
+            return;
+        }
+        if (state == ReconnectPolicy.BreakerState.OPEN) {
+            return;
+        }
+        
+        // Slow start after an outage: 1, 2, 4, 8... releases per second
+        policy.beginReleases(now);
+        
+        Iterator<Map.Entry<RentableBot, Long>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<RentableBot, Long> entry = it.next();
+            if (entry.getValue() > now) {
+                continue;
+            }
+            if (!policy.tryRelease()) {
+                break;
+            }
+            it.remove();
+            release(entry.getKey(), false);
+        }
+    }
+    
+    private void tickHalfOpen(long now) {
+        if (probe != null) {
+            // Probe neither logged in nor failed - treat as a failure
+            if (now - probeStartedAt > Math.max(policy.cooldownMillis(), 30_000L)) {
+                RentableBot timedOut = probe;
+                probe = null;
+                plugin.debug(() -> "Probe bot '" + timedOut.getInternalName() + "' timed out");
+                trip(now, "probe timed out");
+                schedule(timedOut);
+            }
+            return;
+        }
+        
+        // Probe with the bot that has been waiting longest
+        RentableBot next = null;
+        long earliest = Long.MAX_VALUE;
+        for (Map.Entry<RentableBot, Long> entry : pending.entrySet()) {
+            if (entry.getValue() < earliest) {
+                earliest = entry.getValue();
+                next = entry.getKey();
+            }
+        }
+        
+        if (next == null) {
+            // Nothing left to retry
+            close(now);
+            return;
+        }
+        
+        pending.remove(next);
+        probe = next;
+        probeStartedAt = now;
+        plugin.getLogger().info("Reconnect circuit breaker half-open - probing with bot '" + next.getInternalName() + "'");
+        release(next, true);
+    }
+    
+    private void release(RentableBot bot, boolean isProbe) {
+        if (!bot.shouldReconnect()) {
+            downSince.remove(bot);
+            if (isProbe) {
+                probe = null;
+            }
+            return;
+        }
+        
+        // Probe attempts don't count against max-attempts
+        int attempt = isProbe ? bot.getReconnectAttempts() : bot.incrementReconnectAttempts();
+        retriesReleased.increment();
+        plugin.debug(() -> "Reconnect attempt #" + attempt + " for bot: " + bot.getInternalName()
+            + (isProbe ? " (probe)" : ""));
+        plugin.getBotManager().getAdmissionController().submit(bot, isProbe
+            ? ConnectionAdmissionController.Priority.INTERACTIVE
+            : ConnectionAdmissionController.Priority.RECONNECT);
+    }
+    
+    public ReconnectPolicy.BreakerState getState() { return state; }
+    public int getPendingCount() { return pending.size(); }
+    public long getRetriesScheduled() { return retriesScheduled.sum(); }
+    public long getRetriesReleased() { return retriesReleased.sum(); }
+    public long getRecoveries() { return recoveries.sum(); }
+    public long getBreakerTrips() { return breakerTrips.sum(); }
+    
+    /**
+     * Gets the average time from disconnect to successful login, or -1 if no bot has recovered yet.
+     */
+    public long getAverageRecoveryMillis() {
+        long count = recoveries.sum();
+        return count == 0 ? -1 : recoveryMillisTotal.sum() / count;
+    }
+    
+    /**
+     * Gets how long the last breaker outage lasted, or -1 if the breaker never closed after tripping.
+     */
+    public long getLastOutageMillis() {
+        return lastOutageMillis;
+    }
+    
+    /**
+     * Gets how long the breaker has been open, or 0 if it is closed.
+     */
+    public synchronized long getCurrentOutageMillis() {
+        return policy.outageMillis(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,205 @@
+package com.ximpify.rentabot.bot;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Backoff and circuit breaker rules behind {@link ReconnectEngine}, kept apart from
+ * the scheduling so they only depend on the timestamps they are given.
+ * Not thread-safe; the engine calls it under its own lock.
+ */
+public final class ReconnectPolicy {
+    
+    /**
+     * Circuit breaker state.
+     */
+    public enum BreakerState {
+        /** Retries flow normally. */
+        CLOSED,
+        /** Too many recent failures - all retries are parked. */
+        OPEN,
+        /** Cooldown over - a single probe bot is testing the server. */
+        HALF_OPEN
+    }
+    
+    // Ramp stops limiting once it would release this many bots per second
+    static final int MAX_RAMP_RATE = 256;
+    
+    // Transient failures inside the breaker window
+    private final Deque<Long> failures = new ArrayDeque<>();
+    
+    private BreakerState state = BreakerState.CLOSED;
+    private long openedAt;
+    private long outageStartedAt;
+    // Releases per second while ramping back up after recovery (0 = not ramping)
+    private int rampRate;
+    private int rampBudget;
+    private long rampSecond;
+    
+    // Config
+    private long baseDelayMillis = 1000;
+    private long maxDelayMillis = 1000;
+    private double multiplier = 1.0;
+    private double jitter;
+    private boolean breakerEnabled;
+    private int failureThreshold = Integer.MAX_VALUE;
+    private long windowMillis;
+    private long cooldownMillis;
+    
+    /**
+     * Sets the backoff timing. Values are expected to be clamped already.
+     */
+    void configureBackoff(long baseDelayMillis, long maxDelayMillis, double multiplier, double jitter) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+    
+    /**
+     * Sets the breaker limits. Turning the breaker off does not close it; the
+     * caller does that so it can report the outage.
+     */
+    void configureBreaker(boolean enabled, int failureThreshold, long windowMillis, long cooldownMillis) {
+        this.breakerEnabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.windowMillis = windowMillis;
+        this.cooldownMillis = cooldownMillis;
+    }
+    
+    /**
+     * Exponential backoff capped at max-delay, spread by +/- jitter.
+     *
+     * @param random uniform value in [0, 1) that picks the point in the jitter range
+     */
+    long delay(int attempts, double random) {
+        double exponential = baseDelayMillis * Math.pow(multiplier, Math.min(attempts, 30));
+        double capped = Math.min(maxDelayMillis, exponential);
+        double spread = 1.0 - jitter + random * 2.0 * jitter;
+        return (long) Math.min(maxDelayMillis, capped * spread);
+    }
+    
+    /**
+     * Records a transient failure and trips the breaker once the window holds
+     * failure-threshold of them.
+     *
+     * @return true if this failure tripped the breaker
+     */
+    boolean recordFailure(long now) {
+        if (!breakerEnabled) {
+            return false;
+        }
+        failures.addLast(now);
+        while (!failures.isEmpty() && failures.peekFirst() < now - windowMillis) {
+            failures.removeFirst();
+        }
+        if (state == BreakerState.CLOSED && failures.size() >= failureThreshold) {
+            trip(now);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Opens the breaker, or restarts the cooldown if it is already open.
+     *
+     * @return true if this started a new outage
+     */
+    boolean trip(long now) {
+        boolean started = state == BreakerState.CLOSED;
+        if (started) {
+            outageStartedAt = now;
+        }
+        state = BreakerState.OPEN;
+        openedAt = now;
+        rampRate = 0;
+        failures.clear();
+        return started;
+    }
+    
+    /**
+     * Moves an open breaker to half-open once the cooldown has passed.
+     *
+     * @return true if the state changed
+     */
+    boolean advance(long now) {
+        if (state == BreakerState.OPEN && now - openedAt >= cooldownMillis) {
+            state = BreakerState.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Closes the breaker. After an outage, releases restart at one per second and
+     * double every second.
+     *
+     * @return how long the outage lasted, or -1 if the breaker was already closed
+     */
+    long close(long now) {
+        boolean wasOpen = state != BreakerState.CLOSED;
+        state = BreakerState.CLOSED;
+        failures.clear();
+        if (!wasOpen) {
+            return -1;
+        }
+        rampRate = 1;
+        rampSecond = 0;
+        return now - outageStartedAt;
+    }
+    
+    /**
+     * Starts a round of releases, refilling the ramp budget once per second.
+     */
+    void beginReleases(long now) {
+        if (rampRate > 0) {
+            long second = now / 1000;
+            if (second != rampSecond) {
+                rampSecond = second;
+                if (rampRate > MAX_RAMP_RATE) {
+                    // The top rate has had its full second
+                    rampRate = 0;
+                } else {
+                    rampBudget = rampRate;
+                    rampRate *= 2;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Takes one release from the ramp budget.
+     *
+     * @return false if this second's budget is spent
+     */
+    boolean tryRelease() {
+        if (rampRate > 0 && rampBudget <= 0) {
+            return false;
+        }
+        rampBudget--;
+        return true;
+    }
+    
+    BreakerState state() {
+        return state;
+    }
+    
+    int failureThreshold() {
+        return failureThreshold;
+    }
+    
+    long windowMillis() {
+        return windowMillis;
+    }
+    
+    long cooldownMillis() {
+        return cooldownMillis;
+    }
+    
+    /**
+     * Gets how long the breaker has been open, or 0 if it is closed.
+     */
+    long outageMillis(long now) {
+        return state == BreakerState.CLOSED ? 0 : now - outageStartedAt;
+    }
+}
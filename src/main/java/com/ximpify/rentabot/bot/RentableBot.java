@@ -1,7 +1,12 @@
 package com.ximpify.rentabot.bot;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.util.LifecycleLog;
+import com.ximpify.rentabot.util.RentABotSettings;
+import com.ximpify.rentabot.util.TpaMatcher;
+import io.netty.channel.Channel;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.geysermc.mcprotocollib.network.ClientSession;
 import org.geysermc.mcprotocollib.network.Session;
@@ -11,8 +16,11 @@ import org.geysermc.mcprotocollib.network.packet.Packet;
 import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
 import org.geysermc.mcprotocollib.protocol.data.game.ClientCommand;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.Hand;
+import org.geysermc.mcprotocollib.protocol.data.game.setting.ChatVisibility;
+import org.geysermc.mcprotocollib.protocol.data.game.setting.HandPreference;
+import org.geysermc.mcprotocollib.protocol.data.game.setting.ParticleStatus;
+import org.geysermc.mcprotocollib.protocol.packet.common.serverbound.ServerboundClientInformationPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundLoginPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundPlayerChatPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundRespawnPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundSystemChatPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.player.ClientboundPlayerPositionPacket;
@@ -20,18 +28,22 @@ import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.play
 import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.ServerboundChatCommandPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.ServerboundClientCommandPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundAcceptTeleportationPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundPlayerInputPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerPosRotPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerRotPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundSwingPacket;
 
+import java.net.SocketAddress;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Represents a rentable bot that connects to the server as a real player.
@@ -46,25 +58,23 @@ public class RentableBot {
     private final UUID ownerUUID;
     private final String ownerName;
     
-    private ClientSession session;
+    // Written only by the bot's mailbox; volatile so senders on other threads see the current one
+    private volatile ClientSession session;
     private final AtomicBoolean connected;
     private final AtomicInteger reconnectAttempts;
     private final AtomicBoolean manuallyStopped;
     
-    private Instant createdAt;
-    private Instant expiresAt;
+    private volatile Instant createdAt;
     
-    // Position tracking
-    private double x, y, z;
-    private float yaw, pitch;
-    private String world;
-    private boolean positionInitialized;
+    // Position tracking (written by packet handling, read from any thread)
+    private final BotPosition position = new BotPosition();
+    private volatile boolean positionInitialized;
     
     // Saved spawn point (last TPA location)
-    private double savedX, savedY, savedZ;
-    private float savedYaw, savedPitch;
-    private String savedWorld;
-    private boolean hasSpawnPoint;
+    private final BotPosition spawnPoint = new BotPosition();
+    private volatile boolean hasSpawnPoint;
+    // Reused for position reads; only touched on the bot's mailbox
+    private final BotPosition.Snapshot mailboxPosition = new BotPosition.Snapshot();
     
     // Entity tracking
     private int entityId;
@@ -78,11 +88,27 @@ public class RentableBot {
     
     // Connection tracking
     private Instant connectedAt;
+    // Connect timing (for the warmup comparison)
+    private volatile long connectStartedNanos;
+    private volatile long connectSetupMicros;
     
-    // Bot lifecycle status
-    private BotStatus status;
-    private long remainingSeconds; // Remaining time when stopped/paused
-    private Instant lastActiveAt;  // Last time bot was active (for cleanup)
+    // Byte counters for the current (or last) connection
+    private volatile TrafficCounter traffic;
+    private volatile InboundPacketFilter packetFilter;
+    
+    // Outbound packets waiting for the per-tick flush
+    private final Queue<Packet> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outboundSize = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    
+    // Status and rental clock, replaced as a whole by lifecycle commands; read lock-free
+    private final AtomicReference<BotLifecycle> lifecycle;
+    
+    // Serializes lifecycle commands and packet events for this bot
+    private final BotMailbox mailbox;
+    
+    // ColumnGroup bits changed since the last save (everything for a new bot)
+    private final AtomicInteger dirtyColumns = new AtomicInteger(ColumnGroup.ALL);
     
     // Rename tracking - prevents reconnect during rename operation
     private volatile boolean isRenaming = false;
@@ -101,26 +127,32 @@ public class RentableBot {
         this.reconnectAttempts = new AtomicInteger(0);
         this.manuallyStopped = new AtomicBoolean(false);
         this.createdAt = Instant.now();
-        this.expiresAt = createdAt.plusSeconds(hours * 3600L);
+        this.lifecycle = new AtomicReference<>(BotLifecycle.rented(createdAt, hours * 3600L));
         this.lastMovement = System.currentTimeMillis();
         this.positionInitialized = false;
         this.health = 20.0f;
         this.food = 20;
         this.hasSpawnPoint = false;
-        this.status = BotStatus.ACTIVE;
-        this.remainingSeconds = hours * 3600L;
-        this.lastActiveAt = Instant.now();
+        this.mailbox = new BotMailbox(
+            task -> plugin.getBotManager().getActorPool().execute(task),
+            error -> plugin.getLogger().warning("Bot '" + this.internalName + "' task failed: " + error));
     }
     
     /**
-     * Connects the bot to the server.
+     * Connects the bot to the server. The connect runs on the bot's mailbox, after
+     * any disconnect or session reset queued before it; a failure there is reported
+     * to the admission controller.
      */
-    public boolean connect() {
+    public void connect() {
+        mailbox.execute(this::doConnect);
+    }
+    
+    private void doConnect() {
         try {
             // CRITICAL FIX: Always clear old session before creating new one
             // This prevents the @Sharable Netty handler error
             if (session != null) {
-                plugin.debug("Bot '" + internalName + "' clearing stale session before connect");
+                trace(() -> "Bot '" + internalName + "' clearing stale session before connect");
                 try {
                     if (session.isConnected()) {
                         session.disconnect(Component.text("Reconnecting"));
@@ -132,15 +164,10 @@ public class RentableBot {
             // Reset duplicate error flag for fresh connection
             hasDuplicateError = false;
             
-            // Auto-detect server host and port, with config override option
-            String host = plugin.getConfig().getString("server.host", "localhost");
-            int port = plugin.getConfig().getInt("server.port", -1);
+            long started = System.nanoTime();
             
-            // If port is not manually set, auto-detect from server
-            if (port == -1) {
-                port = plugin.getServer().getPort();
-                plugin.debug("Auto-detected server port: " + port);
-            }
+            // Resolved once by the shared network runtime (host/port auto-detect lives there)
+            SocketAddress address = plugin.getNetworkRuntime().getServerAddress();
             
             // Create offline mode protocol (bot account)
             MinecraftProtocol protocol = new MinecraftProtocol(displayName);
@@ -148,40 +175,51 @@ public class RentableBot {
             // CRITICAL: Create a FRESH session instance every time
             // Never reuse sessions - this causes Netty handler errors
             session = ClientNetworkSessionFactory.factory()
-                .setAddress(host, port)
+                .setRemoteSocketAddress(address)
                 .setProtocol(protocol)
                 .create();
             
             // Add NEW session listener (fresh instance to avoid handler reuse)
-            session.addListener(new BotSessionListener());
+            session.addListener(new BotSessionListener(session));
+            connectSetupMicros = (System.nanoTime() - started) / 1000;
+            connectStartedNanos = started;
             
             // Connect
             session.connect();
             
-            plugin.debug("Bot '" + internalName + "' connecting to " + host + ":" + port);
-            return true;
+            trace(() -> "Bot '" + internalName + "' connecting to " + address);
             
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to connect bot '" + internalName + "': " + e.getMessage());
+            plugin.getLifecycleLog().warning(LifecycleLog.Category.CONNECT_FAILED, e.getMessage(),
+                "Failed to connect bot '" + internalName + "': " + e.getMessage());
             // Clear session on failure to ensure clean state
             session = null;
-            return false;
+            // Free the admission slot held for this attempt
+            plugin.getBotManager().getAdmissionController().onConnectFailed(this);
         }
     }
     
     /**
-     * Disconnects the bot from the server.
+     * Disconnects the bot from the server. Reconnects are stopped right away; the
+     * session itself is closed on the bot's mailbox.
      */
     public void disconnect(String reason) {
         // Mark as manually stopped to prevent auto-reconnect
         manuallyStopped.set(true);
+        // Drop any pending admission or scheduled reconnect
+        plugin.getBotManager().getAdmissionController().cancel(this);
+        plugin.getBotManager().getReconnectEngine().cancel(this);
+        mailbox.execute(() -> closeSession(reason));
+    }
+    
+    private void closeSession(String reason) {
         if (session != null) {
             try {
                 if (session.isConnected()) {
                     session.disconnect(Component.text(reason));
                 }
             } catch (Exception e) {
-                plugin.debug("Error during disconnect for '" + internalName + "': " + e.getMessage());
+                trace(() -> "Error during disconnect for '" + internalName + "': " + e.getMessage());
             } finally {
                 // CRITICAL: Clear the session reference to prevent reuse
                 // This fixes the @Sharable handler Netty error
@@ -195,8 +233,13 @@ public class RentableBot {
     /**
      * Clears the session completely for a fresh connection.
      * MUST be called before reconnecting after rename or error.
+     * Runs on the bot's mailbox, so a connect queued afterwards always sees the cleared state.
      */
     public void clearSession() {
+        mailbox.execute(this::resetSession);
+    }
+    
+    private void resetSession() {
         if (session != null) {
             try {
                 if (session.isConnected()) {
@@ -222,20 +265,25 @@ public class RentableBot {
     }
     
     /**
-     * Attempts to reconnect the bot.
+     * Attempts to reconnect the bot (after its backoff delay, subject to the circuit breaker).
      */
     public void reconnect() {
-        if (!shouldReconnect()) {
-            return;
-        }
-        
-        int delay = plugin.getConfig().getInt("bots.behavior.auto-reconnect.delay", 10);
-        
-        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-            reconnectAttempts.incrementAndGet();
-            plugin.debug("Reconnect attempt #" + reconnectAttempts.get() + " for bot: " + internalName);
-            connect();
-        }, delay * 20L);
+        plugin.getBotManager().getReconnectEngine().schedule(this);
+    }
+    
+    /**
+     * Gets the number of reconnect attempts since the last successful login.
+     */
+    public int getReconnectAttempts() {
+        return reconnectAttempts.get();
+    }
+    
+    int incrementReconnectAttempts() {
+        return reconnectAttempts.incrementAndGet();
+    }
+    
+    void resetReconnectAttempts() {
+        reconnectAttempts.set(0);
     }
     
     /**
@@ -244,34 +292,35 @@ public class RentableBot {
     public boolean shouldReconnect() {
         // CRITICAL: Don't reconnect during rename operation
         if (isRenaming) {
-            plugin.debug("Bot '" + internalName + "' not reconnecting - rename in progress");
+            trace(() -> "Bot '" + internalName + "' not reconnecting - rename in progress");
             return false;
         }
         
         // CRITICAL: Don't reconnect if we have a duplicate username error
         // This prevents infinite reconnect spam when old entity is still on server
         if (hasDuplicateError) {
-            plugin.debug("Bot '" + internalName + "' not reconnecting - duplicate username error");
+            trace(() -> "Bot '" + internalName + "' not reconnecting - duplicate username error");
             return false;
         }
         
         // Don't reconnect if manually stopped by user/admin
         if (manuallyStopped.get()) {
-            plugin.debug("Bot '" + internalName + "' not reconnecting - was manually stopped");
+            trace(() -> "Bot '" + internalName + "' not reconnecting - was manually stopped");
             return false;
         }
         
-        if (!plugin.getConfig().getBoolean("bots.behavior.auto-reconnect.enabled", true)) {
+        RentABotSettings.Reconnect settings = plugin.getSettings().reconnect();
+        if (!settings.enabled()) {
             return false;
         }
         
-        int maxAttempts = plugin.getConfig().getInt("bots.behavior.auto-reconnect.max-attempts", 5);
+        int maxAttempts = settings.maxAttempts();
         if (maxAttempts > 0 && reconnectAttempts.get() >= maxAttempts) {
             return false;
         }
         
         // Don't reconnect if rental expired
-        if (Instant.now().isAfter(expiresAt)) {
+        if (Instant.now().isAfter(lifecycle.get().expiresAt())) {
             return false;
         }
         
@@ -297,7 +346,7 @@ public class RentableBot {
      */
     public void sendCommand(String command) {
         if (session != null && session.isConnected()) {
-            session.send(new ServerboundChatCommandPacket(command));
+            sendCritical(new ServerboundChatCommandPacket(command));
         }
     }
     
@@ -309,245 +358,133 @@ public class RentableBot {
         
         // Don't perform anti-AFK if we don't have a valid position yet
         if (!positionInitialized) {
-            plugin.debug("Bot '" + internalName + "' skipping anti-AFK - position not yet initialized");
+            trace(() -> "Bot '" + internalName + "' skipping anti-AFK - position not yet initialized");
             return;
         }
         
         // Skip if an action is still in progress (prevents overlap with short intervals)
         if (System.currentTimeMillis() - lastMovement < 2000) {
-            plugin.debug("Bot '" + internalName + "' skipping anti-AFK - previous action still in progress");
+            trace(() -> "Bot '" + internalName + "' skipping anti-AFK - previous action still in progress");
             return;
         }
         
         lastMovement = System.currentTimeMillis();
         
-        // Add small random delay (0-1.5 seconds) to make timing unpredictable
-        long randomDelay = (long) (RANDOM.nextDouble() * 30);
+        // Timing (phase + randomness) comes from the anti-AFK scheduler, so act right away
         
-        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-            if (!connected.get() || session == null) return;
-            
-            String typeConfig = plugin.getConfig().getString("bots.behavior.anti-afk.type", "look");
-            
-            // Parse comma-separated types and pick one randomly
-            String[] types = typeConfig.split(",");
-            String type = types[RANDOM.nextInt(types.length)].trim().toLowerCase();
-            
-            plugin.debug("Bot '" + internalName + "' performing anti-AFK (" + type + ") at position: " + 
-                String.format("%.2f, %.2f, %.2f", x, y, z));
-            
-            // Randomly swing arm (30% chance) - makes it look more natural
-            if (RANDOM.nextDouble() < 0.3) {
-                session.send(new ServerboundSwingPacket(Hand.MAIN_HAND));
-            }
-            
-            executeAntiAFKAction(type);
-        }, randomDelay);
+        // Randomly swing arm (30% chance) - makes it look more natural
+        if (RANDOM.nextDouble() < 0.3 
+                && plugin.getBotManager().getPacketBudget().tryAcquire(1, PacketBudget.Priority.COSMETIC)) {
+            sendPacket(new ServerboundSwingPacket(Hand.MAIN_HAND));
+        }
+        
+        // Motion is played frame by frame by the shared ticker
+        MotionEngine.Action action = plugin.getBotManager().getMotionEngine().play(this);
+        if (action != null) {
+            trace(() -> {
+                BotPosition.Snapshot pos = position.snapshot();
+                return "Bot '" + internalName + "' performing anti-AFK (" + action + ") at position: " + 
+                    String.format("%.2f, %.2f, %.2f", pos.getX(), pos.getY(), pos.getZ());
+            });
+        }
     }
     
     /**
-     * Executes a specific anti-AFK action.
+     * Queues a non-critical packet (movement, swing, input) for the per-tick flush.
+     * Flushes right away once the queue reaches the flush threshold.
      */
-    private void executeAntiAFKAction(String type) {
-        switch (type) {
-            case "look" -> {
-                // Random head movement - look left then right (like BotHive)
-                float newYaw = yaw + (float) (Math.random() * 30 - 15);
-                float newPitch = pitch + (float) (Math.random() * 20 - 10);
-                // Clamp pitch to valid range
-                newPitch = Math.max(-90, Math.min(90, newPitch));
-                // Use rotation-only packet for look action (more reliable)
-                session.send(new ServerboundMovePlayerRotPacket(true, false, newYaw, newPitch));
-                this.yaw = newYaw;
-                this.pitch = newPitch;
-                plugin.debug("Bot '" + internalName + "' looked to yaw=" + newYaw + ", pitch=" + newPitch);
-                
-                // Look back after a moment (like BotHive does)
-                plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                    if (connected.get() && session != null) {
-                        float returnYaw = yaw - (float) (Math.random() * 20 - 10);
-                        session.send(new ServerboundMovePlayerRotPacket(true, false, returnYaw, pitch));
-                        this.yaw = returnYaw;
-                    }
-                }, 20L); // 1 second later
-            }
-            case "sneak" -> {
-                // Start sneaking using player input packet (1.21+ method)
-                // ServerboundPlayerInputPacket: forward, backward, left, right, jump, shift, sprint
-                // Send input packet with shift=true to indicate sneaking
-                session.send(new ServerboundPlayerInputPacket(false, false, false, false, false, true, false));
-                plugin.debug("Bot '" + internalName + "' started sneaking (shift input sent)");
-                
-                // Make small movements while sneaking to ensure server registers the sneak visually
-                // Sneak speed is ~0.0663 blocks per tick
-                final double originalX = x;
-                final double originalZ = z;
-                final double sneakSpeed = 0.0663;
-                
-                // Move forward slightly while sneaking (3-5 steps)
-                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-                    try {
-                        double radians = Math.toRadians(yaw);
-                        double dx = -Math.sin(radians) * sneakSpeed;
-                        double dz = Math.cos(radians) * sneakSpeed;
-                        double currentX = x;
-                        double currentZ = z;
-                        
-                        int steps = 3 + (int)(Math.random() * 3); // 3-5 steps
-                        for (int i = 0; i < steps && connected.get() && session != null; i++) {
-                            currentX += dx;
-                            currentZ += dz;
-                            // Send position with shift input active
-                            session.send(new ServerboundPlayerInputPacket(true, false, false, false, false, true, false));
-                            session.send(new ServerboundMovePlayerPosRotPacket(true, false, currentX, y, currentZ, yaw, pitch));
-                            Thread.sleep(50); // ~1 tick
-                        }
-                        
-                        // Pause sneaking for a moment
-                        Thread.sleep(200 + (long)(Math.random() * 300));
-                        
-                        // Return to original position while sneaking
-                        for (int i = 0; i < steps && connected.get() && session != null; i++) {
-                            currentX -= dx;
-                            currentZ -= dz;
-                            session.send(new ServerboundPlayerInputPacket(false, true, false, false, false, true, false));
-                            session.send(new ServerboundMovePlayerPosRotPacket(true, false, currentX, y, currentZ, yaw, pitch));
-                            Thread.sleep(50);
-                        }
-                        
-                        // Stop sneaking
-                        if (connected.get() && session != null) {
-                            session.send(new ServerboundPlayerInputPacket(false, false, false, false, false, false, false));
-                            session.send(new ServerboundMovePlayerPosRotPacket(true, false, originalX, y, originalZ, yaw, pitch));
-                            plugin.debug("Bot '" + internalName + "' stopped sneaking");
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                });
-            }
-            case "jump" -> {
-                // Simulate jump with actual position packets (server physics simulation)
-                // Minecraft jump: initial velocity ~0.42 blocks/tick, gravity ~0.08 blocks/tick²
-                final double startY = y;
-                plugin.debug("Bot '" + internalName + "' jumping from Y=" + startY);
-                
-                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-                    try {
-                        // Jump physics: velocity starts at 0.42, decreases by 0.08 each tick
-                        double velocity = 0.42;
-                        double currentY = startY;
-                        
-                        // Ascending phase
-                        while (velocity > 0 && connected.get() && session != null) {
-                            currentY += velocity;
-                            velocity -= 0.08;
-                            session.send(new ServerboundMovePlayerPosRotPacket(false, false, x, currentY, z, yaw, pitch));
-                            Thread.sleep(50); // ~1 tick
-                        }
-                        
-                        // Descending phase
-                        while (currentY > startY && connected.get() && session != null) {
-                            velocity -= 0.08;
-                            currentY += velocity;
-                            if (currentY <= startY) {
-                                currentY = startY;
-                            }
-                            boolean onGround = currentY <= startY;
-                            session.send(new ServerboundMovePlayerPosRotPacket(onGround, false, x, currentY, z, yaw, pitch));
-                            Thread.sleep(50);
-                        }
-                        
-                        // Land
-                        session.send(new ServerboundMovePlayerPosRotPacket(true, false, x, startY, z, yaw, pitch));
-                        plugin.debug("Bot '" + internalName + "' landed");
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                });
-            }
-            case "move" -> {
-                // Small movement in random direction
-                double moveDistance = 0.1 + Math.random() * 0.2;
-                double angle = Math.random() * 2 * Math.PI;
-                double newX = x + Math.cos(angle) * moveDistance;
-                double newZ = z + Math.sin(angle) * moveDistance;
-                // Store original position for return
-                final double originalX = x;
-                final double originalZ = z;
-                session.send(new ServerboundMovePlayerPosRotPacket(true, false, newX, y, newZ, yaw, pitch));
-                
-                // Move back after a moment using stored original position
-                plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                    if (connected.get() && session != null) {
-                        session.send(new ServerboundMovePlayerPosRotPacket(true, false, originalX, y, originalZ, yaw, pitch));
-                    }
-                }, 20L);
-            }
-            case "swing" -> {
-                // Swing arm (like hitting or interacting)
-                session.send(new ServerboundSwingPacket(Hand.MAIN_HAND));
-                plugin.debug("Bot '" + internalName + "' swung arm");
-                
-                // Sometimes swing multiple times
-                if (RANDOM.nextDouble() < 0.4) {
-                    plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                        if (connected.get() && session != null) {
-                            session.send(new ServerboundSwingPacket(Hand.MAIN_HAND));
-                        }
-                    }, (long) (5 + RANDOM.nextInt(10)));
-                }
-            }
-            case "combo", "all" -> {
-                // Do multiple actions at once for maximum anti-AFK bypass
-                // 1. Look around (use rotation-only packet)
-                float newYaw = yaw + (float) (RANDOM.nextDouble() * 40 - 20);
-                float newPitch = pitch + (float) (RANDOM.nextDouble() * 20 - 10);
-                newPitch = Math.max(-90, Math.min(90, newPitch));
-                session.send(new ServerboundMovePlayerRotPacket(true, false, newYaw, newPitch));
-                this.yaw = newYaw;
-                this.pitch = newPitch;
-                
-                // 2. Swing arm
-                session.send(new ServerboundSwingPacket(Hand.MAIN_HAND));
-                
-                // 3. Small move + return
-                double moveDistance = 0.05 + RANDOM.nextDouble() * 0.15;
-                double angle = RANDOM.nextDouble() * 2 * Math.PI;
-                double newX = x + Math.cos(angle) * moveDistance;
-                double newZ = z + Math.sin(angle) * moveDistance;
-                final double ox = x;
-                final double oz = z;
-                
-                plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                    if (connected.get() && session != null) {
-                        session.send(new ServerboundMovePlayerPosRotPacket(true, false, newX, y, newZ, yaw, pitch));
-                        
-                        // Return after short delay
-                        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                            if (connected.get() && session != null) {
-                                session.send(new ServerboundMovePlayerPosRotPacket(true, false, ox, y, oz, yaw, pitch));
-                            }
-                        }, 10L);
-                    }
-                }, 10L);
-                
-                plugin.debug("Bot '" + internalName + "' performed combo anti-AFK");
-            }
+    void sendPacket(Packet packet) {
+        ClientSession current = session;
+        if (!connected.get() || current == null) {
+            return;
+        }
+        
+        OutboundFlusher flusher = plugin.getBotManager().getOutboundFlusher();
+        if (!flusher.isEnabled()) {
+            current.send(packet);
+            return;
+        }
+        
+        outbound.add(packet);
+        if (outboundSize.incrementAndGet() >= flusher.getThreshold()) {
+            flushOutbound();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flusher.markDirty(this);
+        }
+    }
+    
+    /**
+     * Sends a packet immediately (teleport accept, commands, respawn).
+     * Anything already queued is written first so packet order is kept.
+     */
+    void sendCritical(Packet packet) {
+        ClientSession current = session;
+        if (current == null) {
+            return;
+        }
+        flushOutbound();
+        current.send(packet);
+    }
+    
+    /**
+     * Writes all queued packets in one event loop task and flushes once.
+     */
+    void flushOutbound() {
+        flushScheduled.set(false);
+        if (outboundSize.get() == 0) {
+            return;
+        }
+        
+        ClientSession current = session;
+        Channel channel = current != null ? current.getChannel() : null;
+        if (channel == null || !channel.isActive()) {
+            outbound.clear();
+            outboundSize.set(0);
+            return;
+        }
+        
+        if (channel.eventLoop().inEventLoop()) {
+            drainOutbound(channel);
+        } else {
+            channel.eventLoop().execute(() -> drainOutbound(channel));
+        }
+    }
+    
+    private void drainOutbound(Channel channel) {
+        // Written straight to the channel: these packets need no session send events
+        int written = 0;
+        Packet packet;
+        while ((packet = outbound.poll()) != null) {
+            outboundSize.decrementAndGet();
+            channel.write(packet, channel.voidPromise());
+            written++;
+        }
+        if (written > 0) {
+            channel.flush();
+            plugin.getBotManager().getOutboundFlusher().recordFlush(written);
         }
     }
     
+    /**
+     * Updates the tracked head rotation after the motion engine turns the bot.
+     */
+    void updateRotation(float yaw, float pitch) {
+        position.setRotation(yaw, pitch);
+        markDirty(ColumnGroup.POSITION);
+    }
+    
     /**
      * Handles AuthMe login/register when bot joins.
      */
     private void handleAuthMeLogin() {
-        if (!plugin.getConfig().getBoolean("hooks.authme.enabled", true)) {
+        RentABotSettings.AuthMe authMe = plugin.getSettings().authMe();
+        if (!authMe.enabled()) {
             return;
         }
         
-        String mode = plugin.getConfig().getString("hooks.authme.mode", "auto-register");
-        String password = plugin.getConfig().getString("hooks.authme.default-password", "RentABot2024!");
-        int delay = plugin.getConfig().getInt("hooks.authme.login-delay", 40);
+        String mode = authMe.mode();
+        String password = authMe.password();
+        int delay = authMe.loginDelay();
         
         plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
             if (!connected.get() || session == null) return;
@@ -556,19 +493,19 @@ public class RentableBot {
                 case "auto-register" -> {
                     // First try to login, if that fails AuthMe will prompt to register
                     sendCommand("login " + password);
-                    plugin.debug("Bot '" + internalName + "' attempting AuthMe login");
+                    trace(() -> "Bot '" + internalName + "' attempting AuthMe login");
                     
                     // Schedule a register attempt in case not registered
                     plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
                         if (connected.get()) {
                             sendCommand("register " + password + " " + password);
-                            plugin.debug("Bot '" + internalName + "' attempting AuthMe register");
+                            trace(() -> "Bot '" + internalName + "' attempting AuthMe register");
                         }
                     }, 40L); // 2 seconds later
                 }
                 case "pre-registered" -> {
                     sendCommand("login " + password);
-                    plugin.debug("Bot '" + internalName + "' sent AuthMe login (pre-registered mode)");
+                    trace(() -> "Bot '" + internalName + "' sent AuthMe login (pre-registered mode)");
                 }
                 // "disabled" - do nothing
             }
@@ -589,11 +526,30 @@ public class RentableBot {
         sendCommand("tpdeny");
     }
     
-    // Session listener for handling packets
+    // Session listener for handling packets. Events are handed to the bot's mailbox;
+    // events from a session that has since been replaced are ignored.
     private class BotSessionListener implements SessionListener {
         
+        private final ClientSession owner;
+        
+        BotSessionListener(ClientSession owner) {
+            this.owner = owner;
+        }
+        
+        private boolean isStale() {
+            return session != owner;
+        }
+        
         @Override
         public void packetReceived(Session session, Packet packet) {
+            mailbox.execute(() -> {
+                if (!isStale()) {
+                    handlePacket(packet);
+                }
+            });
+        }
+        
+        private void handlePacket(Packet packet) {
             // Handle login packet (initial spawn info + entity ID)
             if (packet instanceof ClientboundLoginPacket loginPacket) {
                 handleLogin(loginPacket);
@@ -610,16 +566,13 @@ public class RentableBot {
             else if (packet instanceof ClientboundSetHealthPacket healthPacket) {
                 handleHealthUpdate(healthPacket);
             }
-            // Handle system chat packets for TPA detection
+            // Handle system chat packets for TPA detection. Teleport notices are sent by
+            // the server as system messages; player chat never carries one.
             else if (packet instanceof ClientboundSystemChatPacket chatPacket) {
-                handleChatMessage(chatPacket.getContent());
-            }
-            // Handle player chat packets for TPA detection
-            else if (packet instanceof ClientboundPlayerChatPacket playerChatPacket) {
-                Component content = playerChatPacket.getUnsignedContent() != null 
-                    ? playerChatPacket.getUnsignedContent() 
-                    : Component.text(playerChatPacket.getContent());
-                handleChatMessage(content);
+                // Action bar text is never a teleport request
+                if (!chatPacket.isOverlay()) {
+                    handleChatMessage(chatPacket.getContent());
+                }
             }
         }
         
@@ -631,15 +584,31 @@ public class RentableBot {
         
         @Override
         public void packetError(PacketErrorEvent event) {
-            plugin.debug("Packet error for bot " + internalName + ": " + event.getCause().getMessage());
+            trace(() -> "Packet error for bot " + internalName + ": " + event.getCause().getMessage());
         }
         
         @Override
         public void connected(ConnectedEvent event) {
+            // Pipeline changes must happen on the channel's thread, before the first packet is read
+            plugin.getNetworkRuntime().configureChannel(event.getSession());
+            Channel channel = event.getSession().getChannel();
+            if (channel != null) {
+                TrafficCounter counter = new TrafficCounter();
+                channel.pipeline().addFirst(TrafficCounter.NAME, counter);
+                traffic = counter;
+                installPacketFilter(channel, event.getSession());
+            }
+            mailbox.execute(() -> {
+                if (!isStale()) {
+                    onConnected();
+                }
+            });
+        }
+        
+        private void onConnected() {
             connected.set(true);
-            reconnectAttempts.set(0);
             connectedAt = Instant.now();
-            plugin.getLogger().info("Bot '" + internalName + "' connected successfully!");
+            plugin.getLifecycleLog().info(LifecycleLog.Category.CONNECT, null, "Bot '" + internalName + "' connected successfully!");
             
             // Handle AuthMe login
             handleAuthMeLogin();
@@ -660,46 +629,50 @@ public class RentableBot {
             String reason = event.getReason() != null 
                 ? PlainTextComponentSerializer.plainText().serialize(event.getReason()) 
                 : "Unknown";
-            plugin.debug("Bot '" + internalName + "' disconnecting: " + reason);
+            trace(() -> "Bot '" + internalName + "' disconnecting: " + reason);
         }
         
         @Override
         public void disconnected(DisconnectedEvent event) {
-            connected.set(false);
-            positionInitialized = false;
             String reason = event.getReason() != null 
                 ? PlainTextComponentSerializer.plainText().serialize(event.getReason()) 
                 : "Unknown";
-            plugin.getLogger().info("Bot '" + internalName + "' disconnected: " + reason);
+            mailbox.execute(() -> onDisconnected(reason));
+        }
+        
+        private void onDisconnected(String reason) {
+            // A newer session is already running - this one was replaced on purpose
+            if (session != null && isStale()) {
+                trace(() -> "Bot '" + internalName + "' old session closed: " + reason);
+                return;
+            }
+            plugin.getBotManager().getAdmissionController().onConnectionClosed(RentableBot.this);
+            connected.set(false);
+            positionInitialized = false;
+            plugin.getLifecycleLog().info(LifecycleLog.Category.DISCONNECT, reason, "Bot '" + internalName + "' disconnected: " + reason);
             
-            // CRITICAL FIX: Detect duplicate username errors more comprehensively
-            // This prevents infinite reconnect loops when old entity is still on server
-            boolean isDuplicateError = reason.toLowerCase().contains("same username") 
-                || reason.toLowerCase().contains("already playing")
-                || reason.toLowerCase().contains("name is already taken")
-                || reason.toLowerCase().contains("already connected")
-                || reason.toLowerCase().contains("logged in from another");
+            DisconnectReason kind = DisconnectReason.classify(reason);
             
-            if (isDuplicateError) {
+            // CRITICAL FIX: Detect duplicate username errors
+            // This prevents infinite reconnect loops when old entity is still on server
+            if (kind == DisconnectReason.DUPLICATE) {
                 hasDuplicateError = true;
-                plugin.getLogger().warning("Bot '" + internalName + "' duplicate username detected - stopping reconnect attempts");
+                plugin.getLifecycleLog().warning(LifecycleLog.Category.REJECTED, "duplicate username",
+                    "Bot '" + internalName + "' duplicate username detected - stopping reconnect attempts");
                 // Don't set manuallyStopped - allow admin to fix and restart
-                return; // Exit early - don't notify or reconnect
+                // Don't notify the owner; the engine only settles a probe and won't reconnect
+                plugin.getBotManager().getReconnectEngine().onDisconnect(RentableBot.this, kind);
+                return;
             }
             
             // Check for permanent failures that should not trigger reconnect
-            boolean permanentFailure = reason.contains("should join using username") 
-                || reason.contains("Invalid username")
-                || reason.contains("Kicked for spamming")
-                || reason.contains("Banned")
-                || reason.contains("Whitelist");
-            
-            if (permanentFailure) {
+            if (kind == DisconnectReason.PERMANENT) {
                 manuallyStopped.set(true); // Prevent reconnect attempts
-                plugin.getLogger().warning("Bot '" + internalName + "' has a permanent issue and will not reconnect: " + reason);
+                plugin.getLifecycleLog().warning(LifecycleLog.Category.REJECTED, reason,
+                    "Bot '" + internalName + "' has a permanent issue and will not reconnect: " + reason);
             }
             
-            // Only notify owner and attempt reconnect if NOT manually stopped and not renaming
+            // Only notify owner if NOT manually stopped and not renaming
             // (Manual stop = user stopped it or rental expired)
             if (!manuallyStopped.get() && !isRenaming) {
                 // Notify owner if online about unexpected disconnect
@@ -711,12 +684,10 @@ public class RentableBot {
                         plugin.getMessageUtil().playSound(owner, "on-disconnect");
                     }
                 });
-                
-                // Attempt reconnect if enabled
-                if (shouldReconnect()) {
-                    reconnect();
-                }
             }
+            
+            // Reconnects if it should (backoff + circuit breaker); a probe's outcome is recorded either way
+            plugin.getBotManager().getReconnectEngine().onDisconnect(RentableBot.this, kind);
         }
     }
     
@@ -725,7 +696,69 @@ public class RentableBot {
      */
     private void handleLogin(ClientboundLoginPacket packet) {
         this.entityId = packet.getEntityId();
-        plugin.debug("Bot '" + internalName + "' logged in with entity ID: " + entityId);
+        plugin.getBotManager().getAdmissionController().onLoginComplete(this);
+        plugin.getBotManager().getReconnectEngine().onLoginSuccess(this);
+        plugin.getBotManager().getAntiAFKScheduler().schedule(this);
+        sendLeanProfile();
+        
+        long started = connectStartedNanos;
+        if (started != 0) {
+            connectStartedNanos = 0;
+            plugin.getProtocolWarmup().recordConnect(connectSetupMicros, (System.nanoTime() - started) / 1_000_000);
+        }
+        trace(() -> "Bot '" + internalName + "' logged in with entity ID: " + entityId);
+    }
+    
+    /**
+     * Installs the inbound filter that drops unhandled game packets before they are decoded.
+     */
+    private void installPacketFilter(Channel channel, Session session) {
+        packetFilter = null;
+        if (!plugin.getSettings().packetFilter()) {
+            return;
+        }
+        try {
+            InboundPacketFilter filter = new InboundPacketFilter((MinecraftProtocol) session.getPacketProtocol());
+            channel.pipeline().addBefore("codec", InboundPacketFilter.NAME, filter);
+            packetFilter = filter;
+        } catch (RuntimeException e) {
+            // Unexpected pipeline layout - run unfiltered
+            trace(() -> "Bot '" + internalName + "' packet filter not installed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Sends trimmed client settings so the server streams as little as possible:
+     * minimum view distance, system-only chat, no skin layers, minimal particles.
+     */
+    private void sendLeanProfile() {
+        RentABotSettings.LeanProfile profile = plugin.getSettings().leanProfile();
+        if (!profile.enabled()) {
+            return;
+        }
+        
+        int viewDistance = profile.viewDistance();
+        // Hidden chat would also drop TPA requests, so it's only used when they're handled server-side
+        ChatVisibility chat = switch (profile.chat()) {
+            case "full" -> ChatVisibility.FULL;
+            case "hidden" -> plugin.isServerSideTpa() ? ChatVisibility.HIDDEN : ChatVisibility.SYSTEM;
+            default -> ChatVisibility.SYSTEM;
+        };
+        
+        // Sent once per login, outside the anti-AFK packet budget
+        sendPacket(new ServerboundClientInformationPacket("en_us", viewDistance, chat, false,
+            List.of(), HandPreference.RIGHT_HAND, false, false, ParticleStatus.MINIMAL));
+        trace(() -> "Bot '" + internalName + "' sent lean client profile (view distance " + viewDistance + ", chat " + chat + ")");
+    }
+    
+    /**
+     * Resends the lean client settings, e.g. after server-side TPA handling was
+     * switched on a reload and the chat visibility changes with it.
+     */
+    public void refreshClientProfile() {
+        if (isConnected()) {
+            sendLeanProfile();
+        }
     }
     
     /**
@@ -733,26 +766,28 @@ public class RentableBot {
      */
     private void handlePositionUpdate(ClientboundPlayerPositionPacket packet) {
         // Update position
-        this.x = packet.getPosition().getX();
-        this.y = packet.getPosition().getY();
-        this.z = packet.getPosition().getZ();
-        this.yaw = packet.getYRot();
-        this.pitch = packet.getXRot();
+        double x = packet.getPosition().getX();
+        double y = packet.getPosition().getY();
+        double z = packet.getPosition().getZ();
+        float yaw = packet.getYRot();
+        float pitch = packet.getXRot();
+        position.set(x, y, z, yaw, pitch);
+        markDirty(ColumnGroup.POSITION);
         this.positionInitialized = true;
         
-        plugin.debug("Bot '" + internalName + "' position updated: " + 
+        trace(() -> "Bot '" + internalName + "' position updated: " + 
             String.format("%.2f, %.2f, %.2f (yaw: %.1f, pitch: %.1f)", x, y, z, yaw, pitch));
         
         // CRITICAL: Confirm teleport to server, otherwise server thinks we're desynced
-        session.send(new ServerboundAcceptTeleportationPacket(packet.getId()));
-        plugin.debug("Bot '" + internalName + "' confirmed teleport ID: " + packet.getId());
+        sendCritical(new ServerboundAcceptTeleportationPacket(packet.getId()));
+        trace(() -> "Bot '" + internalName + "' confirmed teleport ID: " + packet.getId());
     }
     
     /**
      * Handles respawn packet (dimension change or death respawn).
      */
     private void handleRespawn(ClientboundRespawnPacket packet) {
-        plugin.debug("Bot '" + internalName + "' received respawn packet");
+        trace(() -> "Bot '" + internalName + "' received respawn packet");
         // Position will be reset - wait for new position packet
         positionInitialized = false;
     }
@@ -765,11 +800,11 @@ public class RentableBot {
         this.health = packet.getHealth();
         this.food = packet.getFood();
         
-        plugin.debug("Bot '" + internalName + "' health: " + health + ", food: " + food);
+        trace(() -> "Bot '" + internalName + "' health: " + health + ", food: " + food);
         
         // Check if bot died (health <= 0)
         if (health <= 0 && oldHealth > 0) {
-            plugin.getLogger().info("Bot '" + internalName + "' died! Auto-respawning...");
+            plugin.getLifecycleLog().info(LifecycleLog.Category.DEATH, null, "Bot '" + internalName + "' died! Auto-respawning...");
             
             // Notify owner
             plugin.getServer().getScheduler().runTask(plugin, () -> {
@@ -784,11 +819,11 @@ public class RentableBot {
             // Auto-respawn after short delay (like a player clicking respawn)
             plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
                 if (connected.get() && session != null) {
-                    session.send(new ServerboundClientCommandPacket(ClientCommand.RESPAWN));
-                    plugin.debug("Bot '" + internalName + "' sent respawn packet");
+                    sendCritical(new ServerboundClientCommandPacket(ClientCommand.RESPAWN));
+                    trace(() -> "Bot '" + internalName + "' sent respawn packet");
                     
                     // After respawn, attempt to return to saved spawn point
-                    if (hasSpawnPoint && plugin.getConfig().getBoolean("bots.behavior.return-after-death", true)) {
+                    if (hasSpawnPoint && plugin.getSettings().returnAfterDeath()) {
                         plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
                             returnToSpawnPoint();
                         }, 60L); // 3 seconds after respawn
@@ -802,87 +837,134 @@ public class RentableBot {
      * Handles incoming chat messages for TPA detection.
      */
     private void handleChatMessage(Component content) {
-        // Get the raw message content using PlainTextComponentSerializer
-        String message = PlainTextComponentSerializer.plainText().serialize(content).toLowerCase();
+        RentABotSettings.Tpa tpa = plugin.getSettings().tpa();
         
-        plugin.debug("Bot '" + internalName + "' received chat: " + message);
+        // Requests are answered server-side by the Essentials hook, or nothing to do
+        // with them at all - don't even serialize the message
+        if (plugin.isServerSideTpa() || tpa.matcher().isEmpty() || !(tpa.acceptOwnerTpa() || tpa.acceptOwnerTpaHere() || tpa.denyOthers())) {
+            return;
+        }
+        
+        // Most chat is unrelated - look for the patterns' literal text in the raw
+        // component before serializing it
+        if (!mayBeTeleportRequest(content, tpa.matcher())) {
+            return;
+        }
+        
+        // Get the raw message content using PlainTextComponentSerializer
+        String message = PlainTextComponentSerializer.plainText().serialize(content);
         
-        // Get configurable TPA patterns (or use defaults)
-        List<String> tpaPatterns = plugin.getConfig().getStringList("bots.behavior.tpa-patterns");
-        List<String> tpaHerePatterns = plugin.getConfig().getStringList("bots.behavior.tpahere-patterns");
+        trace(() -> "Bot '" + internalName + "' received chat: " + message);
         
-        // Default patterns if not configured
-        if (tpaPatterns == null || tpaPatterns.isEmpty()) {
-            tpaPatterns = Arrays.asList(
-                "teleport to you",
-                "teleport request",
-                "has requested to teleport",
-                "wants to teleport to you",
-                "sent you a teleport request"
-            );
+        // Only the owner's requests matter when others aren't denied
+        if (!tpa.denyOthers() && !containsIgnoreCase(message, ownerName)) {
+            return;
         }
-        if (tpaHerePatterns == null || tpaHerePatterns.isEmpty()) {
-            tpaHerePatterns = Arrays.asList(
-                "teleport to them",
-                "you teleport to",
-                "requests that you teleport",
-                "wants you to teleport"
-            );
+        
+        // One pass over the message for every TPA and TPAHere pattern
+        TpaMatcher.Match match = tpa.matcher().match(message);
+        
+        if (match == null || match.player() == null) {
+            return;
         }
         
-        // Check for TPA requests using configurable patterns
-        boolean isTpaRequest = false;
-        for (String pattern : tpaPatterns) {
-            if (message.contains(pattern.toLowerCase())) {
-                isTpaRequest = true;
+        handleTeleportRequest(match.player(), match.kind() == TpaMatcher.Kind.TPAHERE);
+    }
+    
+    /**
+     * Checks the text of a chat component against the TPA patterns' literal parts, in
+     * the order the plain-text serializer would emit it. Components that are not plain
+     * text (translations, selectors, ...) can't be checked this way and always pass.
+     */
+    private static boolean mayBeTeleportRequest(Component content, TpaMatcher matcher) {
+        return scanComponent(content, matcher, 0) == TpaMatcher.FOUND;
+    }
+    
+    private static int scanComponent(Component component, TpaMatcher matcher, int state) {
+        if (!(component instanceof TextComponent text)) {
+            return TpaMatcher.FOUND;
+        }
+        state = matcher.feed(state, text.content());
+        for (Component child : component.children()) {
+            if (state == TpaMatcher.FOUND) {
                 break;
             }
+            state = scanComponent(child, matcher, state);
         }
-        
-        // Check for TPAHere requests using configurable patterns
-        boolean isTpaHereRequest = false;
-        if (!isTpaRequest) { // Only check if not already a TPA
-            for (String pattern : tpaHerePatterns) {
-                if (message.contains(pattern.toLowerCase())) {
-                    isTpaHereRequest = true;
-                    break;
-                }
+        return state;
+    }
+    
+    /**
+     * How this bot answers a teleport request, per the TPA settings.
+     */
+    public enum TpaResponse { ACCEPT, DENY, IGNORE }
+    
+    /**
+     * Decides how to answer a teleport request sent to this bot.
+     *
+     * @param requester the requesting player's name
+     * @param here true for TPAHere (bot teleports to the requester)
+     */
+    public TpaResponse respondTo(String requester, boolean here) {
+        RentABotSettings.Tpa tpa = plugin.getSettings().tpa();
+        if (requester.equalsIgnoreCase(ownerName)) {
+            boolean accept = here ? tpa.acceptOwnerTpaHere() : tpa.acceptOwnerTpa();
+            return accept ? TpaResponse.ACCEPT : TpaResponse.IGNORE;
+        }
+        return tpa.denyOthers() ? TpaResponse.DENY : TpaResponse.IGNORE;
+    }
+    
+    /**
+     * Answers a teleport request found in chat with /tpaccept or /tpdeny.
+     * Only used when the server-side Essentials hook isn't active.
+     *
+     * @param requester the requesting player's name
+     * @param here true for TPAHere (bot teleports to the requester)
+     */
+    public void handleTeleportRequest(String requester, boolean here) {
+        switch (respondTo(requester, here)) {
+            case ACCEPT -> {
+                trace(() -> "Bot '" + internalName + "' accepting " + (here ? "TPAHere" : "TPA") + " from owner: " + requester);
+                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                    acceptTPA();
+                    onTeleportAccepted(here);
+                }, 20L);
+            }
+            case DENY -> {
+                trace(() -> "Bot '" + internalName + "' denying TPA/TPAHere from: " + requester);
+                plugin.getServer().getScheduler().runTaskLater(plugin, this::denyTPA, 20L);
             }
+            case IGNORE -> { }
         }
-        
-        if (isTpaRequest || isTpaHereRequest) {
-            // Extract player name from message (usually first word)
-            String[] words = message.split(" ");
-            if (words.length > 0) {
-                String requester = words[0].replaceAll("[^a-zA-Z0-9_]", "");
-                
-                boolean acceptOwnerTPA = plugin.getConfig().getBoolean("bots.behavior.accept-owner-tpa", true);
-                boolean acceptOwnerTPAHere = plugin.getConfig().getBoolean("bots.behavior.accept-owner-tpahere", true);
-                boolean denyOthersTPA = plugin.getConfig().getBoolean("bots.behavior.deny-others-tpa", true);
-                
-                // Check if requester is owner
-                if (requester.equalsIgnoreCase(ownerName)) {
-                    if (isTpaRequest && acceptOwnerTPA) {
-                        plugin.debug("Bot '" + internalName + "' accepting TPA from owner: " + requester);
-                        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                            acceptTPA();
-                            // Save spawn point after TPA (owner teleports to bot's location)
-                            saveCurrentAsSpawnPoint();
-                        }, 20L);
-                    } else if (isTpaHereRequest && acceptOwnerTPAHere) {
-                        plugin.debug("Bot '" + internalName + "' accepting TPAHere from owner: " + requester);
-                        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                            acceptTPA();
-                            // Save spawn point after teleport completes
-                            plugin.getServer().getScheduler().runTaskLater(plugin, this::saveCurrentAsSpawnPoint, 40L);
-                        }, 20L);
-                    }
-                } else if (denyOthersTPA) {
-                    plugin.debug("Bot '" + internalName + "' denying TPA/TPAHere from: " + requester);
-                    plugin.getServer().getScheduler().runTaskLater(plugin, this::denyTPA, 20L);
-                }
+    }
+    
+    /**
+     * Saves the spawn point after an accepted teleport request. For TPA the owner
+     * came to the bot, so it is saved right away; for TPAHere it is saved once the
+     * bot has had time to receive its new position.
+     */
+    public void onTeleportAccepted(boolean here) {
+        if (here) {
+            plugin.getServer().getScheduler().runTaskLater(plugin, this::saveCurrentAsSpawnPoint, 40L);
+        } else {
+            saveCurrentAsSpawnPoint();
+        }
+    }
+    
+    /**
+     * Logs a debug message for this bot if debug is on or the bot/owner is traced.
+     */
+    private void trace(Supplier<String> message) {
+        plugin.getDebugLog().trace(internalName, ownerUUID, message);
+    }
+    
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0, last = text.length() - part.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
             }
         }
+        return false;
     }
     
     // Getters and setters
@@ -896,10 +978,12 @@ public class RentableBot {
     
     public void setInternalName(String name) {
         this.internalName = name;
+        markDirty(ColumnGroup.IDENTITY);
     }
     
     public void setDisplayName(String name) {
         this.displayName = name;
+        markDirty(ColumnGroup.IDENTITY);
     }
     
     public UUID getOwnerUUID() {
@@ -920,14 +1004,16 @@ public class RentableBot {
     
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
+        markDirty(ColumnGroup.IDENTITY);
     }
     
     public Instant getExpiresAt() {
-        return expiresAt;
+        return lifecycle.get().expiresAt();
     }
     
     public void setExpiresAt(Instant expiresAt) {
-        this.expiresAt = expiresAt;
+        lifecycle.updateAndGet(current -> current.withExpiresAt(expiresAt));
+        markDirty(ColumnGroup.LIFECYCLE);
     }
     
     public ClientSession getSession() {
@@ -935,49 +1021,38 @@ public class RentableBot {
     }
     
     public void setPosition(double x, double y, double z, float yaw, float pitch, String world) {
-        this.x = x;
-        this.y = y;
-        this.z = z;
-        this.yaw = yaw;
-        this.pitch = pitch;
-        this.world = world;
-    }
-    
-    public double getX() { return x; }
-    public double getY() { return y; }
-    public double getZ() { return z; }
-    public float getYaw() { return yaw; }
-    public float getPitch() { return pitch; }
-    public String getWorld() { return world; }
+        position.set(x, y, z, yaw, pitch, world);
+        markDirty(ColumnGroup.POSITION);
+    }
+    
+    public BotPosition getPosition() { return position; }
     public boolean isPositionInitialized() { return positionInitialized; }
     public int getEntityId() { return entityId; }
     public float getHealth() { return health; }
     public int getFood() { return food; }
     public Instant getConnectedAt() { return connectedAt; }
+    public TrafficCounter getTraffic() { return traffic; }
+    public InboundPacketFilter getPacketFilter() { return packetFilter; }
     public boolean hasSpawnPoint() { return hasSpawnPoint; }
     
-    // Spawn point getters
-    public double getSavedX() { return savedX; }
-    public double getSavedY() { return savedY; }
-    public double getSavedZ() { return savedZ; }
-    public float getSavedYaw() { return savedYaw; }
-    public float getSavedPitch() { return savedPitch; }
-    public String getSavedWorld() { return savedWorld; }
+    public BotPosition getSpawnPoint() { return spawnPoint; }
     
     /**
      * Saves the current position as the spawn point.
      */
     public void saveCurrentAsSpawnPoint() {
+        // On the mailbox, after the position packets that arrived before it
+        mailbox.execute(this::doSaveSpawnPoint);
+    }
+    
+    private void doSaveSpawnPoint() {
         if (positionInitialized) {
-            this.savedX = x;
-            this.savedY = y;
-            this.savedZ = z;
-            this.savedYaw = yaw;
-            this.savedPitch = pitch;
-            this.savedWorld = world;
+            BotPosition.Snapshot current = position.readInto(mailboxPosition);
+            spawnPoint.set(current.getX(), current.getY(), current.getZ(), current.getYaw(), current.getPitch(), current.getWorld());
             this.hasSpawnPoint = true;
-            plugin.debug("Bot '" + internalName + "' saved spawn point: " + 
-                String.format("%.2f, %.2f, %.2f in %s", savedX, savedY, savedZ, savedWorld));
+            markDirty(ColumnGroup.SPAWN);
+            trace(() -> "Bot '" + internalName + "' saved spawn point: " + 
+                String.format("%.2f, %.2f, %.2f in %s", current.getX(), current.getY(), current.getZ(), current.getWorld()));
             
             // Also persist to storage
             plugin.getStorageManager().saveRental(this);
@@ -988,13 +1063,9 @@ public class RentableBot {
      * Sets the spawn point manually (from storage).
      */
     public void setSpawnPoint(double x, double y, double z, float yaw, float pitch, String world) {
-        this.savedX = x;
-        this.savedY = y;
-        this.savedZ = z;
-        this.savedYaw = yaw;
-        this.savedPitch = pitch;
-        this.savedWorld = world;
+        spawnPoint.set(x, y, z, yaw, pitch, world);
         this.hasSpawnPoint = world != null;
+        markDirty(ColumnGroup.SPAWN);
     }
     
     /**
@@ -1003,14 +1074,17 @@ public class RentableBot {
     private void returnToSpawnPoint() {
         if (!hasSpawnPoint || !connected.get()) return;
         
-        plugin.getLogger().info("Bot '" + internalName + "' attempting to return to spawn point...");
+        plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "returning to spawn", "Bot '" + internalName + "' attempting to return to spawn point...");
         
-        // Use server command to teleport (runs on main thread)
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
+        // Build the command on the mailbox, then teleport with a server command (runs on main thread)
+        mailbox.execute(() -> {
+            BotPosition.Snapshot target = spawnPoint.readInto(mailboxPosition);
             String command = String.format("tp %s %.2f %.2f %.2f",
-                displayName, savedX, savedY, savedZ);
-            plugin.getServer().dispatchCommand(plugin.getServer().getConsoleSender(), command);
-            plugin.debug("Bot '" + internalName + "' teleported back to spawn point");
+                displayName, target.getX(), target.getY(), target.getZ());
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                plugin.getServer().dispatchCommand(plugin.getServer().getConsoleSender(), command);
+                trace(() -> "Bot '" + internalName + "' teleported back to spawn point");
+            });
         });
     }
     
@@ -1031,161 +1105,220 @@ public class RentableBot {
      * Gets the current bot status.
      */
     public BotStatus getStatus() {
-        return status;
+        return lifecycle.get().status();
+    }
+    
+    /**
+     * Gets the status and rental clock as one consistent value.
+     */
+    public BotLifecycle getLifecycle() {
+        return lifecycle.get();
     }
     
     /**
-     * Sets the bot status.
+     * Sets the bot status unconditionally (used when loading from DB).
      */
     public void setStatus(BotStatus status) {
-        this.status = status;
-        if (status == BotStatus.ACTIVE) {
-            this.lastActiveAt = Instant.now();
-        }
+        Instant now = Instant.now();
+        lifecycle.updateAndGet(current -> current.withStatus(status, now));
+        markDirty(ColumnGroup.LIFECYCLE);
+        plugin.getBotManager().onStatusChanged(this);
     }
     
     /**
-     * Gets the remaining seconds when bot was stopped.
+     * Gets the remaining rental time: counted down while active, frozen otherwise.
      */
     public long getRemainingSeconds() {
-        // If active, calculate from expiry time
-        if (status == BotStatus.ACTIVE) {
-            long remaining = java.time.Duration.between(Instant.now(), expiresAt).toSeconds();
-            return Math.max(0, remaining);
-        }
-        // If stopped/expired, return stored value
-        return remainingSeconds;
+        return lifecycle.get().remainingSeconds(Instant.now());
     }
     
     /**
-     * Sets the remaining seconds (used when loading from DB or stopping).
+     * Sets the remaining seconds (used when loading from DB).
      */
     public void setRemainingSeconds(long seconds) {
-        this.remainingSeconds = Math.max(0, seconds);
+        lifecycle.updateAndGet(current -> current.withRemainingSeconds(seconds));
+        markDirty(ColumnGroup.LIFECYCLE);
     }
     
     /**
      * Gets the last active timestamp.
      */
     public Instant getLastActiveAt() {
-        return lastActiveAt;
+        return lifecycle.get().lastActiveAt();
     }
     
     /**
      * Sets the last active timestamp.
      */
     public void setLastActiveAt(Instant lastActiveAt) {
-        this.lastActiveAt = lastActiveAt;
+        lifecycle.updateAndGet(current -> current.withLastActiveAt(lastActiveAt));
+        markDirty(ColumnGroup.LIFECYCLE);
+    }
+    
+    /**
+     * Runs a lifecycle command on the bot's mailbox, in order with its packet events.
+     * The next lifecycle is published in one write, the registry is told about a
+     * status change afterwards (no lock held), and then the command's side effects run.
+     *
+     * @param step builds the next lifecycle from the current one, or returns null if
+     *             the command doesn't apply
+     * @param effects run on the mailbox after the new lifecycle is published
+     * @return completes with true if the command applied
+     */
+    private CompletableFuture<Boolean> command(Function<BotLifecycle, BotLifecycle> step,
+                                               Consumer<BotLifecycle> effects) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        mailbox.execute(() -> {
+            try {
+                BotLifecycle previous;
+                BotLifecycle next;
+                // Loaders may still write the clock from another thread
+                do {
+                    previous = lifecycle.get();
+                    next = step.apply(previous);
+                    if (next == null) {
+                        result.complete(false);
+                        return;
+                    }
+                } while (!lifecycle.compareAndSet(previous, next));
+                markDirty(ColumnGroup.LIFECYCLE);
+                if (next.status() != previous.status()) {
+                    plugin.getBotManager().onStatusChanged(this);
+                }
+                effects.accept(next);
+                result.complete(true);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return result;
     }
     
     /**
      * Stops the bot and freezes time.
      * Time remaining is saved for later resumption.
+     * @return completes with true if the bot was active and is now stopped
      */
-    public void stopAndFreeze() {
-        // Calculate remaining time before disconnecting
-        long remaining = java.time.Duration.between(Instant.now(), expiresAt).toSeconds();
-        this.remainingSeconds = Math.max(0, remaining);
-        this.status = BotStatus.STOPPED;
-        this.lastActiveAt = Instant.now();
-        
-        // Disconnect the bot
-        disconnect("Rental paused");
-        
-        plugin.debug("Bot '" + internalName + "' stopped with " + remainingSeconds + " seconds remaining");
+    public CompletableFuture<Boolean> stopAndFreeze() {
+        return command(current -> current.stop(Instant.now()), next -> {
+            stopConnection("Rental paused");
+            trace(() -> "Bot '" + internalName + "' stopped with " + next.remainingSeconds() + " seconds remaining");
+        });
     }
     
     /**
-     * Marks the bot as expired (time ran out).
+     * Marks the bot as expired (time ran out while active).
+     * @return completes with true if the bot was active and out of time
      */
-    public void markExpired() {
-        this.status = BotStatus.EXPIRED;
-        this.remainingSeconds = 0;
-        this.lastActiveAt = Instant.now();
-        
-        // Disconnect the bot
-        disconnect("Rental expired");
-        
-        plugin.debug("Bot '" + internalName + "' expired");
+    public CompletableFuture<Boolean> markExpired() {
+        return command(current -> current.expire(Instant.now()), next -> {
+            stopConnection("Rental expired");
+            trace(() -> "Bot '" + internalName + "' expired");
+        });
     }
     
     /**
      * Resumes a stopped bot with its remaining time.
-     * @return true if resumed successfully
+     * @return completes with true if resumed and queued for connection
      */
-    public boolean resume() {
-        if (status != BotStatus.STOPPED || remainingSeconds <= 0) {
-            return false;
-        }
-        
-        // Set new expiry based on remaining time
-        this.expiresAt = Instant.now().plusSeconds(remainingSeconds);
-        this.status = BotStatus.ACTIVE;
-        this.lastActiveAt = Instant.now();
-        
-        // Reset reconnect state
-        resetForReconnect();
-        
-        plugin.debug("Bot '" + internalName + "' resuming with " + remainingSeconds + " seconds");
-        return connect();
+    public CompletableFuture<Boolean> resume() {
+        return command(current -> current.resume(Instant.now()), next -> {
+            trace(() -> "Bot '" + internalName + "' resuming with " + next.remainingSeconds() + " seconds");
+        }).thenApply(resumed -> resumed && queueAfterResume());
     }
     
     /**
-     * Resumes an expired bot with new hours.
+     * Resumes a bot that is out of time with new hours.
      * @param hours New hours to add
-     * @return true if resumed successfully
+     * @return completes with true if resumed and queued for connection
      */
-    public boolean resumeWithHours(int hours) {
-        // Set new expiry with new hours
-        this.expiresAt = Instant.now().plusSeconds(hours * 3600L);
-        this.remainingSeconds = hours * 3600L;
-        this.status = BotStatus.ACTIVE;
-        this.lastActiveAt = Instant.now();
-        
-        // Reset reconnect state
-        resetForReconnect();
-        
-        plugin.debug("Bot '" + internalName + "' resuming with " + hours + " new hours");
-        return connect();
+    public CompletableFuture<Boolean> resumeWithHours(int hours) {
+        return command(current -> current.resumeWithHours(Instant.now(), hours), next -> {
+            trace(() -> "Bot '" + internalName + "' resuming with " + hours + " new hours");
+        }).thenApply(resumed -> resumed && queueAfterResume());
     }
     
     /**
      * Extends the rental by adding more hours.
+     * @return completes once the hours are added
+     */
+    public CompletableFuture<Boolean> extendRental(int hours) {
+        return command(current -> current.extend(hours), next -> {});
+    }
+    
+    /**
+     * Stops reconnects and closes the session. Runs on the mailbox, so the session
+     * is closed before any message queued after the command.
+     */
+    private void stopConnection(String reason) {
+        manuallyStopped.set(true);
+        plugin.getBotManager().getAdmissionController().cancel(this);
+        plugin.getBotManager().getReconnectEngine().cancel(this);
+        closeSession(reason);
+    }
+    
+    /**
+     * Clears reconnect state and queues the connection for a resumed bot.
+     */
+    private boolean queueAfterResume() {
+        resetForReconnect();
+        return plugin.getBotManager().getAdmissionController()
+            .submit(this, ConnectionAdmissionController.Priority.INTERACTIVE);
+    }
+    
+    // ==================== Persistence ====================
+    
+    /**
+     * Records that a group of persisted fields changed since the last save.
      */
-    public void extendRental(int hours) {
-        if (status == BotStatus.ACTIVE) {
-            // Active bot - extend from current expiry
-            this.expiresAt = expiresAt.plusSeconds(hours * 3600L);
-        } else if (status == BotStatus.STOPPED) {
-            // Stopped bot - add to remaining seconds
-            this.remainingSeconds += hours * 3600L;
-        } else if (status == BotStatus.EXPIRED) {
-            // Expired bot - set new time
-            this.remainingSeconds = hours * 3600L;
+    public void markDirty(ColumnGroup group) {
+        int bit = group.bit();
+        // Position changes often; skip the CAS when the bit is already set
+        if ((dirtyColumns.get() & bit) == 0) {
+            dirtyColumns.getAndAccumulate(bit, (current, add) -> current | add);
         }
     }
     
+    /**
+     * Marks every column dirty, so the next save writes the whole row.
+     */
+    public void markAllDirty() {
+        dirtyColumns.set(ColumnGroup.ALL);
+    }
+    
+    /**
+     * Takes the dirty mask for a save and clears it.
+     */
+    public int takeDirty() {
+        return dirtyColumns.getAndSet(0);
+    }
+    
+    /**
+     * Puts back a mask taken by a save that failed.
+     */
+    public void restoreDirty(int mask) {
+        dirtyColumns.getAndAccumulate(mask, (current, add) -> current | add);
+    }
+    
     /**
      * Check if bot has time remaining (for stopped bots).
      */
     public boolean hasTimeRemaining() {
-        if (status == BotStatus.ACTIVE) {
-            return Instant.now().isBefore(expiresAt);
-        }
-        return remainingSeconds > 0;
+        return lifecycle.get().hasTimeRemaining(Instant.now());
     }
     
     /**
      * Check if this bot is taking an active slot (connected/active).
      */
     public boolean isActiveSlot() {
-        return status == BotStatus.ACTIVE;
+        return getStatus() == BotStatus.ACTIVE;
     }
     
     /**
      * Check if this bot is in a reserved slot (stopped/expired).
      */
     public boolean isReservedSlot() {
-        return status == BotStatus.STOPPED || status == BotStatus.EXPIRED;
+        return getStatus().isReserved();
     }
 }
@@ -0,0 +1,48 @@
+package com.ximpify.rentabot.bot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Counts raw bytes on a bot channel (before decompression/decoding), so the
+ * effect of the lean client profile and packet filtering can be measured.
+ * Sits at the head of the pipeline; each channel is only touched by its own
+ * event loop thread, other threads just read the totals.
+ */
+public class TrafficCounter extends ChannelDuplexHandler {
+    
+    public static final String NAME = "rentabot-traffic";
+    
+    private volatile long bytesReceived;
+    private volatile long bytesSent;
+    private final long startedAt = System.currentTimeMillis();
+    
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ByteBuf buf) {
+            bytesReceived += buf.readableBytes();
+        }
+        super.channelRead(ctx, msg);
+    }
+    
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf buf) {
+            bytesSent += buf.readableBytes();
+        }
+        super.write(ctx, msg, promise);
+    }
+    
+    public long getBytesReceived() { return bytesReceived; }
+    public long getBytesSent() { return bytesSent; }
+    
+    /**
+     * Average bytes received per second since the channel connected.
+     */
+    public long getReceiveRate() {
+        long seconds = Math.max(1, (System.currentTimeMillis() - startedAt) / 1000);
+        return bytesReceived / seconds;
+    }
+}
@@ -1,7 +1,16 @@
 package com.ximpify.rentabot.commands;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.BotPosition;
+import com.ximpify.rentabot.bot.ConnectionAdmissionController;
+import com.ximpify.rentabot.bot.InboundPacketFilter;
+import com.ximpify.rentabot.bot.OutboundFlusher;
+import com.ximpify.rentabot.bot.PacketBudget;
+import com.ximpify.rentabot.bot.ReconnectEngine;
 import com.ximpify.rentabot.bot.RentableBot;
+import com.ximpify.rentabot.bot.TrafficCounter;
+import com.ximpify.rentabot.storage.RentalWriteQueue;
+import com.ximpify.rentabot.util.DebugLog;
 import com.ximpify.rentabot.util.ReloadManager;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -15,6 +24,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +33,8 @@ import java.util.stream.Collectors;
 public class AdminCommand implements CommandExecutor, TabCompleter {
     
     private final RentABot plugin;
+    // Reused for position reads; commands run on the main thread
+    private final BotPosition.Snapshot position = new BotPosition.Snapshot();
     
     public AdminCommand(RentABot plugin) {
         this.plugin = plugin;
@@ -50,7 +62,9 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             case "give", "create" -> handleGive(sender, args);
             case "reload" -> handleReload(sender, args);
             case "update" -> handleUpdate(sender, args);
-            case "debug" -> handleDebug(sender);
+            case "debug" -> handleDebug(sender, args);
+            case "queue" -> handleQueue(sender);
+            case "stats" -> handleStats(sender);
             case "help", "?" -> showAdminHelp(sender);
             default -> plugin.getMessageUtil().send(sender, "general.invalid-args");
         }
@@ -120,9 +134,8 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // Stop all bots (use copy to avoid ConcurrentModificationException)
-        // Use deleteBot for full removal
-        for (RentableBot bot : new ArrayList<>(plugin.getBotManager().getAllBots())) {
+        // Delete all bots (the registry snapshot is immutable, so removing while iterating is safe)
+        for (RentableBot bot : plugin.getBotManager().getAllBots()) {
             String botName = bot.getInternalName();
             plugin.getBotManager().deleteBot(botName);
             plugin.getStorageManager().deleteRental(botName);
@@ -161,15 +174,32 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         plugin.getMessageUtil().send(sender, "admin.info-expires", 
             "time", plugin.getRentalManager().formatTime(Math.max(0, remaining.toSeconds())));
         
-        if (bot.getWorld() != null) {
+        bot.getPosition().readInto(position);
+        if (position.getWorld() != null) {
             plugin.getMessageUtil().send(sender, "admin.info-location",
-                "world", bot.getWorld(),
-                "x", String.valueOf((int) bot.getX()),
-                "y", String.valueOf((int) bot.getY()),
-                "z", String.valueOf((int) bot.getZ()));
+                "world", position.getWorld(),
+                "x", String.valueOf((int) position.getX()),
+                "y", String.valueOf((int) position.getY()),
+                "z", String.valueOf((int) position.getZ()));
         }
         
         plugin.getMessageUtil().send(sender, "admin.info-status", "status", status);
+        
+        TrafficCounter traffic = bot.getTraffic();
+        if (traffic != null) {
+            plugin.getMessageUtil().send(sender, "admin.info-traffic",
+                "received", plugin.getMessageUtil().formatBytes(traffic.getBytesReceived()),
+                "rate", plugin.getMessageUtil().formatBytes(traffic.getReceiveRate()),
+                "sent", plugin.getMessageUtil().formatBytes(traffic.getBytesSent()));
+        }
+        
+        InboundPacketFilter filter = bot.getPacketFilter();
+        if (filter != null) {
+            plugin.getMessageUtil().send(sender, "admin.info-filtered",
+                "packets", String.valueOf(filter.getPacketsDropped()),
+                "bytes", plugin.getMessageUtil().formatBytes(filter.getBytesDropped()),
+                "passed", String.valueOf(filter.getPacketsPassed()));
+        }
     }
     
     /**
@@ -323,14 +353,198 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
     }
     
-    private void handleDebug(CommandSender sender) {
+    /**
+     * Shows the connection admission queue.
+     * Usage: /rabadmin queue
+     */
+    private void handleQueue(CommandSender sender) {
+        var admission = plugin.getBotManager().getAdmissionController();
+        int depth = admission.getQueueDepth();
+        
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+        plugin.getMessageUtil().sendRaw(sender, "&6&lRentABot Connection Queue");
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+        plugin.getMessageUtil().sendRaw(sender, "&7Queued: &f" + depth
+            + " &8(&7interactive: &f" + admission.getQueueDepth(ConnectionAdmissionController.Priority.INTERACTIVE)
+            + "&7, reconnect: &f" + admission.getQueueDepth(ConnectionAdmissionController.Priority.RECONNECT)
+            + "&7, startup: &f" + admission.getQueueDepth(ConnectionAdmissionController.Priority.STARTUP) + "&8)");
+        plugin.getMessageUtil().sendRaw(sender, "&7Logging in: &f" + admission.getInFlight() + "&7/&f" + admission.getMaxInFlight());
+        plugin.getMessageUtil().sendRaw(sender, "&7Join rate: &f" + admission.getJoinsPerSecond() + " &7per second");
+        plugin.getMessageUtil().sendRaw(sender, "&7ETA: &f" + (depth == 0 
+            ? "Empty" 
+            : plugin.getRentalManager().formatTime(admission.getEstimatedSecondsToDrain())));
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+    }
+    
+    /**
+     * Shows reconnect and circuit breaker metrics.
+     * Usage: /rabadmin stats
+     */
+    private void handleStats(CommandSender sender) {
+        ReconnectEngine reconnect = plugin.getBotManager().getReconnectEngine();
+        String breakerColor = switch (reconnect.getState()) {
+            case CLOSED -> "&a";
+            case HALF_OPEN -> "&e";
+            case OPEN -> "&c";
+        };
+        
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+        plugin.getMessageUtil().sendRaw(sender, "&6&lRentABot Statistics");
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+        plugin.getMessageUtil().sendRaw(sender, "&eReconnects");
+        plugin.getMessageUtil().sendRaw(sender, "&7Circuit breaker: " + breakerColor + reconnect.getState()
+            + (reconnect.getCurrentOutageMillis() > 0 
+                ? " &8(&7" + plugin.getRentalManager().formatTime(reconnect.getCurrentOutageMillis() / 1000) + "&8)" 
+                : ""));
+        plugin.getMessageUtil().sendRaw(sender, "&7Waiting to retry: &f" + reconnect.getPendingCount());
+        plugin.getMessageUtil().sendRaw(sender, "&7Retries: &f" + reconnect.getRetriesReleased() 
+            + " &8(&7scheduled: &f" + reconnect.getRetriesScheduled() + "&8)");
+        plugin.getMessageUtil().sendRaw(sender, "&7Recovered bots: &f" + reconnect.getRecoveries()
+            + (reconnect.getAverageRecoveryMillis() >= 0 
+                ? " &8(&7avg &f" + plugin.getRentalManager().formatTime(reconnect.getAverageRecoveryMillis() / 1000) + "&8)" 
+                : ""));
+        plugin.getMessageUtil().sendRaw(sender, "&7Breaker trips: &f" + reconnect.getBreakerTrips()
+            + (reconnect.getLastOutageMillis() >= 0 
+                ? " &8(&7last outage &f" + plugin.getRentalManager().formatTime(reconnect.getLastOutageMillis() / 1000) + "&8)" 
+                : ""));
+        
+        // Raw bytes across connected bots (lean profile / packet filtering show up here)
+        long received = 0;
+        long rate = 0;
+        int counted = 0;
+        long dropped = 0;
+        long droppedBytes = 0;
+        long passed = 0;
+        for (RentableBot bot : plugin.getBotManager().getAllBots()) {
+            TrafficCounter traffic = bot.getTraffic();
+            if (traffic != null && bot.isConnected()) {
+                received += traffic.getBytesReceived();
+                rate += traffic.getReceiveRate();
+                counted++;
+            }
+            InboundPacketFilter filter = bot.getPacketFilter();
+            if (filter != null && bot.isConnected()) {
+                dropped += filter.getPacketsDropped();
+                droppedBytes += filter.getBytesDropped();
+                passed += filter.getPacketsPassed();
+            }
+        }
+        plugin.getMessageUtil().sendRaw(sender, "&eTraffic");
+        plugin.getMessageUtil().sendRaw(sender, "&7Transport: &f" + plugin.getNetworkRuntime().describeTransport());
+        plugin.getMessageUtil().sendRaw(sender, "&7Received: &f" + plugin.getMessageUtil().formatBytes(received)
+            + " &8(&f" + plugin.getMessageUtil().formatBytes(rate) + "/s&8)");
+        if (counted > 0) {
+            plugin.getMessageUtil().sendRaw(sender, "&7Per bot: &f" + plugin.getMessageUtil().formatBytes(rate / counted) + "/s");
+        }
+        plugin.getMessageUtil().sendRaw(sender, "&7Skipped before decode: &f" + dropped + " &7packets &8(&f"
+            + plugin.getMessageUtil().formatBytes(droppedBytes) + "&8)&7, decoded: &f" + passed);
+        PacketBudget budget = plugin.getBotManager().getPacketBudget();
+        if (budget.getPerTick() > 0) {
+            plugin.getMessageUtil().sendRaw(sender, "&7Packet budget: &f" + budget.getLastTickUsed() + "&7/&f" + budget.getPerTick()
+                + " &7per tick &8(&7peak &f" + budget.getPeakTickUsed() + "&7, avg &f"
+                + String.format("%.1f", budget.getAverageUtilization()) + "%&8)");
+            plugin.getMessageUtil().sendRaw(sender, "&7Over budget: &f" + budget.getDeferred() + " &7deferred, &f"
+                + budget.getDropped() + " &7dropped");
+        }
+        OutboundFlusher flusher = plugin.getBotManager().getOutboundFlusher();
+        if (flusher.getFlushes() > 0) {
+            plugin.getMessageUtil().sendRaw(sender, "&7Coalesced writes: &f" + flusher.getPacketsWritten()
+                + " &7packets in &f" + flusher.getFlushes() + " &7flushes &8(&f"
+                + String.format("%.1f", (double) flusher.getPacketsWritten() / flusher.getFlushes()) + "&7/flush&8)");
+        }
+        
+        RentalWriteQueue writes = plugin.getStorageManager().getWriteQueue();
+        if (writes != null) {
+            plugin.getMessageUtil().sendRaw(sender, "&eStorage");
+            plugin.getMessageUtil().sendRaw(sender, "&7Queued rows: &f" + writes.getDepth());
+            plugin.getMessageUtil().sendRaw(sender, "&7Written: &f" + writes.getRowsWritten() + " &7rows for &f"
+                + writes.getRequests() + " &7requests in &f" + writes.getFlushes() + " &7flushes"
+                + (writes.getFailures() > 0 ? " &8(&c" + writes.getFailures() + " failed&8)" : ""));
+            if (writes.getLastFlushMillis() >= 0) {
+                plugin.getMessageUtil().sendRaw(sender, "&7Last flush: &f" + writes.getLastFlushMillis() + "ms &8(&7queued &f"
+                    + writes.getLastDelayMillis() + "ms&7, max &f" + writes.getMaxDelayMillis() + "ms&8)");
+            }
+        }
+        plugin.getMessageUtil().sendRaw(sender, "&8&m----------------------------------------");
+    }
+    
+    private void handleDebug(CommandSender sender, String[] args) {
+        DebugLog debugLog = plugin.getDebugLog();
+        
+        if (args.length >= 2) {
+            switch (args[1].toLowerCase()) {
+                case "bot" -> {
+                    if (args.length < 3) {
+                        plugin.getMessageUtil().sendRaw(sender, "&7Usage: &f/rabadmin debug bot <name>");
+                        return;
+                    }
+                    var optBot = plugin.getBotManager().getBot(args[2]);
+                    if (optBot.isEmpty()) {
+                        plugin.getMessageUtil().send(sender, "general.bot-not-found", "bot", args[2]);
+                        return;
+                    }
+                    String botName = optBot.get().getInternalName();
+                    boolean traced = debugLog.toggleBot(botName);
+                    plugin.getMessageUtil().sendRaw(sender, "&7Tracing bot &f" + botName + "&7: " + (traced ? "&aEnabled" : "&cDisabled"));
+                }
+                case "owner" -> {
+                    if (args.length < 3) {
+                        plugin.getMessageUtil().sendRaw(sender, "&7Usage: &f/rabadmin debug owner <player>");
+                        return;
+                    }
+                    UUID owner = findOwner(args[2]);
+                    if (owner == null) {
+                        plugin.getMessageUtil().send(sender, "general.player-not-found", "player", args[2]);
+                        return;
+                    }
+                    boolean traced = debugLog.toggleOwner(owner);
+                    plugin.getMessageUtil().sendRaw(sender, "&7Tracing bots of &f" + args[2] + "&7: " + (traced ? "&aEnabled" : "&cDisabled"));
+                }
+                case "clear", "off" -> {
+                    debugLog.clearTraces();
+                    plugin.getMessageUtil().sendRaw(sender, "&7All bot traces cleared");
+                }
+                case "list" -> {
+                    plugin.getMessageUtil().sendRaw(sender, "&7Debug mode: " + (debugLog.isEnabled() ? "&aEnabled" : "&cDisabled"));
+                    plugin.getMessageUtil().sendRaw(sender, "&7Traced bots: &f" + (debugLog.getTracedBots().isEmpty() 
+                        ? "none" : String.join(", ", debugLog.getTracedBots())));
+                    plugin.getMessageUtil().sendRaw(sender, "&7Traced owners: &f" + (debugLog.getTracedOwners().isEmpty() 
+                        ? "none" 
+                        : debugLog.getTracedOwners().stream()
+                            .map(uuid -> {
+                                String name = Bukkit.getOfflinePlayer(uuid).getName();
+                                return name != null ? name : uuid.toString();
+                            })
+                            .collect(Collectors.joining(", "))));
+                }
+                default -> plugin.getMessageUtil().sendRaw(sender, "&7Usage: &f/rabadmin debug [bot <name>|owner <player>|list|clear]");
+            }
+            return;
+        }
+        
         boolean current = plugin.getConfig().getBoolean("advanced.debug", false);
         plugin.getConfig().set("advanced.debug", !current);
         plugin.saveConfig();
+        plugin.reloadSettings();
         
         plugin.getMessageUtil().sendRaw(sender, "&7Debug mode: " + (!current ? "&aEnabled" : "&cDisabled"));
     }
     
+    /**
+     * Finds a bot owner by name: online player first, then owners of existing bots.
+     */
+    private UUID findOwner(String name) {
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            return online.getUniqueId();
+        }
+        return plugin.getBotManager().getAllBots().stream()
+            .filter(bot -> bot.getOwnerName().equalsIgnoreCase(name))
+            .map(RentableBot::getOwnerUUID)
+            .findFirst()
+            .orElse(null);
+    }
+    
     /**
      * Handles giving a bot to a player (for ShopGUIPlus/console - NO CHARGE)
      * Usage: /rabadmin give <player> <hours> [botname]
@@ -419,7 +633,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("list", "stop", "stopall", "info", "give", "reload", "update", "debug", "help"));
+            completions.addAll(Arrays.asList("list", "stop", "stopall", "info", "give", "reload", "update", "debug", "queue", "stats", "help"));
         } else if (args.length == 2) {
             String sub = args[0].toLowerCase();
             switch (sub) {
@@ -445,12 +659,27 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
                     // Update subcommands
                     completions.addAll(Arrays.asList("check", "download", "status"));
                 }
+                case "debug" -> {
+                    // Trace targets
+                    completions.addAll(Arrays.asList("bot", "owner", "list", "clear"));
+                }
             }
         } else if (args.length == 3) {
             String sub = args[0].toLowerCase();
             if (sub.equals("give") || sub.equals("create")) {
                 // Suggest hour amounts
                 completions.addAll(Arrays.asList("1", "6", "12", "24", "48", "72", "168"));
+            } else if (sub.equals("debug") && args[1].equalsIgnoreCase("bot")) {
+                completions.addAll(plugin.getBotManager().getAllBots()
+                    .stream()
+                    .map(RentableBot::getInternalName)
+                    .collect(Collectors.toList()));
+            } else if (sub.equals("debug") && args[1].equalsIgnoreCase("owner")) {
+                completions.addAll(plugin.getBotManager().getAllBots()
+                    .stream()
+                    .map(RentableBot::getOwnerName)
+                    .distinct()
+                    .collect(Collectors.toList()));
             }
         }
         
@@ -1,6 +1,7 @@
 package com.ximpify.rentabot.commands;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.BotPosition;
 import com.ximpify.rentabot.bot.BotStatus;
 import com.ximpify.rentabot.bot.RentableBot;
 import com.ximpify.rentabot.rental.RentalManager.RentalResult;
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
 public class RentCommand implements CommandExecutor, TabCompleter {
     
     private final RentABot plugin;
+    // Reused for position reads; commands run on the main thread
+    private final BotPosition.Snapshot position = new BotPosition.Snapshot();
     
     public RentCommand(RentABot plugin) {
         this.plugin = plugin;
@@ -166,16 +169,16 @@ public class RentCommand implements CommandExecutor, TabCompleter {
         Duration remaining = Duration.between(Instant.now(), bot.getExpiresAt());
         long secondsRemaining = Math.max(0, remaining.toSeconds());
         
-        RentalResult result = plugin.getRentalManager().stopRental(player, botName, false);
-        
-        if (result.success()) {
-            String timeLeft = plugin.getRentalManager().formatTime(secondsRemaining);
-            plugin.getMessageUtil().send(player, "stop.success", "bot", botName, "time", timeLeft);
-            plugin.getMessageUtil().playSound(player, "on-stop");
-        } else {
-            String messageKey = result.messageKey().equals("not-found") ? "general.bot-not-found" : "stop." + result.messageKey();
-            plugin.getMessageUtil().send(player, messageKey, "bot", botName);
-        }
+        plugin.getRentalManager().stopRental(player, botName, false).thenAccept(result -> {
+            if (result.success()) {
+                String timeLeft = plugin.getRentalManager().formatTime(secondsRemaining);
+                plugin.getMessageUtil().send(player, "stop.success", "bot", botName, "time", timeLeft);
+                plugin.getMessageUtil().playSound(player, "on-stop");
+            } else {
+                String messageKey = result.messageKey().equals("not-found") ? "general.bot-not-found" : "stop." + result.messageKey();
+                plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+            }
+        });
     }
     
     private void handleResume(Player player, String[] args) {
@@ -219,35 +222,35 @@ public class RentCommand implements CommandExecutor, TabCompleter {
             }
         }
         
-        RentalResult result = plugin.getRentalManager().resumeRental(player, botName, additionalHours);
-        
-        if (result.success()) {
-            // Re-fetch the bot to get updated expiry time after resume
-            var resumedBot = plugin.getBotManager().getBot(botName);
-            if (resumedBot.isPresent()) {
-                Duration remaining = Duration.between(Instant.now(), resumedBot.get().getExpiresAt());
-                String timeLeft = plugin.getRentalManager().formatTime(Math.max(0, remaining.toSeconds()));
-                plugin.getMessageUtil().send(player, "resume.success", "bot", botName, "time", timeLeft);
-            } else {
-                plugin.getMessageUtil().send(player, "resume.success", "bot", botName, "time", "N/A");
-            }
-            plugin.getMessageUtil().playSound(player, "on-resume");
-        } else {
-            String messageKey = switch (result.messageKey()) {
-                case "not-found" -> "general.bot-not-found";
-                case "not-owner" -> "general.not-owner";
-                case "max-active-reached" -> "resume.max-active";
-                case "already-active" -> "resume.already-active";
-                case "no-time-remaining" -> "resume.no-time";
-                case "insufficient-funds" -> "economy.insufficient-funds";
-                default -> "resume." + result.messageKey();
-            };
-            if (result.args() != null && result.args().length > 0) {
-                plugin.getMessageUtil().send(player, messageKey, parseResultArgs(result.messageKey(), result.args()));
+        plugin.getRentalManager().resumeRental(player, botName, additionalHours).thenAccept(result -> {
+            if (result.success()) {
+                // Re-fetch the bot to get updated expiry time after resume
+                var resumedBot = plugin.getBotManager().getBot(botName);
+                if (resumedBot.isPresent()) {
+                    Duration remaining = Duration.between(Instant.now(), resumedBot.get().getExpiresAt());
+                    String timeLeft = plugin.getRentalManager().formatTime(Math.max(0, remaining.toSeconds()));
+                    plugin.getMessageUtil().send(player, "resume.success", "bot", botName, "time", timeLeft);
+                } else {
+                    plugin.getMessageUtil().send(player, "resume.success", "bot", botName, "time", "N/A");
+                }
+                plugin.getMessageUtil().playSound(player, "on-resume");
             } else {
-                plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+                String messageKey = switch (result.messageKey()) {
+                    case "not-found" -> "general.bot-not-found";
+                    case "not-owner" -> "general.not-owner";
+                    case "max-active-reached" -> "resume.max-active";
+                    case "already-active" -> "resume.already-active";
+                    case "no-time-remaining" -> "resume.no-time";
+                    case "insufficient-funds" -> "economy.insufficient-funds";
+                    default -> "resume." + result.messageKey();
+                };
+                if (result.args() != null && result.args().length > 0) {
+                    plugin.getMessageUtil().send(player, messageKey, parseResultArgs(result.messageKey(), result.args()));
+                } else {
+                    plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+                }
             }
-        }
+        });
     }
     
     private void handleDelete(Player player, String[] args) {
@@ -481,17 +484,17 @@ public class RentCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        RentalResult result = plugin.getRentalManager().extendRental(player, botName, hours);
-        
-        if (result.success()) {
-            plugin.getMessageUtil().send(player, "extend.success",
-                "hours", result.args()[0],
-                "time", result.args()[1]);
-            plugin.getMessageUtil().playSound(player, "on-extend");
-        } else {
-            String messageKey = result.messageKey().equals("not-found") ? "general.bot-not-found" : "extend." + result.messageKey();
-            plugin.getMessageUtil().send(player, messageKey, "bot", botName);
-        }
+        plugin.getRentalManager().extendRental(player, botName, hours).thenAccept(result -> {
+            if (result.success()) {
+                plugin.getMessageUtil().send(player, "extend.success",
+                    "hours", result.args()[0],
+                    "time", result.args()[1]);
+                plugin.getMessageUtil().playSound(player, "on-extend");
+            } else {
+                String messageKey = result.messageKey().equals("not-found") ? "general.bot-not-found" : "extend." + result.messageKey();
+                plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+            }
+        });
     }
     
     private void handleInfo(Player player, String[] args) {
@@ -537,14 +540,16 @@ public class RentCommand implements CommandExecutor, TabCompleter {
             
             // Position
             if (bot.isPositionInitialized()) {
+                bot.getPosition().readInto(position);
                 plugin.getMessageUtil().sendRaw(player, "&7Position: &f" + 
-                    String.format("%.0f, %.0f, %.0f", bot.getX(), bot.getY(), bot.getZ()));
+                    String.format("%.0f, %.0f, %.0f", position.getX(), position.getY(), position.getZ()));
             }
             
             // Spawn point
             if (bot.hasSpawnPoint()) {
+                bot.getSpawnPoint().readInto(position);
                 plugin.getMessageUtil().sendRaw(player, "&7Spawn Point: &a" + 
-                    String.format("%.0f, %.0f, %.0f", bot.getSavedX(), bot.getSavedY(), bot.getSavedZ()) +
+                    String.format("%.0f, %.0f, %.0f", position.getX(), position.getY(), position.getZ()) +
                     " &7(saved)");
             } else {
                 plugin.getMessageUtil().sendRaw(player, "&7Spawn Point: &cnone &8(use /tpa to set)");
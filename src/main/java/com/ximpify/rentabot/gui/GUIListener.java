@@ -204,12 +204,13 @@ public class GUIListener implements Listener {
                 case 33 -> { // Pause Bot
                     player.closeInventory();
                     guiManager.openConfirmMenu(player, "Pause Bot", botName, () -> {
-                        RentalResult result = plugin.getRentalManager().stopRental(player, botName, false);
-                        if (result.success()) {
-                            String timeLeft = plugin.getRentalManager().formatTime(bot.getRemainingSeconds());
-                            plugin.getMessageUtil().send(player, "stop.success", "bot", botName, "time", timeLeft);
-                            plugin.getMessageUtil().playSound(player, "on-stop");
-                        }
+                        plugin.getRentalManager().stopRental(player, botName, false).thenAccept(result -> {
+                            if (result.success()) {
+                                String timeLeft = plugin.getRentalManager().formatTime(bot.getRemainingSeconds());
+                                plugin.getMessageUtil().send(player, "stop.success", "bot", botName, "time", timeLeft);
+                                plugin.getMessageUtil().playSound(player, "on-stop");
+                            }
+                        });
                     });
                 }
             }
@@ -220,19 +221,20 @@ public class GUIListener implements Listener {
                     player.closeInventory();
                     if (bot.hasTimeRemaining()) {
                         // Free resume - just resume
-                        RentalResult result = plugin.getRentalManager().resumeRental(player, botName, 0);
-                        if (result.success()) {
-                            plugin.getMessageUtil().send(player, "resume.success", "bot", botName, 
-                                "time", plugin.getRentalManager().formatTime(bot.getRemainingSeconds()));
-                            plugin.getMessageUtil().playSound(player, "on-resume");
-                        } else {
-                            String messageKey = switch (result.messageKey()) {
-                                case "max-active-reached" -> "resume.max-active";
-                                case "already-active" -> "resume.already-active";
-                                default -> "resume." + result.messageKey();
-                            };
-                            plugin.getMessageUtil().send(player, messageKey, "bot", botName);
-                        }
+                        plugin.getRentalManager().resumeRental(player, botName, 0).thenAccept(result -> {
+                            if (result.success()) {
+                                plugin.getMessageUtil().send(player, "resume.success", "bot", botName, 
+                                    "time", plugin.getRentalManager().formatTime(bot.getRemainingSeconds()));
+                                plugin.getMessageUtil().playSound(player, "on-resume");
+                            } else {
+                                String messageKey = switch (result.messageKey()) {
+                                    case "max-active-reached" -> "resume.max-active";
+                                    case "already-active" -> "resume.already-active";
+                                    default -> "resume." + result.messageKey();
+                                };
+                                plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+                            }
+                        });
                     } else {
                         // Need to buy hours - open shop for resume
                         guiManager.openResumeHoursMenu(player, bot);
@@ -327,17 +329,17 @@ public class GUIListener implements Listener {
                 int duration = hours[i];
                 
                 player.closeInventory();
-                RentalResult result = plugin.getRentalManager().extendRental(player, botName, duration);
-                
-                if (result.success()) {
-                    plugin.getMessageUtil().send(player, "extend.success",
-                        "hours", String.valueOf(duration),
-                        "time", result.args()[1]);
-                    plugin.getMessageUtil().playSound(player, "on-extend");
-                } else {
-                    plugin.getMessageUtil().send(player, "extend.failed", "reason", result.messageKey());
-                    plugin.getMessageUtil().playSound(player, "on-error");
-                }
+                plugin.getRentalManager().extendRental(player, botName, duration).thenAccept(result -> {
+                    if (result.success()) {
+                        plugin.getMessageUtil().send(player, "extend.success",
+                            "hours", String.valueOf(duration),
+                            "time", result.args()[1]);
+                        plugin.getMessageUtil().playSound(player, "on-extend");
+                    } else {
+                        plugin.getMessageUtil().send(player, "extend.failed", "reason", result.messageKey());
+                        plugin.getMessageUtil().playSound(player, "on-error");
+                    }
+                });
                 return;
             }
         }
@@ -365,29 +367,29 @@ public class GUIListener implements Listener {
                 player.closeInventory();
                 guiManager.removePendingAction(player.getUniqueId());
                 
-                RentalResult result = plugin.getRentalManager().resumeRental(player, botName, duration);
-                
-                if (result.success()) {
-                    Optional<RentableBot> optBot = plugin.getBotManager().getBot(botName);
-                    String timeLeft = optBot.isPresent() 
-                        ? plugin.getRentalManager().formatTime(duration * 3600L)
-                        : duration + "h";
-                    plugin.getMessageUtil().send(player, "resume.success",
-                        "bot", botName,
-                        "time", timeLeft);
-                    plugin.getMessageUtil().playSound(player, "on-resume");
-                } else {
-                    String messageKey = switch (result.messageKey()) {
-                        case "max-active-reached" -> "resume.max-active";
-                        case "insufficient-funds" -> "economy.insufficient-funds";
-                        default -> "resume." + result.messageKey();
-                    };
-                    if (result.args() != null && result.args().length > 0) {
-                        plugin.getMessageUtil().send(player, messageKey, "price", result.args()[0]);
+                plugin.getRentalManager().resumeRental(player, botName, duration).thenAccept(result -> {
+                    if (result.success()) {
+                        Optional<RentableBot> optBot = plugin.getBotManager().getBot(botName);
+                        String timeLeft = optBot.isPresent() 
+                            ? plugin.getRentalManager().formatTime(duration * 3600L)
+                            : duration + "h";
+                        plugin.getMessageUtil().send(player, "resume.success",
+                            "bot", botName,
+                            "time", timeLeft);
+                        plugin.getMessageUtil().playSound(player, "on-resume");
                     } else {
-                        plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+                        String messageKey = switch (result.messageKey()) {
+                            case "max-active-reached" -> "resume.max-active";
+                            case "insufficient-funds" -> "economy.insufficient-funds";
+                            default -> "resume." + result.messageKey();
+                        };
+                        if (result.args() != null && result.args().length > 0) {
+                            plugin.getMessageUtil().send(player, messageKey, "price", result.args()[0]);
+                        } else {
+                            plugin.getMessageUtil().send(player, messageKey, "bot", botName);
+                        }
                     }
-                }
+                });
                 return;
             }
         }
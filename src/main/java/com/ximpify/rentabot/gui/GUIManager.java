@@ -1,6 +1,7 @@
 package com.ximpify.rentabot.gui;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.BotPosition;
 import com.ximpify.rentabot.bot.BotStatus;
 import com.ximpify.rentabot.bot.RentableBot;
 import org.bukkit.Bukkit;
@@ -32,6 +33,8 @@ public class GUIManager {
     
     // Track pending actions
     private final Map<UUID, PendingAction> pendingActions;
+    // Reused for position reads; menus are built on the main thread
+    private final BotPosition.Snapshot position = new BotPosition.Snapshot();
     
     public GUIManager(RentABot plugin) {
         this.plugin = plugin;
@@ -249,10 +252,11 @@ public class GUIManager {
         }
         infoLore.add("");
         if (bot.isPositionInitialized() && bot.getStatus() == BotStatus.ACTIVE) {
+            bot.getPosition().readInto(position);
             infoLore.add("§7Position:");
-            infoLore.add("§8  X: §f" + String.format("%.1f", bot.getX()));
-            infoLore.add("§8  Y: §f" + String.format("%.1f", bot.getY()));
-            infoLore.add("§8  Z: §f" + String.format("%.1f", bot.getZ()));
+            infoLore.add("§8  X: §f" + String.format("%.1f", position.getX()));
+            infoLore.add("§8  Y: §f" + String.format("%.1f", position.getY()));
+            infoLore.add("§8  Z: §f" + String.format("%.1f", position.getZ()));
         }
         
         inv.setItem(4, createPlayerHead(bot.getDisplayName(),
@@ -290,15 +294,16 @@ public class GUIManager {
             
             // Spawn Point Info (slot 24)
             if (bot.hasSpawnPoint()) {
+                BotPosition.Snapshot spawn = bot.getSpawnPoint().readInto(position);
                 inv.setItem(24, createItem(Material.RESPAWN_ANCHOR,
                     "§a§lSpawn Point",
                     "§7Bot will return here after death",
                     "",
                     "§7Location:",
-                    "§8  World: §f" + (bot.getSavedWorld() != null ? bot.getSavedWorld() : "Unknown"),
-                    "§8  X: §f" + String.format("%.1f", bot.getSavedX()),
-                    "§8  Y: §f" + String.format("%.1f", bot.getSavedY()),
-                    "§8  Z: §f" + String.format("%.1f", bot.getSavedZ()),
+                    "§8  World: §f" + (spawn.getWorld() != null ? spawn.getWorld() : "Unknown"),
+                    "§8  X: §f" + String.format("%.1f", spawn.getX()),
+                    "§8  Y: §f" + String.format("%.1f", spawn.getY()),
+                    "§8  Z: §f" + String.format("%.1f", spawn.getZ()),
                     "",
                     "§7Status: §a✓ Active"
                 ));
@@ -396,15 +401,16 @@ public class GUIManager {
             
             // Spawn Point Info (slot 24)
             if (bot.hasSpawnPoint()) {
+                BotPosition.Snapshot spawn = bot.getSpawnPoint().readInto(position);
                 inv.setItem(24, createItem(Material.RESPAWN_ANCHOR,
                     "§a§lSpawn Point",
                     "§7Bot will spawn here when resumed",
                     "",
                     "§7Location:",
-                    "§8  World: §f" + (bot.getSavedWorld() != null ? bot.getSavedWorld() : "Unknown"),
-                    "§8  X: §f" + String.format("%.1f", bot.getSavedX()),
-                    "§8  Y: §f" + String.format("%.1f", bot.getSavedY()),
-                    "§8  Z: §f" + String.format("%.1f", bot.getSavedZ()),
+                    "§8  World: §f" + (spawn.getWorld() != null ? spawn.getWorld() : "Unknown"),
+                    "§8  X: §f" + String.format("%.1f", spawn.getX()),
+                    "§8  Y: §f" + String.format("%.1f", spawn.getY()),
+                    "§8  Z: §f" + String.format("%.1f", spawn.getZ()),
                     "",
                     "§7Status: §a✓ Saved"
                 ));
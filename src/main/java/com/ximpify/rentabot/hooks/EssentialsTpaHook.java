@@ -0,0 +1,116 @@
+package com.ximpify.rentabot.hooks;
+
+import com.earth2me.essentials.IUser.TpaRequest;
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.RentableBot;
+import net.ess3.api.IEssentials;
+import net.ess3.api.IUser;
+import net.ess3.api.events.TPARequestEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers teleport requests sent to bots straight through the Essentials API,
+ * so bots don't have to receive and parse chat or send /tpaccept and /tpdeny.
+ * Bot chat parsing stays as the fallback when this hook isn't active.
+ */
+public class EssentialsTpaHook implements Listener {
+    
+    private final RentABot plugin;
+    
+    public EssentialsTpaHook(RentABot plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Checks if the installed Essentials fires teleport request events and keeps
+     * requests per user (EssentialsX 2.20+).
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("net.ess3.api.events.TPARequestEvent");
+            Class.forName("com.earth2me.essentials.IUser$TpaRequest");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleportRequest(TPARequestEvent event) {
+        // Checked per event: a reload can switch back to chat parsing
+        if (!plugin.isServerSideTpa()) {
+            return;
+        }
+        
+        Player requester = event.getRequester().getPlayer();
+        IUser target = event.getTarget();
+        if (requester == null || target.getBase() == null) {
+            return;
+        }
+        
+        RentableBot bot = plugin.getBotManager().getBotByDisplayName(target.getName()).orElse(null);
+        if (bot == null || !bot.isConnected()) {
+            return;
+        }
+        
+        boolean here = event.isTeleportHere();
+        RentableBot.TpaResponse response = bot.respondTo(requester.getName(), here);
+        if (response == RentableBot.TpaResponse.IGNORE) {
+            return;
+        }
+        plugin.debug(() -> "Essentials " + (here ? "TPAHere" : "TPA") + " request from " + requester.getName()
+            + " to bot '" + bot.getInternalName() + "': " + response);
+        
+        // Essentials stores the request after this event returns
+        plugin.getServer().getScheduler().runTask(plugin, () -> answer(bot, target, requester, response));
+    }
+    
+    /**
+     * Accepts or denies the stored request on the main thread, the way /tpaccept
+     * and /tpdeny would.
+     */
+    private void answer(RentableBot bot, IUser target, Player requester, RentableBot.TpaResponse response) {
+        TpaRequest request = target.getOutstandingTpaRequest(requester.getName(), false);
+        if (request == null || !requester.isOnline()) {
+            // Cancelled, expired or already answered
+            return;
+        }
+        target.removeTpaRequest(request.getName());
+        
+        if (response == RentableBot.TpaResponse.DENY) {
+            plugin.getMessageUtil().send(requester, "tpa.denied", "bot", bot.getDisplayName(), "player", requester.getName());
+            return;
+        }
+        
+        IEssentials essentials = (IEssentials) plugin.getServer().getPluginManager().getPlugin("Essentials");
+        if (essentials == null) {
+            return;
+        }
+        IUser requesterUser = essentials.getUser(requester);
+        boolean here = request.isHere();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        future.thenAccept(teleported -> {
+            if (Boolean.TRUE.equals(teleported)) {
+                bot.onTeleportAccepted(here);
+            }
+        });
+        future.exceptionally(e -> {
+            plugin.debug(() -> "Essentials teleport for bot '" + bot.getInternalName() + "' failed: " + e.getMessage());
+            return false;
+        });
+        
+        if (here) {
+            // The bot goes to where the request was made
+            requesterUser.getAsyncTeleport().teleportPlayer(target, request.getLocation(), null, TeleportCause.COMMAND, future);
+        } else {
+            requesterUser.getAsyncTeleport().teleport(target.getBase(), null, TeleportCause.COMMAND, future);
+        }
+        plugin.getMessageUtil().send(requester, "tpa.accepted", "bot", bot.getDisplayName(), "player", requester.getName());
+    }
+}
@@ -1,6 +1,7 @@
 package com.ximpify.rentabot.hooks;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.BotPosition;
 import com.ximpify.rentabot.bot.BotStatus;
 import com.ximpify.rentabot.bot.RentableBot;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
@@ -30,6 +31,9 @@ import java.util.Collection;
  */
 public class PlaceholderAPIHook extends PlaceholderExpansion {
     
+    // Placeholders may be requested off the main thread (scoreboard and tab list plugins)
+    private static final ThreadLocal<BotPosition.Snapshot> POSITION = ThreadLocal.withInitial(BotPosition.Snapshot::new);
+    
     private final RentABot plugin;
     
     public PlaceholderAPIHook(RentABot plugin) {
@@ -170,10 +174,13 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             }
             case "created" -> bot.getCreatedAt().toString();
             case "expires" -> bot.getExpiresAt().toString();
-            case "world" -> bot.getWorld() != null ? bot.getWorld() : "Unknown";
-            case "x" -> String.valueOf((int) bot.getX());
-            case "y" -> String.valueOf((int) bot.getY());
-            case "z" -> String.valueOf((int) bot.getZ());
+            case "world" -> {
+                String world = bot.getPosition().readInto(POSITION.get()).getWorld();
+                yield world != null ? world : "Unknown";
+            }
+            case "x" -> String.valueOf((int) bot.getPosition().readInto(POSITION.get()).getX());
+            case "y" -> String.valueOf((int) bot.getPosition().readInto(POSITION.get()).getY());
+            case "z" -> String.valueOf((int) bot.getPosition().readInto(POSITION.get()).getZ());
             default -> "";
         };
     }
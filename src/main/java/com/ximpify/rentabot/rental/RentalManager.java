@@ -2,13 +2,16 @@ package com.ximpify.rentabot.rental;
 
 import com.ximpify.rentabot.RentABot;
 import com.ximpify.rentabot.bot.BotStatus;
+import com.ximpify.rentabot.bot.ConnectionAdmissionController;
 import com.ximpify.rentabot.bot.RentableBot;
+import com.ximpify.rentabot.util.LifecycleLog;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages bot rentals, expiry, and persistence.
@@ -128,33 +131,36 @@ public class RentalManager {
     
     /**
      * Stops (pauses) a rental. Time is frozen and bot can be resumed later.
+     *
+     * @return completes on the main thread
      */
-    public RentalResult stopRental(Player player, String botName, boolean isAdmin) {
+    public CompletableFuture<RentalResult> stopRental(Player player, String botName, boolean isAdmin) {
         Optional<RentableBot> optBot = plugin.getBotManager().getBot(botName);
         if (optBot.isEmpty()) {
-            return new RentalResult(false, "not-found");
+            return done(new RentalResult(false, "not-found"));
         }
         
         RentableBot bot = optBot.get();
         
         // Check if already stopped
         if (bot.getStatus() != BotStatus.ACTIVE) {
-            return new RentalResult(false, "already-stopped");
+            return done(new RentalResult(false, "already-stopped"));
         }
         
         // Check ownership (unless admin)
         if (!isAdmin && !bot.getOwnerUUID().equals(player.getUniqueId())) {
-            return new RentalResult(false, "not-owner");
+            return done(new RentalResult(false, "not-owner"));
         }
         
         // Stop the bot (time is frozen, no refund needed)
-        plugin.getBotManager().stopBot(botName);
-        
-        // Save to storage (with STOPPED status and remaining time)
-        plugin.getStorageManager().saveRental(bot);
-        
-        String timeRemaining = formatTime(bot.getRemainingSeconds());
-        return new RentalResult(true, "stopped", botName, timeRemaining);
+        return onMainThread(plugin.getBotManager().stopBot(botName).thenApply(stopped -> {
+            if (!stopped) {
+                return new RentalResult(false, "already-stopped");
+            }
+            // Save to storage (with STOPPED status and remaining time)
+            plugin.getStorageManager().saveRental(bot);
+            return new RentalResult(true, "stopped", botName, formatTime(bot.getRemainingSeconds()));
+        }));
     }
     
     /**
@@ -182,23 +188,25 @@ public class RentalManager {
     
     /**
      * Resumes a stopped bot.
+     *
+     * @return completes on the main thread
      */
-    public RentalResult resumeRental(Player player, String botName, int additionalHours) {
+    public CompletableFuture<RentalResult> resumeRental(Player player, String botName, int additionalHours) {
         Optional<RentableBot> optBot = plugin.getBotManager().getBot(botName);
         if (optBot.isEmpty()) {
-            return new RentalResult(false, "not-found");
+            return done(new RentalResult(false, "not-found"));
         }
         
         RentableBot bot = optBot.get();
         
         // Check ownership
         if (!bot.getOwnerUUID().equals(player.getUniqueId())) {
-            return new RentalResult(false, "not-owner");
+            return done(new RentalResult(false, "not-owner"));
         }
         
         // Check if can be resumed
         if (bot.getStatus() == BotStatus.ACTIVE) {
-            return new RentalResult(false, "already-active");
+            return done(new RentalResult(false, "already-active"));
         }
         
         // Check active bot limit before resuming
@@ -206,37 +214,38 @@ public class RentalManager {
             int maxActiveBots = plugin.getConfig().getInt("limits.max-active-bots", 3);
             int currentActiveBots = plugin.getBotManager().getPlayerActiveBotCount(player.getUniqueId());
             if (maxActiveBots > 0 && currentActiveBots >= maxActiveBots) {
-                return new RentalResult(false, "max-active-reached", 
-                    String.valueOf(currentActiveBots), String.valueOf(maxActiveBots));
+                return done(new RentalResult(false, "max-active-reached", 
+                    String.valueOf(currentActiveBots), String.valueOf(maxActiveBots)));
             }
         }
         
         // Check server-wide active limit
         int maxTotal = plugin.getConfig().getInt("limits.max-total-bots", 50);
         if (maxTotal > 0 && plugin.getBotManager().getTotalBotCount() >= maxTotal) {
-            return new RentalResult(false, "server-limit");
+            return done(new RentalResult(false, "server-limit"));
         }
         
         // Handle based on whether bot has time remaining
         if (bot.getStatus() == BotStatus.STOPPED && bot.hasTimeRemaining()) {
             // Resume with existing time (free)
-            if (plugin.getBotManager().resumeBot(botName)) {
+            return onMainThread(plugin.getBotManager().resumeBot(botName).thenApply(resumed -> {
+                if (!resumed) {
+                    return new RentalResult(false, "resume-failed");
+                }
                 plugin.getStorageManager().saveRental(bot);
-                String timeRemaining = formatTime(bot.getRemainingSeconds());
-                return new RentalResult(true, "resumed", botName, timeRemaining);
-            }
-            return new RentalResult(false, "resume-failed");
+                return new RentalResult(true, "resumed", botName, formatTime(bot.getRemainingSeconds()));
+            }));
         } else {
             // Expired or no time - need to pay for new hours
             if (additionalHours <= 0) {
-                return new RentalResult(false, "no-time", botName);
+                return done(new RentalResult(false, "no-time", botName));
             }
             
             // Check hours validity
             int minHours = plugin.getConfig().getInt("economy.min-hours", 1);
             int maxHours = plugin.getConfig().getInt("economy.max-hours", 168);
             if (additionalHours < minHours || additionalHours > maxHours) {
-                return new RentalResult(false, "invalid-hours", String.valueOf(minHours), String.valueOf(maxHours));
+                return done(new RentalResult(false, "invalid-hours", String.valueOf(minHours), String.valueOf(maxHours)));
             }
             
             // Check economy
@@ -246,43 +255,48 @@ public class RentalManager {
                     String balance = plugin.getEconomyHandler().formatMoney(
                         plugin.getEconomyHandler().getBalance(player));
                     String priceStr = plugin.getEconomyHandler().formatMoney(price);
-                    return new RentalResult(false, "not-enough-money", priceStr, balance);
+                    return done(new RentalResult(false, "not-enough-money", priceStr, balance));
                 }
                 plugin.getEconomyHandler().withdraw(player, price);
             }
             
             // Resume with new hours
-            if (plugin.getBotManager().resumeBotWithHours(botName, additionalHours)) {
-                plugin.getStorageManager().saveRental(bot);
-                String priceStr = plugin.isEconomyEnabled() 
-                    ? plugin.getEconomyHandler().formatMoney(calculatePrice(additionalHours))
-                    : "Free";
-                return new RentalResult(true, "resumed-paid", botName, 
-                    String.valueOf(additionalHours), priceStr);
-            }
-            
-            // Refund on failure
-            if (plugin.isEconomyEnabled()) {
-                plugin.getEconomyHandler().deposit(player, calculatePrice(additionalHours));
-            }
-            return new RentalResult(false, "resume-failed");
+            // Economy calls stay on the main thread
+            return onMainThread(plugin.getBotManager().resumeBotWithHours(botName, additionalHours)).handle((resumed, error) -> {
+                if (error == null && resumed) {
+                    plugin.getStorageManager().saveRental(bot);
+                    String priceStr = plugin.isEconomyEnabled() 
+                        ? plugin.getEconomyHandler().formatMoney(calculatePrice(additionalHours))
+                        : "Free";
+                    return new RentalResult(true, "resumed-paid", botName, 
+                        String.valueOf(additionalHours), priceStr);
+                }
+                
+                // Refund on failure
+                if (plugin.isEconomyEnabled()) {
+                    plugin.getEconomyHandler().deposit(player, calculatePrice(additionalHours));
+                }
+                return new RentalResult(false, "resume-failed");
+            });
         }
     }
     
     /**
      * Extends a rental.
+     *
+     * @return completes on the main thread
      */
-    public RentalResult extendRental(Player player, String botName, int hours) {
+    public CompletableFuture<RentalResult> extendRental(Player player, String botName, int hours) {
         Optional<RentableBot> optBot = plugin.getBotManager().getBot(botName);
         if (optBot.isEmpty()) {
-            return new RentalResult(false, "not-found");
+            return done(new RentalResult(false, "not-found"));
         }
         
         RentableBot bot = optBot.get();
         
         // Check ownership
         if (!bot.getOwnerUUID().equals(player.getUniqueId())) {
-            return new RentalResult(false, "not-owner");
+            return done(new RentalResult(false, "not-owner"));
         }
         
         // Check max duration
@@ -290,24 +304,24 @@ public class RentalManager {
         Duration currentRemaining = Duration.between(Instant.now(), bot.getExpiresAt());
         long totalHours = currentRemaining.toHours() + hours;
         if (totalHours > maxHours) {
-            return new RentalResult(false, "max-reached");
+            return done(new RentalResult(false, "max-reached"));
         }
         
         // Check economy
         if (plugin.isEconomyEnabled()) {
             double price = calculatePrice(hours);
             if (!plugin.getEconomyHandler().hasBalance(player, price)) {
-                return new RentalResult(false, "not-enough-money");
+                return done(new RentalResult(false, "not-enough-money"));
             }
             plugin.getEconomyHandler().withdraw(player, price);
         }
         
         // Extend rental
-        bot.extendRental(hours);
-        plugin.getStorageManager().saveRental(bot);
-        
-        return new RentalResult(true, "extended", String.valueOf(hours), 
-            formatTime(Duration.between(Instant.now(), bot.getExpiresAt()).toSeconds()));
+        return onMainThread(bot.extendRental(hours).thenApply(extended -> {
+            plugin.getStorageManager().saveRental(bot);
+            return new RentalResult(true, "extended", String.valueOf(hours), 
+                formatTime(Duration.between(Instant.now(), bot.getExpiresAt()).toSeconds()));
+        }));
     }
     
     /**
@@ -360,10 +374,8 @@ public class RentalManager {
         
         Instant cutoffTime = Instant.now().minusSeconds(cleanupDays * 86400L);
         
-        for (RentableBot bot : plugin.getBotManager().getAllBots()) {
-            // Only cleanup EXPIRED or STOPPED bots
-            if (!bot.getStatus().isReserved()) continue;
-            
+        // Only cleanup EXPIRED or STOPPED bots
+        for (RentableBot bot : plugin.getBotManager().getAllReservedBots()) {
             // Check if last active is before cutoff
             if (bot.getLastActiveAt() != null && bot.getLastActiveAt().isBefore(cutoffTime)) {
                 String botName = bot.getInternalName();
@@ -381,7 +393,7 @@ public class RentalManager {
                 // Delete the bot
                 plugin.getBotManager().deleteBot(botName);
                 plugin.getStorageManager().deleteRental(botName);
-                plugin.getLogger().info("Auto-cleanup: Deleted expired bot '" + botName + "'");
+                plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "auto-cleaned", "Auto-cleanup: Deleted expired bot '" + botName + "'");
             }
         }
     }
@@ -393,25 +405,28 @@ public class RentalManager {
         String botName = bot.getInternalName();
         UUID ownerUUID = bot.getOwnerUUID();
         
-        plugin.getLogger().info("Rental expired for bot: " + botName);
-        
-        // Mark bot as expired (does not delete)
-        plugin.getBotManager().expireBot(botName);
-        
-        // Save the updated status
-        plugin.getStorageManager().saveRental(bot);
-        
-        // Notify owner
-        if (plugin.getConfig().getBoolean("rentals.on-expiry.notify-owner", true)) {
-            Player owner = Bukkit.getPlayer(ownerUUID);
-            if (owner != null) {
-                plugin.getMessageUtil().send(owner, "notifications.expired", "bot", botName);
-                plugin.getMessageUtil().playSound(owner, "on-expired");
+        // Mark bot as expired (does not delete); a bot extended since the check stays active
+        plugin.getBotManager().expireBot(botName).thenAccept(expired -> {
+            if (!expired) {
+                return;
             }
-        }
-        
-        // Clear warnings for this bot
-        warningsSent.removeIf(key -> key.startsWith(botName + "-"));
+            plugin.getLifecycleLog().info(LifecycleLog.Category.EXPIRE, null, "Rental expired for bot: " + botName);
+            
+            // Save the updated status
+            plugin.getStorageManager().saveRental(bot);
+            
+            // Notify owner
+            if (plugin.getConfig().getBoolean("rentals.on-expiry.notify-owner", true)) {
+                Player owner = Bukkit.getPlayer(ownerUUID);
+                if (owner != null) {
+                    plugin.getMessageUtil().send(owner, "notifications.expired", "bot", botName);
+                    plugin.getMessageUtil().playSound(owner, "on-expired");
+                }
+            }
+            
+            // Clear warnings for this bot
+            warningsSent.removeIf(key -> key.startsWith(botName + "-"));
+        });
     }
     
     /**
@@ -451,47 +466,59 @@ public class RentalManager {
                         plugin.getBotManager().registerBotWithoutConnect(bot);
                         plugin.getStorageManager().saveRental(bot);
                         expiredCount++;
-                        plugin.getLogger().info("Bot '" + bot.getInternalName() + "' expired while offline");
+                        plugin.getLifecycleLog().info(LifecycleLog.Category.EXPIRE, "while offline", "Bot '" + bot.getInternalName() + "' expired while offline");
                     } else {
-                        // Reconnect active bot
-                        if (bot.connect()) {
-                            plugin.getBotManager().registerBot(bot);
-                            activeCount++;
-                            plugin.getLogger().info("Resumed rental: " + bot.getInternalName() + 
-                                " (owner: " + bot.getOwnerName() + ")");
-                        } else {
-                            // Failed to connect - still register but as failed
-                            plugin.getBotManager().registerBot(bot);
-                            plugin.getLogger().warning("Failed to reconnect bot: " + bot.getInternalName());
-                        }
+                        // Queue active bot - logins are staggered by the admission controller
+                        plugin.getBotManager().registerBot(bot);
+                        plugin.getBotManager().getAdmissionController()
+                            .submit(bot, ConnectionAdmissionController.Priority.STARTUP);
+                        activeCount++;
+                        plugin.getLifecycleLog().info(LifecycleLog.Category.STATE, "resumed", "Resumed rental: " + bot.getInternalName() + 
+                            " (owner: " + bot.getOwnerName() + ")");
                     }
                 }
                 case STOPPED -> {
                     // Register stopped bot without connecting
                     plugin.getBotManager().registerBotWithoutConnect(bot);
                     stoppedCount++;
-                    plugin.debug("Loaded stopped bot: " + bot.getInternalName() + 
+                    plugin.debug(() -> "Loaded stopped bot: " + bot.getInternalName() + 
                         " (" + formatTime(bot.getRemainingSeconds()) + " remaining)");
                 }
                 case EXPIRED -> {
                     // Register expired bot without connecting
                     plugin.getBotManager().registerBotWithoutConnect(bot);
                     expiredCount++;
-                    plugin.debug("Loaded expired bot: " + bot.getInternalName());
+                    plugin.debug(() -> "Loaded expired bot: " + bot.getInternalName());
                 }
             }
         }
         
         plugin.getLogger().info("Loaded rentals - Active: " + activeCount + 
             ", Stopped: " + stoppedCount + ", Expired: " + expiredCount);
+        
+        if (activeCount > 0) {
+            var admission = plugin.getBotManager().getAdmissionController();
+            plugin.getLogger().info("Connecting " + activeCount + " bot(s) at " + admission.getJoinsPerSecond() 
+                + " joins/s, up to " + admission.getMaxInFlight() + " logging in at once (ETA "
+                + formatTime(admission.getEstimatedSecondsToDrain()) + ")");
+        }
     }
     
     /**
-     * Saves all rentals to storage.
+     * Saves all rentals to storage in one batched transaction and waits for it.
      */
     public void saveRentals() {
-        for (RentableBot bot : plugin.getBotManager().getAllBots()) {
-            plugin.getStorageManager().saveRental(bot);
+        Collection<RentableBot> bots = plugin.getBotManager().getAllBots();
+        if (bots.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (plugin.getStorageManager().saveAll(bots)) {
+            long micros = Math.max(1, (System.nanoTime() - start) / 1000);
+            plugin.getLogger().info("Saved " + bots.size() + " rental(s) in " + (micros / 1000) + "ms ("
+                + (bots.size() * 1_000_000L / micros) + " rows/s)");
+        } else {
+            plugin.getLogger().warning("Saving " + bots.size() + " rental(s) did not finish in time - the rest is written on close");
         }
     }
     
@@ -555,5 +582,29 @@ public class RentalManager {
     /**
      * Result of a rental operation.
      */
+    /**
+     * An already known result (validation failures are decided on the caller's thread).
+     */
+    private static CompletableFuture<RentalResult> done(RentalResult result) {
+        return CompletableFuture.completedFuture(result);
+    }
+    
+    /**
+     * Hands a result completed on a bot's mailbox back to the main thread, where
+     * callers message the player.
+     */
+    private <T> CompletableFuture<T> onMainThread(CompletableFuture<T> pending) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.whenComplete((value, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                plugin.getLogger().warning("Rental command failed: " + error.getMessage());
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }));
+        return result;
+    }
+    
     public record RentalResult(boolean success, String messageKey, String... args) {}
 }
@@ -0,0 +1,82 @@
+package com.ximpify.rentabot.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest pending operation for each rental row, merged as requests arrive so a
+ * row is written at most once per flush. Rows are keyed by lower-cased bot name.
+ * Thread-safe.
+ *
+ * @param <T> what a save writes; it is read when written, not when queued
+ */
+final class PendingWrites<T> {
+    
+    /**
+     * What to do with a row. REPLACE is a delete followed by a save, so a bot
+     * recreated under a deleted name never inherits the old row.
+     */
+    enum Op { SAVE, DELETE, REPLACE }
+    
+    /**
+     * One queued row. {@code bot} is null for deletes. For REPLACE, {@code botName}
+     * is the name of the row to delete. {@code queuedNanos} is when the oldest
+     * request merged into it was made.
+     */
+    record Pending<T>(Op op, String botName, T bot, long queuedNanos) {}
+    
+    private final Map<String, Pending<T>> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * Queues a save; after a pending delete it becomes a replace.
+     */
+    void save(String botName, T bot, long now) {
+        pending.merge(botName.toLowerCase(), new Pending<>(Op.SAVE, botName, bot, now), (old, update) -> switch (old.op()) {
+            case SAVE -> new Pending<>(Op.SAVE, update.botName(), bot, old.queuedNanos());
+            case DELETE, REPLACE -> new Pending<>(Op.REPLACE, old.botName(), bot, old.queuedNanos());
+        });
+    }
+    
+    /**
+     * Queues a delete, replacing any save still waiting for the row.
+     */
+    void delete(String botName, long now) {
+        pending.merge(botName.toLowerCase(), new Pending<>(Op.DELETE, botName, null, now),
+            (old, update) -> new Pending<>(Op.DELETE, botName, null, old.queuedNanos()));
+    }
+    
+    /**
+     * Removes and returns every queued row. Rows queued meanwhile either make it
+     * into the result or stay queued; none are lost.
+     */
+    List<Pending<T>> takeAll() {
+        List<Pending<T>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Pending<T>> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+    
+    /**
+     * Puts back a row whose write failed. Anything queued for the row since wins,
+     * but a save queued after a failed delete must still delete first.
+     */
+    void requeue(Pending<T> row) {
+        pending.merge(row.botName().toLowerCase(), row, (newer, failed) ->
+            failed.op() == Op.SAVE || newer.op() == Op.DELETE
+                ? newer
+                : new Pending<>(Op.REPLACE, failed.botName(), newer.bot(), failed.queuedNanos()));
+    }
+    
+    int size() {
+        return pending.size();
+    }
+    
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+}
@@ -0,0 +1,124 @@
+package com.ximpify.rentabot.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Deletes and saves many rows in one transaction: all deletes first, then the
+ * saves grouped by dirty mask, each group through a single prepared statement
+ * executed in batches. Rolls back everything if any row fails and hands the
+ * rows their dirty masks back, so the next write covers them again.
+ *
+ * @param <T> the row type
+ */
+final class RentalBatchWriter<T> {
+    
+    // Rows per executeBatch() call
+    static final int BATCH_CHUNK = 500;
+    
+    /**
+     * How rows are read and bound.
+     */
+    interface Rows<T> {
+        
+        /**
+         * Takes the row's dirty mask and clears it; 0 when nothing changed.
+         */
+        int takeDirty(T row);
+        
+        /**
+         * Gives back a mask taken by a write that was rolled back.
+         */
+        void restoreDirty(T row, int mask);
+        
+        /**
+         * Binds every parameter of the upsert.
+         */
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+    
+    private final Rows<T> rows;
+    // Upsert for a non-zero dirty mask
+    private final IntFunction<String> upsertSql;
+    // Delete by bot name
+    private final String deleteSql;
+    
+    RentalBatchWriter(Rows<T> rows, IntFunction<String> upsertSql, String deleteSql) {
+        this.rows = rows;
+        this.upsertSql = upsertSql;
+        this.deleteSql = deleteSql;
+    }
+    
+    /**
+     * Writes the deletes and the dirty saves on the given connection. Saves with
+     * nothing dirty are skipped. The connection's auto-commit setting is restored.
+     */
+    void write(Connection conn, Collection<String> deletes, Collection<T> saves) throws SQLException {
+        Map<Integer, List<T>> byMask = new HashMap<>();
+        for (T row : saves) {
+            int mask = rows.takeDirty(row);
+            if (mask != 0) {
+                byMask.computeIfAbsent(mask, k -> new ArrayList<>()).add(row);
+            }
+        }
+        
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (!deletes.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                    int queued = 0;
+                    for (String botName : deletes) {
+                        stmt.setString(1, botName);
+                        stmt.addBatch();
+                        if (++queued % BATCH_CHUNK == 0) {
+                            stmt.executeBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            // One statement per distinct dirty mask
+            for (Map.Entry<Integer, List<T>> group : byMask.entrySet()) {
+                try (PreparedStatement stmt = conn.prepareStatement(upsertSql.apply(group.getKey()))) {
+                    int queued = 0;
+                    for (T row : group.getValue()) {
+                        rows.bind(stmt, row);
+                        stmt.addBatch();
+                        if (++queued % BATCH_CHUNK == 0) {
+                            stmt.executeBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            // Nothing was committed - the next save must write these columns again
+            for (Map.Entry<Integer, List<T>> group : byMask.entrySet()) {
+                for (T row : group.getValue()) {
+                    rows.restoreDirty(row, group.getKey());
+                }
+            }
+            try {
+                conn.rollback();
+            } catch (SQLException ignored) {
+                // Connection is gone - nothing was committed
+            }
+            throw e;
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (SQLException ignored) {
+                // Pool will discard a broken connection
+            }
+        }
+    }
+}
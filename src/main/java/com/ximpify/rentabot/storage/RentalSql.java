@@ -0,0 +1,69 @@
+package com.ximpify.rentabot.storage;
+
+import com.ximpify.rentabot.bot.ColumnGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL for writing rental rows, built once per table prefix and dialect.
+ */
+final class RentalSql {
+    
+    // Columns written for a new row, in StorageManager.bindRental order
+    static final List<String> INSERT_COLUMNS = List.of(
+        "bot_name", "display_name", "owner_uuid", "owner_name", "status", "remaining_seconds", "last_active",
+        "created_at", "expires_at", "world", "x", "y", "z", "yaw", "pitch",
+        "spawn_world", "spawn_x", "spawn_y", "spawn_z", "spawn_yaw", "spawn_pitch");
+    
+    // Columns updated on an existing row when their group is dirty
+    static final Map<ColumnGroup, List<String>> GROUP_COLUMNS = new EnumMap<>(Map.of(
+        ColumnGroup.IDENTITY, List.of("display_name", "owner_uuid", "owner_name", "created_at"),
+        ColumnGroup.LIFECYCLE, List.of("status", "remaining_seconds", "last_active", "expires_at"),
+        ColumnGroup.POSITION, List.of("world", "x", "y", "z", "yaw", "pitch"),
+        ColumnGroup.SPAWN, List.of("spawn_world", "spawn_x", "spawn_y", "spawn_z", "spawn_yaw", "spawn_pitch")));
+    
+    // Upsert per dirty mask, indexed by ColumnGroup bits
+    private final String[] upserts = new String[ColumnGroup.ALL + 1];
+    private final String delete;
+    
+    RentalSql(String tablePrefix, boolean mysql) {
+        String table = tablePrefix + "rentals";
+        String placeholders = String.join(", ", Collections.nCopies(INSERT_COLUMNS.size(), "?"));
+        for (int mask = 1; mask <= ColumnGroup.ALL; mask++) {
+            List<String> assignments = new ArrayList<>();
+            for (ColumnGroup group : ColumnGroup.values()) {
+                if (group.in(mask)) {
+                    for (String column : GROUP_COLUMNS.get(group)) {
+                        assignments.add(mysql
+                            ? column + " = VALUES(" + column + ")"
+                            : column + " = excluded." + column);
+                    }
+                }
+            }
+            // New rows get every column; existing rows only the dirty groups
+            upserts[mask] = "INSERT INTO " + table + " (" + String.join(", ", INSERT_COLUMNS) + ") VALUES ("
+                + placeholders + ")"
+                + (mysql ? " ON DUPLICATE KEY UPDATE " : " ON CONFLICT(bot_name) DO UPDATE SET ")
+                + String.join(", ", assignments);
+        }
+        this.delete = "DELETE FROM " + table + " WHERE bot_name = ?";
+    }
+    
+    /**
+     * Gets the upsert that writes the groups in a non-zero dirty mask.
+     */
+    String upsert(int mask) {
+        return upserts[mask];
+    }
+    
+    /**
+     * Gets the delete by bot name.
+     */
+    String delete() {
+        return delete;
+    }
+}
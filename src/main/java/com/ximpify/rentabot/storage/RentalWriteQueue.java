@@ -0,0 +1,323 @@
+package com.ximpify.rentabot.storage;
+
+import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.RentableBot;
+import com.ximpify.rentabot.storage.PendingWrites.Op;
+import com.ximpify.rentabot.storage.PendingWrites.Pending;
+import com.ximpify.rentabot.util.RentABotSettings;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for rental rows. Callers only record that a bot needs saving
+ * (or a row deleting); one background thread writes the latest state of every
+ * queued bot on an interval, or sooner once enough bots are waiting. Saving the
+ * same bot several times between flushes costs a single write, and each flush is
+ * one batched transaction.
+ */
+public class RentalWriteQueue {
+    
+    private final RentABot plugin;
+    private final StorageManager storage;
+    // Latest pending operation for each row
+    private final PendingWrites<RentableBot> pending = new PendingWrites<>();
+    private final Object signal = new Object();
+    
+    // Incremented after every enqueue; the writer publishes how far it has written
+    private final AtomicLong enqueued = new AtomicLong();
+    private volatile long written;
+    private volatile boolean flushRequested;
+    
+    private final long intervalMillis;
+    private final int batchSize;
+    private Thread worker;
+    private volatile boolean running;
+    
+    // Statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastFlushMillis = -1;
+    private volatile long lastDelayMillis = -1;
+    private volatile long maxDelayMillis;
+    
+    RentalWriteQueue(RentABot plugin, StorageManager storage) {
+        this.plugin = plugin;
+        this.storage = storage;
+        RentABotSettings.WriteBehind settings = plugin.getSettings().writeBehind();
+        this.intervalMillis = settings.flushIntervalMillis();
+        this.batchSize = settings.batchSize();
+    }
+    
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "RentABot-Storage");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Queues a save of the bot's current state.
+     */
+    void save(RentableBot bot) {
+        pending.save(bot.getInternalName(), bot, System.nanoTime());
+        enqueued();
+    }
+    
+    /**
+     * Queues a delete of a row, replacing any save still waiting for it.
+     */
+    void delete(String botName) {
+        pending.delete(botName, System.nanoTime());
+        enqueued();
+    }
+    
+    private void enqueued() {
+        // Counted only once the entry is in the map, so a flush waiting for this
+        // number is guaranteed to see it
+        enqueued.incrementAndGet();
+        requests.incrementAndGet();
+        if (pending.size() >= batchSize) {
+            wake();
+        }
+    }
+    
+    /**
+     * Blocks until everything queued before this call has been written (or the
+     * timeout passes).
+     *
+     * @return true if the queue caught up in time
+     */
+    boolean flush(long timeoutMillis) {
+        long target = enqueued.get();
+        if (written >= target) {
+            return true;
+        }
+        if (!running || Thread.currentThread() == worker) {
+            // No writer to wait for - write on this thread
+            drain(target);
+            return written >= target;
+        }
+        flushRequested = true;
+        wake();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (signal) {
+            while (written < target) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    return false;
+                }
+                try {
+                    signal.wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Stops the writer after it has written everything still queued.
+     */
+    void shutdown(long timeoutMillis) {
+        running = false;
+        wake();
+        if (worker != null) {
+            try {
+                worker.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                plugin.getLogger().warning("Storage writer did not finish within " + timeoutMillis + "ms");
+            }
+            worker = null;
+        }
+        if (!pending.isEmpty()) {
+            // Writer is gone or stuck - last attempt on the calling thread
+            drain(enqueued.get());
+        }
+        if (!pending.isEmpty()) {
+            plugin.getLogger().warning(pending.size() + " rental(s) could not be saved before shutdown");
+        }
+    }
+    
+    private void wake() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+    
+    private void run() {
+        boolean backOff = false;
+        while (running) {
+            synchronized (signal) {
+                if (running && (backOff || (!flushRequested && pending.size() < batchSize))) {
+                    try {
+                        signal.wait(intervalMillis);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                flushRequested = false;
+            }
+            try {
+                // Wait a full interval after a failed attempt instead of retrying in a loop
+                backOff = !drain(enqueued.get());
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Storage writer error: " + e.getMessage());
+            }
+        }
+        drain(enqueued.get());
+    }
+    
+    /**
+     * Writes every queued row. {@code upTo} is read before the map is walked, so
+     * every request counted in it is already in the map.
+     *
+     * @return false if the database could not be reached and the rows were requeued
+     */
+    private synchronized boolean drain(long upTo) {
+        if (pending.isEmpty()) {
+            publishWritten(upTo);
+            return true;
+        }
+        
+        List<Pending<RentableBot>> batch = pending.takeAll();
+        if (batch.isEmpty()) {
+            publishWritten(upTo);
+            return true;
+        }
+        
+        List<String> deletes = new ArrayList<>();
+        List<RentableBot> saves = new ArrayList<>();
+        for (Pending<RentableBot> row : batch) {
+            if (row.op() != Op.SAVE) {
+                deletes.add(row.botName());
+            }
+            if (row.op() == Op.REPLACE) {
+                // Row is deleted first, so the insert needs every column
+                row.bot().markAllDirty();
+            }
+            if (row.op() != Op.DELETE) {
+                saves.add(row.bot());
+            }
+        }
+        
+        long start = System.nanoTime();
+        try (Connection conn = storage.getConnection()) {
+            try {
+                storage.writeRentals(conn, deletes, saves);
+                rowsWritten.addAndGet(batch.size());
+            } catch (SQLException e) {
+                if (!conn.isValid(2)) {
+                    throw e;
+                }
+                // One bad row rolled back the transaction - write rows one by one to isolate it
+                plugin.getLogger().warning("Batched write of " + batch.size() + " rental(s) failed, retrying one by one: " + e.getMessage());
+                writeEach(conn, batch);
+            }
+        } catch (SQLException e) {
+            // No connection - put everything back for the next attempt
+            failures.incrementAndGet();
+            plugin.getLogger().warning("Failed to write " + batch.size() + " rental(s), will retry: " + e.getMessage());
+            for (Pending<RentableBot> row : batch) {
+                pending.requeue(row);
+            }
+            return false;
+        }
+        
+        long now = System.nanoTime();
+        long oldest = now;
+        for (Pending<RentableBot> row : batch) {
+            oldest = Math.min(oldest, row.queuedNanos());
+        }
+        long delay = TimeUnit.NANOSECONDS.toMillis(now - oldest);
+        lastDelayMillis = delay;
+        maxDelayMillis = Math.max(maxDelayMillis, delay);
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(now - start);
+        flushes.incrementAndGet();
+        plugin.debug(() -> "Flushed " + batch.size() + " rental row(s) in " + lastFlushMillis + "ms");
+        publishWritten(upTo);
+        return true;
+    }
+    
+    private void writeEach(Connection conn, List<Pending<RentableBot>> batch) {
+        for (Pending<RentableBot> row : batch) {
+            try {
+                switch (row.op()) {
+                    case SAVE -> storage.writeRental(conn, row.bot());
+                    case DELETE -> storage.removeRental(conn, row.botName());
+                    case REPLACE -> {
+                        storage.removeRental(conn, row.botName());
+                        storage.writeRental(conn, row.bot());
+                    }
+                }
+                rowsWritten.incrementAndGet();
+            } catch (SQLException e) {
+                // Bad row - drop it rather than retrying forever
+                failures.incrementAndGet();
+                plugin.getLogger().warning("Failed to " + (row.op() == Op.DELETE ? "delete" : "save")
+                    + " rental '" + row.botName() + "': " + e.getMessage());
+            }
+        }
+    }
+    
+    private void publishWritten(long upTo) {
+        if (upTo > written) {
+            written = upTo;
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+    
+    /**
+     * Rows waiting to be written.
+     */
+    public int getDepth() {
+        return pending.size();
+    }
+    
+    public long getRequests() {
+        return requests.get();
+    }
+    
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    public long getFlushes() {
+        return flushes.get();
+    }
+    
+    public long getFailures() {
+        return failures.get();
+    }
+    
+    /**
+     * Duration of the last flush, or -1 if none yet.
+     */
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+    
+    /**
+     * Time the oldest row of the last flush spent queued, or -1 if none yet.
+     */
+    public long getLastDelayMillis() {
+        return lastDelayMillis;
+    }
+    
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+}
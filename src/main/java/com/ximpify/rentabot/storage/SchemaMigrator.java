@@ -0,0 +1,208 @@
+package com.ximpify.rentabot.storage;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Brings the database schema up to date. The applied version is stored in a
+ * {@code schema_version} table, and only migrations newer than it are run, each
+ * in its own transaction together with the version bump. On an up-to-date
+ * database this costs a single version read.
+ * <p>
+ * New schema changes (columns, indexes, tables) are added to the end of
+ * {@link #migrations}; released versions must never be edited or reordered.
+ */
+class SchemaMigrator {
+    
+    /**
+     * One schema change, applied on the connection it is given.
+     */
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+    
+    record Migration(int version, String description, Step step) {}
+    
+    private final Logger logger;
+    private final String tablePrefix;
+    private final boolean mysql;
+    private final List<Migration> migrations;
+    
+    SchemaMigrator(Logger logger, String tablePrefix, boolean mysql) {
+        this.logger = logger;
+        this.tablePrefix = tablePrefix;
+        this.mysql = mysql;
+        this.migrations = List.of(
+            new Migration(1, "create rentals table", this::createRentals),
+            new Migration(2, "add spawn point and lifecycle columns", this::addLegacyColumns)
+        );
+    }
+    
+    /**
+     * Runs every pending migration.
+     *
+     * @throws SQLException if a migration fails; migrations before it stay applied
+     */
+    void migrate(Connection conn) throws SQLException {
+        int current = readVersion(conn);
+        int latest = migrations.get(migrations.size() - 1).version();
+        if (current >= latest) {
+            if (current > latest) {
+                logger.warning("Database schema version " + current + " is newer than this plugin supports (" + latest + ")");
+            }
+            return;
+        }
+        
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration migration : migrations) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                try {
+                    migration.step().apply(conn);
+                    writeVersion(conn, migration.version());
+                    // MySQL commits DDL implicitly; recording the version right after
+                    // each step means an interrupted run resumes at the next one
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration " + migration.version() + " (" + migration.description() + ") failed: " + e.getMessage(), e);
+                }
+                current = migration.version();
+                logger.info("Applied schema migration " + migration.version() + ": " + migration.description());
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Reads the applied version, creating the version table (at version 0) the
+     * first time. A database from before versioning starts at 0 as well; its
+     * migrations are written to skip what already exists.
+     */
+    private int readVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM " + versionTable())) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (tableExists(conn, versionTable())) {
+                throw e;
+            }
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + versionTable() + " (version INTEGER NOT NULL)");
+            stmt.execute("INSERT INTO " + versionTable() + " (version) VALUES (0)");
+        }
+        return 0;
+    }
+    
+    private void writeVersion(Connection conn, int version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE " + versionTable() + " SET version = ?")) {
+            stmt.setInt(1, version);
+            stmt.executeUpdate();
+        }
+    }
+    
+    private String versionTable() {
+        return tablePrefix + "schema_version";
+    }
+    
+    private String rentalsTable() {
+        return tablePrefix + "rentals";
+    }
+    
+    // ==================== Migrations ====================
+    
+    private void createRentals(Connection conn) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS %s (
+                id INTEGER PRIMARY KEY %s,
+                bot_name VARCHAR(64) NOT NULL UNIQUE,
+                display_name VARCHAR(64) NOT NULL,
+                owner_uuid VARCHAR(36) NOT NULL,
+                owner_name VARCHAR(16) NOT NULL,
+                status VARCHAR(16) DEFAULT 'ACTIVE',
+                remaining_seconds BIGINT DEFAULT 0,
+                last_active BIGINT,
+                created_at BIGINT NOT NULL,
+                expires_at BIGINT NOT NULL,
+                world VARCHAR(64),
+                x DOUBLE DEFAULT 0,
+                y DOUBLE DEFAULT 0,
+                z DOUBLE DEFAULT 0,
+                yaw FLOAT DEFAULT 0,
+                pitch FLOAT DEFAULT 0,
+                spawn_world VARCHAR(64),
+                spawn_x DOUBLE DEFAULT 0,
+                spawn_y DOUBLE DEFAULT 0,
+                spawn_z DOUBLE DEFAULT 0,
+                spawn_yaw FLOAT DEFAULT 0,
+                spawn_pitch FLOAT DEFAULT 0
+            )
+            """.formatted(rentalsTable(), mysql ? "AUTO_INCREMENT" : "AUTOINCREMENT");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
+    /**
+     * Tables created by older releases lack the spawn point and lifecycle columns. New
+     * tables already have them, so only the missing ones are added.
+     */
+    private void addLegacyColumns(Connection conn) throws SQLException {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("spawn_world", "VARCHAR(64)");
+        columns.put("spawn_x", "DOUBLE DEFAULT 0");
+        columns.put("spawn_y", "DOUBLE DEFAULT 0");
+        columns.put("spawn_z", "DOUBLE DEFAULT 0");
+        columns.put("spawn_yaw", "FLOAT DEFAULT 0");
+        columns.put("spawn_pitch", "FLOAT DEFAULT 0");
+        columns.put("status", "VARCHAR(16) DEFAULT 'ACTIVE'");
+        columns.put("remaining_seconds", "BIGINT DEFAULT 0");
+        columns.put("last_active", "BIGINT");
+        
+        Set<String> existing = columnNames(conn, rentalsTable());
+        try (Statement stmt = conn.createStatement()) {
+            for (Map.Entry<String, String> column : columns.entrySet()) {
+                if (!existing.contains(column.getKey())) {
+                    stmt.execute("ALTER TABLE " + rentalsTable() + " ADD COLUMN " + column.getKey() + " " + column.getValue());
+                }
+            }
+        }
+    }
+    
+    // ==================== Metadata ====================
+    
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getTables(conn.getCatalog(), null, table, new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+    
+    private static Set<String> columnNames(Connection conn, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                names.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+}
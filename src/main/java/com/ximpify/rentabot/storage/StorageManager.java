@@ -1,6 +1,8 @@
 package com.ximpify.rentabot.storage;
 
 import com.ximpify.rentabot.RentABot;
+import com.ximpify.rentabot.bot.BotLifecycle;
+import com.ximpify.rentabot.bot.BotPosition;
 import com.ximpify.rentabot.bot.RentableBot;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -9,6 +11,7 @@ import java.io.File;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,9 +21,23 @@ import java.util.UUID;
  */
 public class StorageManager {
     
+    // sqlite-jdbc open_mode flag for read-only connections
+    private static final int SQLITE_OPEN_READONLY = 0x01;
+    
     private final RentABot plugin;
+    // All writes go through this pool (one connection for SQLite)
     private HikariDataSource dataSource;
+    // Read-only SQLite connections for queries, null when reads share the writer
+    private HikariDataSource readSource;
     private String tablePrefix;
+    // Upserts and delete for the rentals table
+    private RentalSql rentalSql;
+    // Writes a flush's rows in one transaction
+    private RentalBatchWriter<RentableBot> batchWriter;
+    // Saves and deletes are queued and written by a background thread
+    private RentalWriteQueue writeQueue;
+    // Reused by bindRental; the write queue runs one drain at a time
+    private final BotPosition.Snapshot position = new BotPosition.Snapshot();
     
     public StorageManager(RentABot plugin) {
         this.plugin = plugin;
@@ -40,7 +57,26 @@ public class StorageManager {
                 initializeSQLite();
             }
             
-            createTables();
+            createTables(type.equals("mysql"));
+            this.rentalSql = new RentalSql(tablePrefix, type.equals("mysql"));
+            this.batchWriter = new RentalBatchWriter<>(new RentalBatchWriter.Rows<>() {
+                @Override
+                public int takeDirty(RentableBot bot) {
+                    return bot.takeDirty();
+                }
+                
+                @Override
+                public void restoreDirty(RentableBot bot, int mask) {
+                    bot.restoreDirty(mask);
+                }
+                
+                @Override
+                public void bind(PreparedStatement stmt, RentableBot bot) throws SQLException {
+                    bindRental(stmt, bot);
+                }
+            }, rentalSql::upsert, rentalSql.delete());
+            this.writeQueue = new RentalWriteQueue(plugin, this);
+            writeQueue.start();
             plugin.getLogger().info("Database initialized successfully (" + type + ")");
             return true;
             
@@ -55,15 +91,44 @@ public class StorageManager {
         String fileName = plugin.getConfig().getString("storage.sqlite.file", "rentals.db");
         File dbFile = new File(plugin.getDataFolder(), fileName);
         
+        // SQLite allows one writer at a time, so writes share a single connection
+        HikariConfig config = sqliteConfig(dbFile, "RentABot-SQLite");
+        // The journal mode is stored in the file, so only the writer sets it
+        boolean wal = plugin.getConfig().getBoolean("storage.sqlite.wal", true);
+        config.addDataSourceProperty("journal_mode", wal ? "WAL" : "DELETE");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        dataSource = new HikariDataSource(config);
+        
+        // With WAL, readers see the last commit without waiting for the writer
+        int readPoolSize = plugin.getConfig().getInt("storage.sqlite.read-pool-size", 2);
+        if (readPoolSize > 0) {
+            HikariConfig readConfig = sqliteConfig(dbFile, "RentABot-SQLite-Read");
+            readConfig.addDataSourceProperty("open_mode", String.valueOf(SQLITE_OPEN_READONLY));
+            readConfig.setMaximumPoolSize(readPoolSize);
+            readConfig.setMinimumIdle(1);
+            readSource = new HikariDataSource(readConfig);
+        }
+    }
+    
+    private HikariConfig sqliteConfig(File dbFile, String poolName) {
         HikariConfig config = new HikariConfig();
-        config.setPoolName("RentABot-SQLite");
+        config.setPoolName(poolName);
         config.setDriverClassName("org.sqlite.JDBC");
         config.setJdbcUrl("jdbc:sqlite:" + dbFile.getAbsolutePath());
-        config.setMaximumPoolSize(1); // SQLite doesn't support multiple connections well
-        config.setMinimumIdle(1);
         config.setConnectionTimeout(30000);
         
-        dataSource = new HikariDataSource(config);
+        // Applied by the driver to every new connection
+        config.addDataSourceProperty("synchronous",
+            plugin.getConfig().getString("storage.sqlite.synchronous", "NORMAL").toUpperCase());
+        // Negative cache_size is in KiB rather than pages
+        config.addDataSourceProperty("cache_size",
+            String.valueOf(-Math.max(1, plugin.getConfig().getInt("storage.sqlite.cache-size-kb", 8192))));
+        config.addDataSourceProperty("mmap_size",
+            String.valueOf(Math.max(0L, plugin.getConfig().getLong("storage.sqlite.mmap-size-mb", 64)) * 1024 * 1024));
+        config.addDataSourceProperty("busy_timeout",
+            String.valueOf(Math.max(0, plugin.getConfig().getInt("storage.sqlite.busy-timeout", 5000))));
+        return config;
     }
     
     private void initializeMySQL() {
@@ -77,7 +142,7 @@ public class StorageManager {
         config.setPoolName("RentABot-MySQL");
         config.setDriverClassName("com.mysql.cj.jdbc.Driver");
         config.setJdbcUrl("jdbc:mysql://" + host + ":" + port + "/" + database + 
-            "?useSSL=false&allowPublicKeyRetrieval=true&autoReconnect=true");
+            "?useSSL=false&allowPublicKeyRetrieval=true&autoReconnect=true&rewriteBatchedStatements=true");
         config.setUsername(username);
         config.setPassword(password);
         
@@ -92,146 +157,133 @@ public class StorageManager {
         dataSource = new HikariDataSource(config);
     }
     
-    private void createTables() throws SQLException {
-        String createRentalsTable = """
-            CREATE TABLE IF NOT EXISTS %srentals (
-                id INTEGER PRIMARY KEY %s,
-                bot_name VARCHAR(64) NOT NULL UNIQUE,
-                display_name VARCHAR(64) NOT NULL,
-                owner_uuid VARCHAR(36) NOT NULL,
-                owner_name VARCHAR(16) NOT NULL,
-                status VARCHAR(16) DEFAULT 'ACTIVE',
-                remaining_seconds BIGINT DEFAULT 0,
-                last_active BIGINT,
-                created_at BIGINT NOT NULL,
-                expires_at BIGINT NOT NULL,
-                world VARCHAR(64),
-                x DOUBLE DEFAULT 0,
-                y DOUBLE DEFAULT 0,
-                z DOUBLE DEFAULT 0,
-                yaw FLOAT DEFAULT 0,
-                pitch FLOAT DEFAULT 0,
-                spawn_world VARCHAR(64),
-                spawn_x DOUBLE DEFAULT 0,
-                spawn_y DOUBLE DEFAULT 0,
-                spawn_z DOUBLE DEFAULT 0,
-                spawn_yaw FLOAT DEFAULT 0,
-                spawn_pitch FLOAT DEFAULT 0
-            )
-            """.formatted(tablePrefix, 
-                plugin.getConfig().getString("storage.type", "sqlite").equalsIgnoreCase("mysql") 
-                    ? "AUTO_INCREMENT" : "AUTOINCREMENT");
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(createRentalsTable);
-            
-            // Try to add columns if they don't exist (for existing databases)
-            tryAddColumn(stmt, "spawn_world", "VARCHAR(64)");
-            tryAddColumn(stmt, "spawn_x", "DOUBLE DEFAULT 0");
-            tryAddColumn(stmt, "spawn_y", "DOUBLE DEFAULT 0");
-            tryAddColumn(stmt, "spawn_z", "DOUBLE DEFAULT 0");
-            tryAddColumn(stmt, "spawn_yaw", "FLOAT DEFAULT 0");
-            tryAddColumn(stmt, "spawn_pitch", "FLOAT DEFAULT 0");
-            // New columns for bot lifecycle
-            tryAddColumn(stmt, "status", "VARCHAR(16) DEFAULT 'ACTIVE'");
-            tryAddColumn(stmt, "remaining_seconds", "BIGINT DEFAULT 0");
-            tryAddColumn(stmt, "last_active", "BIGINT");
+    /**
+     * Creates or upgrades the tables to the current schema version.
+     */
+    private void createTables(boolean mysql) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            new SchemaMigrator(plugin.getLogger(), tablePrefix, mysql).migrate(conn);
         }
     }
     
     /**
-     * Helper method to add a column if it doesn't exist.
+     * Queues a rental to be saved. Returns immediately; the row is written by the
+     * storage thread with the bot's state at that time.
      */
-    private void tryAddColumn(Statement stmt, String columnName, String columnDef) {
-        try {
-            stmt.execute("ALTER TABLE " + tablePrefix + "rentals ADD COLUMN " + columnName + " " + columnDef);
-        } catch (SQLException ignored) {
-            // Column already exists
+    public void saveRental(RentableBot bot) {
+        writeQueue.save(bot);
+    }
+    
+    /**
+     * Queues a rental to be deleted from the database.
+     */
+    public void deleteRental(String botName) {
+        writeQueue.delete(botName);
+    }
+    
+    /**
+     * Queues every given rental and waits until they are written. The write queue
+     * writes them as one batched transaction.
+     *
+     * @return false if the queue did not catch up within the timeout
+     */
+    public boolean saveAll(Collection<RentableBot> bots) {
+        for (RentableBot bot : bots) {
+            writeQueue.save(bot);
         }
+        return flush();
     }
     
     /**
-     * Saves a rental to the database.
+     * Blocks until every save and delete queued so far is written.
+     *
+     * @return false if the queue did not catch up within the timeout
      */
-    public void saveRental(RentableBot bot) {
-        String sql = """
-            INSERT OR REPLACE INTO %srentals 
-            (bot_name, display_name, owner_uuid, owner_name, status, remaining_seconds, last_active,
-             created_at, expires_at, world, x, y, z, yaw, pitch,
-             spawn_world, spawn_x, spawn_y, spawn_z, spawn_yaw, spawn_pitch)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """.formatted(tablePrefix);
-        
-        // MySQL uses different syntax
-        if (plugin.getConfig().getString("storage.type", "sqlite").equalsIgnoreCase("mysql")) {
-            sql = """
-                INSERT INTO %srentals 
-                (bot_name, display_name, owner_uuid, owner_name, status, remaining_seconds, last_active,
-                 created_at, expires_at, world, x, y, z, yaw, pitch,
-                 spawn_world, spawn_x, spawn_y, spawn_z, spawn_yaw, spawn_pitch)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON DUPLICATE KEY UPDATE
-                status = VALUES(status),
-                remaining_seconds = VALUES(remaining_seconds),
-                last_active = VALUES(last_active),
-                expires_at = VALUES(expires_at),
-                world = VALUES(world),
-                x = VALUES(x),
-                y = VALUES(y),
-                z = VALUES(z),
-                yaw = VALUES(yaw),
-                pitch = VALUES(pitch),
-                spawn_world = VALUES(spawn_world),
-                spawn_x = VALUES(spawn_x),
-                spawn_y = VALUES(spawn_y),
-                spawn_z = VALUES(spawn_z),
-                spawn_yaw = VALUES(spawn_yaw),
-                spawn_pitch = VALUES(spawn_pitch)
-                """.formatted(tablePrefix);
+    public boolean flush() {
+        return writeQueue.flush(10000);
+    }
+    
+    /**
+     * Gets the write-behind queue (for statistics).
+     */
+    public RentalWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+    
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+    
+    /**
+     * Gets a connection for queries: a read-only one when a read pool exists.
+     */
+    private Connection getReadConnection() throws SQLException {
+        return readSource != null ? readSource.getConnection() : dataSource.getConnection();
+    }
+    
+    /**
+     * Writes one rental row on the given connection (called by the write queue).
+     */
+    void writeRental(Connection conn, RentableBot bot) throws SQLException {
+        int mask = bot.takeDirty();
+        if (mask == 0) {
+            // Nothing changed since the last save
+            return;
         }
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, bot.getInternalName());
-            stmt.setString(2, bot.getDisplayName());
-            stmt.setString(3, bot.getOwnerUUID().toString());
-            stmt.setString(4, bot.getOwnerName());
-            stmt.setString(5, bot.getStatus().name());
-            stmt.setLong(6, bot.getRemainingSeconds());
-            stmt.setLong(7, bot.getLastActiveAt() != null ? bot.getLastActiveAt().toEpochMilli() : System.currentTimeMillis());
-            stmt.setLong(8, bot.getCreatedAt().toEpochMilli());
-            stmt.setLong(9, bot.getExpiresAt().toEpochMilli());
-            stmt.setString(10, bot.getWorld());
-            stmt.setDouble(11, bot.getX());
-            stmt.setDouble(12, bot.getY());
-            stmt.setDouble(13, bot.getZ());
-            stmt.setFloat(14, bot.getYaw());
-            stmt.setFloat(15, bot.getPitch());
-            
-            // Spawn point data
-            if (bot.hasSpawnPoint()) {
-                stmt.setString(16, bot.getSavedWorld());
-                stmt.setDouble(17, bot.getSavedX());
-                stmt.setDouble(18, bot.getSavedY());
-                stmt.setDouble(19, bot.getSavedZ());
-                stmt.setFloat(20, bot.getSavedYaw());
-                stmt.setFloat(21, bot.getSavedPitch());
-            } else {
-                stmt.setNull(16, java.sql.Types.VARCHAR);
-                stmt.setDouble(17, 0);
-                stmt.setDouble(18, 0);
-                stmt.setDouble(19, 0);
-                stmt.setFloat(20, 0);
-                stmt.setFloat(21, 0);
-            }
-            
+        try (PreparedStatement stmt = conn.prepareStatement(rentalSql.upsert(mask))) {
+            bindRental(stmt, bot);
             stmt.executeUpdate();
-            plugin.debug("Saved rental: " + bot.getInternalName() + " (status: " + bot.getStatus() + ")");
-            
+            plugin.debug(() -> "Saved rental: " + bot.getInternalName() + " (status: " + bot.getStatus() + ")");
         } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to save rental: " + e.getMessage());
+            bot.restoreDirty(mask);
+            throw e;
+        }
+    }
+    
+    /**
+     * Deletes and saves many rows in one transaction (called by the write queue).
+     * Rolls back everything if any row fails.
+     */
+    void writeRentals(Connection conn, Collection<String> deletes, Collection<RentableBot> saves) throws SQLException {
+        batchWriter.write(conn, deletes, saves);
+    }
+    
+    private void bindRental(PreparedStatement stmt, RentableBot bot) throws SQLException {
+        stmt.setString(1, bot.getInternalName());
+        stmt.setString(2, bot.getDisplayName());
+        stmt.setString(3, bot.getOwnerUUID().toString());
+        stmt.setString(4, bot.getOwnerName());
+        // Status and clock from one lifecycle value, so they always match
+        BotLifecycle lifecycle = bot.getLifecycle();
+        stmt.setString(5, lifecycle.status().name());
+        stmt.setLong(6, lifecycle.remainingSeconds(Instant.now()));
+        stmt.setLong(7, lifecycle.lastActiveAt() != null ? lifecycle.lastActiveAt().toEpochMilli() : System.currentTimeMillis());
+        stmt.setLong(8, bot.getCreatedAt().toEpochMilli());
+        stmt.setLong(9, lifecycle.expiresAt().toEpochMilli());
+        bot.getPosition().readInto(position);
+        stmt.setString(10, position.getWorld());
+        stmt.setDouble(11, position.getX());
+        stmt.setDouble(12, position.getY());
+        stmt.setDouble(13, position.getZ());
+        stmt.setFloat(14, position.getYaw());
+        stmt.setFloat(15, position.getPitch());
+        
+        // Spawn point data
+        if (bot.hasSpawnPoint()) {
+            bot.getSpawnPoint().readInto(position);
+            stmt.setString(16, position.getWorld());
+            stmt.setDouble(17, position.getX());
+            stmt.setDouble(18, position.getY());
+            stmt.setDouble(19, position.getZ());
+            stmt.setFloat(20, position.getYaw());
+            stmt.setFloat(21, position.getPitch());
+        } else {
+            stmt.setNull(16, java.sql.Types.VARCHAR);
+            stmt.setDouble(17, 0);
+            stmt.setDouble(18, 0);
+            stmt.setDouble(19, 0);
+            stmt.setFloat(20, 0);
+            stmt.setFloat(21, 0);
         }
     }
     
@@ -243,7 +295,7 @@ public class StorageManager {
         
         String sql = "SELECT * FROM %srentals".formatted(tablePrefix);
         
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -303,6 +355,8 @@ public class StorageManager {
                     );
                 }
                 
+                // Just loaded - nothing to write back
+                bot.takeDirty();
                 rentals.add(bot);
             }
             
@@ -314,27 +368,26 @@ public class StorageManager {
     }
     
     /**
-     * Deletes a rental from the database.
+     * Deletes one rental row on the given connection (called by the write queue).
      */
-    public void deleteRental(String botName) {
-        String sql = "DELETE FROM %srentals WHERE bot_name = ?".formatted(tablePrefix);
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+    void removeRental(Connection conn, String botName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(rentalSql.delete())) {
             stmt.setString(1, botName);
             stmt.executeUpdate();
-            plugin.debug("Deleted rental: " + botName);
-            
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to delete rental: " + e.getMessage());
+            plugin.debug(() -> "Deleted rental: " + botName);
         }
     }
     
     /**
-     * Closes the database connection.
+     * Writes out every queued save, then closes the database connection.
      */
     public void close() {
+        if (writeQueue != null) {
+            writeQueue.shutdown(10000);
+        }
+        if (readSource != null && !readSource.isClosed()) {
+            readSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             plugin.getLogger().info("Database connection closed");
@@ -24,7 +24,8 @@ public class ConfigMigrator {
     // 1 = Initial release (1.0.0)
     // 2 = Added bot lifecycle (1.1.0)
     // 3 = Added update checker (1.2.0)
-    private static final int LATEST_CONFIG_VERSION = 3;
+    // 4 = Added shared network runtime, connection queue, reconnect backoff, lean profile, packet filter, unix transport, lifecycle log, bot actor threads, write-behind storage, SQLite WAL tuning (1.4.0)
+    private static final int LATEST_CONFIG_VERSION = 4;
     
     public ConfigMigrator(RentABot plugin) {
         this.plugin = plugin;
@@ -185,6 +186,11 @@ public class ConfigMigrator {
             plugin.debug("Running migration: v2 → v3 (update checker)");
             // New keys are auto-added, no special migration needed
         }
+        
+        // Version 3 → 4: Shared network runtime
+        if (fromVersion < 4) {
+            plugin.debug("Running migration: v3 → v4 (network runtime)");
+        }
     }
     
     /**
@@ -0,0 +1,111 @@
+package com.ximpify.rentabot.util;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Debug logging facade. The enabled flag is cached from the settings snapshot,
+ * so a disabled debug call costs one branch, and supplier overloads only build
+ * the message when it will be logged. Single bots or owners can be traced
+ * without turning on debug output for every bot.
+ */
+public class DebugLog {
+    
+    private final Logger logger;
+    private volatile boolean enabled;
+    // Trace targets (lower-cased bot names, owner UUIDs)
+    private final Set<String> tracedBots = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> tracedOwners = ConcurrentHashMap.newKeySet();
+    // Fast check so untraced bots skip the set lookups
+    private volatile boolean tracing;
+    
+    public DebugLog(Logger logger) {
+        this.logger = logger;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void debug(String message) {
+        if (enabled) {
+            logger.info("[DEBUG] " + message);
+        }
+    }
+    
+    public void debug(Supplier<String> message) {
+        if (enabled) {
+            logger.info("[DEBUG] " + message.get());
+        }
+    }
+    
+    /**
+     * Checks if debug output for a bot would be logged (global debug or a trace target).
+     */
+    public boolean isTraced(String botName, UUID owner) {
+        return enabled || (tracing && (tracedBots.contains(botName.toLowerCase(Locale.ROOT)) || tracedOwners.contains(owner)));
+    }
+    
+    /**
+     * Logs a bot's debug message if debug is on or the bot (or its owner) is traced.
+     */
+    public void trace(String botName, UUID owner, Supplier<String> message) {
+        if (enabled) {
+            logger.info("[DEBUG] " + message.get());
+        } else if (tracing && (tracedBots.contains(botName.toLowerCase(Locale.ROOT)) || tracedOwners.contains(owner))) {
+            logger.info("[TRACE] " + message.get());
+        }
+    }
+    
+    /**
+     * Toggles tracing for a bot.
+     *
+     * @return true if the bot is now traced
+     */
+    public boolean toggleBot(String botName) {
+        String key = botName.toLowerCase(Locale.ROOT);
+        boolean traced = tracedBots.add(key) || !tracedBots.remove(key);
+        updateTracing();
+        return traced;
+    }
+    
+    /**
+     * Toggles tracing for every bot of an owner.
+     *
+     * @return true if the owner is now traced
+     */
+    public boolean toggleOwner(UUID owner) {
+        boolean traced = tracedOwners.add(owner) || !tracedOwners.remove(owner);
+        updateTracing();
+        return traced;
+    }
+    
+    /**
+     * Stops all bot and owner traces.
+     */
+    public void clearTraces() {
+        tracedBots.clear();
+        tracedOwners.clear();
+        updateTracing();
+    }
+    
+    public Set<String> getTracedBots() {
+        return Set.copyOf(tracedBots);
+    }
+    
+    public Set<UUID> getTracedOwners() {
+        return Set.copyOf(tracedOwners);
+    }
+    
+    private void updateTracing() {
+        tracing = !tracedBots.isEmpty() || !tracedOwners.isEmpty();
+    }
+}
@@ -0,0 +1,255 @@
+package com.ximpify.rentabot.util;
+
+import com.ximpify.rentabot.RentABot;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Asynchronous sink for bot lifecycle events (connects, disconnects, expiries...).
+ * Callers only enqueue into a bounded buffer; a background thread writes every
+ * event to a rotating file under {@code logs/} and prints a limited number per
+ * category to the console, folding the rest into summary lines such as
+ * "412 bots disconnected: Server closed (last 5s)".
+ */
+public class LifecycleLog {
+    
+    /**
+     * Event category; each gets its own console rate limit.
+     */
+    public enum Category {
+        CONNECT("connected"),
+        CONNECT_FAILED("failed to connect"),
+        DISCONNECT("disconnected"),
+        REJECTED("will not reconnect"),
+        EXPIRE("expired"),
+        DEATH("died"),
+        // Created / stopped / deleted / resumed - the key is the verb
+        STATE(null);
+        
+        private final String verb;
+        
+        Category(String verb) {
+            this.verb = verb;
+        }
+    }
+    
+    private record Event(long time, Category category, Level level, String key, String message) {}
+    
+    private static final class Aggregate {
+        int count;
+        Level level = Level.INFO;
+    }
+    
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+        .withZone(ZoneId.systemDefault());
+    
+    private final RentABot plugin;
+    private BlockingQueue<Event> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread worker;
+    private volatile boolean running;
+    private FileHandler fileHandler;
+    
+    private volatile long windowMillis;
+    private volatile int consolePerWindow;
+    
+    // Owned by the worker thread
+    private long windowStart;
+    private final Map<Category, Integer> printed = new EnumMap<>(Category.class);
+    private final Map<Category, Map<String, Aggregate>> suppressed = new EnumMap<>(Category.class);
+    
+    public LifecycleLog(RentABot plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Opens the log file and starts the writer thread.
+     */
+    public void start() {
+        int bufferSize = Math.max(256, plugin.getConfig().getInt("advanced.lifecycle-log.buffer-size", 8192));
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        reload();
+        
+        if (plugin.getConfig().getBoolean("advanced.lifecycle-log.file.enabled", true)) {
+            File directory = new File(plugin.getDataFolder(), "logs");
+            if (!directory.exists() && !directory.mkdirs()) {
+                plugin.getLogger().warning("Could not create " + directory + " - lifecycle events will only go to the console");
+            } else {
+                int limit = Math.max(1, plugin.getConfig().getInt("advanced.lifecycle-log.file.max-size-mb", 5)) * 1024 * 1024;
+                int count = Math.max(1, plugin.getConfig().getInt("advanced.lifecycle-log.file.files", 3));
+                try {
+                    fileHandler = new FileHandler(new File(directory, "lifecycle.%g.log").getPath(), limit, count, true);
+                    fileHandler.setEncoding("UTF-8");
+                    fileHandler.setFormatter(new LineFormatter());
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Could not open lifecycle log file: " + e.getMessage());
+                }
+            }
+        }
+        
+        running = true;
+        windowStart = System.currentTimeMillis();
+        worker = new Thread(this::run, "RentABot-LifecycleLog");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Re-reads the console window and rate limit.
+     */
+    public void reload() {
+        windowMillis = Math.max(1, plugin.getConfig().getInt("advanced.lifecycle-log.window", 5)) * 1000L;
+        consolePerWindow = Math.max(0, plugin.getConfig().getInt("advanced.lifecycle-log.console-per-window", 5));
+    }
+    
+    /**
+     * Writes out everything still buffered and closes the log file.
+     */
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        if (fileHandler != null) {
+            fileHandler.close();
+            fileHandler = null;
+        }
+    }
+    
+    public void info(Category category, String key, String message) {
+        log(category, Level.INFO, key, message);
+    }
+    
+    public void warning(Category category, String key, String message) {
+        log(category, Level.WARNING, key, message);
+    }
+    
+    /**
+     * Queues an event. Never blocks; if the buffer is full the event is counted and dropped.
+     *
+     * @param key what repeated events are grouped by in summaries (e.g. the disconnect reason), may be null
+     */
+    public void log(Category category, Level level, String key, String message) {
+        BlockingQueue<Event> current = queue;
+        if (current == null || !running) {
+            // Not started or already stopped - log directly
+            plugin.getLogger().log(level, message);
+            return;
+        }
+        if (!current.offer(new Event(System.currentTimeMillis(), category, level, key, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Number of events dropped because the buffer was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Event event = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    handle(event);
+                }
+                if (System.currentTimeMillis() - windowStart >= windowMillis) {
+                    flushWindow();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Lifecycle log error: " + e.getMessage());
+            }
+        }
+        flushWindow();
+        if (fileHandler != null) {
+            fileHandler.flush();
+        }
+    }
+    
+    private void handle(Event event) {
+        if (fileHandler != null) {
+            LogRecord record = new LogRecord(event.level(), event.category() + " " + event.message());
+            record.setInstant(Instant.ofEpochMilli(event.time()));
+            fileHandler.publish(record);
+        }
+        
+        int count = printed.merge(event.category(), 1, Integer::sum);
+        if (count <= consolePerWindow) {
+            plugin.getLogger().log(event.level(), event.message());
+            return;
+        }
+        
+        Aggregate aggregate = suppressed
+            .computeIfAbsent(event.category(), c -> new LinkedHashMap<>())
+            .computeIfAbsent(event.key() != null ? event.key() : "", k -> new Aggregate());
+        aggregate.count++;
+        if (event.level().intValue() > aggregate.level.intValue()) {
+            aggregate.level = event.level();
+        }
+    }
+    
+    private void flushWindow() {
+        long seconds = Math.max(1, (System.currentTimeMillis() - windowStart + 500) / 1000);
+        boolean summarized = false;
+        for (Map.Entry<Category, Map<String, Aggregate>> categoryEntry : suppressed.entrySet()) {
+            Category category = categoryEntry.getKey();
+            for (Map.Entry<String, Aggregate> entry : categoryEntry.getValue().entrySet()) {
+                Aggregate aggregate = entry.getValue();
+                String key = entry.getKey();
+                String what = category.verb == null
+                    ? key
+                    : category.verb + (key.isEmpty() ? "" : ": " + key);
+                String line = aggregate.count + " more bot" + (aggregate.count == 1 ? "" : "s") + " " + what + " (last " + seconds + "s)";
+                plugin.getLogger().log(aggregate.level, line);
+                summarized = true;
+            }
+        }
+        
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            plugin.getLogger().warning(lost + " lifecycle event(s) dropped - log buffer full");
+        }
+        if (fileHandler != null && summarized) {
+            fileHandler.flush();
+        }
+        
+        printed.clear();
+        suppressed.clear();
+        windowStart = System.currentTimeMillis();
+    }
+    
+    /**
+     * One line per event: time, level, category and message.
+     */
+    private static final class LineFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return "[" + TIME_FORMAT.format(record.getInstant()) + "] [" + record.getLevel().getName() + "] "
+                + record.getMessage() + System.lineSeparator();
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.ximpify.rentabot.util;
 
 import com.ximpify.rentabot.RentABot;
 import net.kyori.adventure.text.Component;
-import org.bukkit.NamespacedKey;
-import org.bukkit.Registry;
 import org.bukkit.Sound;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -145,6 +143,16 @@ public class MessageUtil {
         return message.replaceAll("(?i)§[0-9A-FK-OR]|&#[A-Fa-f0-9]{6}", "");
     }
     
+    /**
+     * Formats a byte count as B/KB/MB/GB.
+     */
+    public String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024L * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+    
     /**
      * Plays a sound effect to a player.
      * @param player The player to play the sound to
@@ -152,18 +160,15 @@ public class MessageUtil {
      */
     public void playSound(Player player, String soundKey) {
         if (player == null) return;
-        if (!plugin.getConfig().getBoolean("notifications.sounds.enabled", true)) return;
+        RentABotSettings.Sounds sounds = plugin.getSettings().sounds();
+        if (!sounds.enabled()) return;
         
-        String soundName = plugin.getConfig().getString("notifications.sounds." + soundKey);
-        if (soundName == null || soundName.isEmpty()) return;
+        // Resolved when the config was loaded
+        Sound sound = sounds.get(soundKey);
+        if (sound == null) return;
         
         try {
-            Sound sound = Registry.SOUNDS.get(NamespacedKey.minecraft(soundName.toLowerCase()));
-            if (sound != null) {
-                float volume = (float) plugin.getConfig().getDouble("notifications.sounds.volume", 1.0);
-                float pitch = (float) plugin.getConfig().getDouble("notifications.sounds.pitch", 1.0);
-                player.playSound(player.getLocation(), sound, volume, pitch);
-            }
+            player.playSound(player.getLocation(), sound, sounds.volume(), sounds.pitch());
         } catch (Exception e) {
             plugin.debug("Failed to play sound '" + soundKey + "': " + e.getMessage());
         }
@@ -174,17 +179,14 @@ public class MessageUtil {
      */
     public void playSound(Player player, String soundKey, float pitch) {
         if (player == null) return;
-        if (!plugin.getConfig().getBoolean("notifications.sounds.enabled", true)) return;
+        RentABotSettings.Sounds sounds = plugin.getSettings().sounds();
+        if (!sounds.enabled()) return;
         
-        String soundName = plugin.getConfig().getString("notifications.sounds." + soundKey);
-        if (soundName == null || soundName.isEmpty()) return;
+        Sound sound = sounds.get(soundKey);
+        if (sound == null) return;
         
         try {
-            Sound sound = Registry.SOUNDS.get(NamespacedKey.minecraft(soundName.toLowerCase()));
-            if (sound != null) {
-                float volume = (float) plugin.getConfig().getDouble("notifications.sounds.volume", 1.0);
-                player.playSound(player.getLocation(), sound, volume, pitch);
-            }
+            player.playSound(player.getLocation(), sound, sounds.volume(), pitch);
         } catch (Exception e) {
             plugin.debug("Failed to play sound '" + soundKey + "': " + e.getMessage());
         }
@@ -22,7 +22,6 @@ public class ReloadManager {
     
     // Track scheduled tasks for cancellation/rescheduling
     private BukkitTask rentalCheckTask;
-    private BukkitTask antiAFKTask;
     
     public ReloadManager(RentABot plugin) {
         this.plugin = plugin;
@@ -123,6 +122,16 @@ public class ReloadManager {
             // This is more reliable than just reloadConfig()
             plugin.reloadConfig();
             
+            // New console rate limits for lifecycle events
+            if (plugin.getLifecycleLog() != null) {
+                plugin.getLifecycleLog().reload();
+            }
+            
+            // Server address may have changed - re-resolve on next connect
+            if (plugin.getNetworkRuntime() != null) {
+                plugin.getNetworkRuntime().invalidateServerAddress();
+            }
+            
             // Verify reload worked by checking the file directly
             YamlConfiguration directLoad = YamlConfiguration.loadConfiguration(configFile);
             FileConfiguration newConfig = plugin.getConfig();
@@ -141,6 +150,19 @@ public class ReloadManager {
                 reloadVerified = false;
             }
             
+            // Publish the new snapshot in one step (after the debug correction above)
+            plugin.reloadSettings();
+            
+            // Pick up new admission limits, reconnect backoff, anti-AFK actions and network limits
+            // from the snapshot just published
+            if (plugin.getBotManager() != null) {
+                plugin.getBotManager().getAdmissionController().reload();
+                plugin.getBotManager().getReconnectEngine().reload();
+                plugin.getBotManager().getMotionEngine().reload();
+                plugin.getBotManager().getOutboundFlusher().reload();
+                plugin.getBotManager().getPacketBudget().reload();
+            }
+            
             // Log changes
             if (oldDebug != newConfig.getBoolean("advanced.debug", false)) {
                 changes.add("Debug mode: " + oldDebug + " → " + newConfig.getBoolean("advanced.debug", false));
@@ -297,10 +319,6 @@ public class ReloadManager {
                 rentalCheckTask.cancel();
                 plugin.debug("Cancelled existing rental check task");
             }
-            if (antiAFKTask != null && !antiAFKTask.isCancelled()) {
-                antiAFKTask.cancel();
-                plugin.debug("Cancelled existing anti-AFK task");
-            }
             
             // Reschedule rental check task
             int checkInterval = plugin.getConfig().getInt("advanced.check-interval", 30) * 20;
@@ -310,13 +328,11 @@ public class ReloadManager {
             }, checkInterval, checkInterval);
             changes.add("Rental check task: every " + (checkInterval / 20) + "s");
             
-            // Reschedule anti-AFK task
-            if (plugin.getConfig().getBoolean("bots.behavior.anti-afk.enabled", true)) {
-                int baseInterval = plugin.getConfig().getInt("bots.behavior.anti-afk.interval", 45) * 20;
-                double randomness = plugin.getConfig().getDouble("bots.behavior.anti-afk.interval-randomness", 0.4);
-                
-                scheduleAntiAFKTask(baseInterval, randomness);
-                changes.add("Anti-AFK task: ~" + (baseInterval / 20) + "s (±" + (int)(randomness * 100) + "%)");
+            // Restart anti-AFK timing wheel with the new interval
+            plugin.getBotManager().getAntiAFKScheduler().start();
+            RentABotSettings.AntiAfk antiAfk = plugin.getSettings().antiAfk();
+            if (antiAfk.enabled()) {
+                changes.add("Anti-AFK task: ~" + (antiAfk.intervalTicks() / 20) + "s (±" + (antiAfk.jitterTicks() / 20) + "s)");
             } else {
                 changes.add("Anti-AFK task: disabled");
             }
@@ -339,34 +355,6 @@ public class ReloadManager {
         return new ReloadResult(errors.isEmpty(), changes, errors, System.currentTimeMillis() - startTime);
     }
     
-    /**
-     * Schedules the anti-AFK task with randomized intervals.
-     */
-    private void scheduleAntiAFKTask(int baseInterval, double randomness) {
-        int minInterval = (int) (baseInterval * (1.0 - randomness));
-        int maxInterval = (int) (baseInterval * (1.0 + randomness));
-        int actualInterval = minInterval + (int) (Math.random() * (maxInterval - minInterval));
-        
-        antiAFKTask = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-            // Check if still enabled (config may have changed)
-            if (!plugin.getConfig().getBoolean("bots.behavior.anti-afk.enabled", true)) {
-                return;
-            }
-            
-            // Perform anti-AFK for all connected bots
-            for (var bot : plugin.getBotManager().getAllBots()) {
-                if (bot.isConnected()) {
-                    bot.performAntiAFK();
-                }
-            }
-            
-            // Schedule next with new random interval
-            int newBase = plugin.getConfig().getInt("bots.behavior.anti-afk.interval", 45) * 20;
-            double newRandomness = plugin.getConfig().getDouble("bots.behavior.anti-afk.interval-randomness", 0.4);
-            scheduleAntiAFKTask(newBase, newRandomness);
-        }, actualInterval);
-    }
-    
     /**
      * Re-validates plugin hooks.
      */
@@ -406,6 +394,7 @@ public class ReloadManager {
             if (plugin.getConfig().getBoolean("hooks.essentials.enabled", true)) {
                 if (plugin.getServer().getPluginManager().getPlugin("Essentials") != null) {
                     changes.add("Essentials: ✓ Connected");
+                    changes.add("Essentials TPA: " + (plugin.refreshServerSideTpa() ? "✓ Handled server-side" : "Bots parse chat"));
                 } else {
                     changes.add("Essentials: ✗ Not found");
                 }
@@ -426,8 +415,4 @@ public class ReloadManager {
     public void setRentalCheckTask(BukkitTask task) {
         this.rentalCheckTask = task;
     }
-    
-    public void setAntiAFKTask(BukkitTask task) {
-        this.antiAFKTask = task;
-    }
 }
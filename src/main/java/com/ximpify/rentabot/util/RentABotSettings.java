@@ -0,0 +1,223 @@
+package com.ximpify.rentabot.util;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the config values read on hot paths (chat packets,
+ * anti-AFK, reconnects, connection and packet limits, storage write-behind,
+ * debug logging, sounds). Built once at load and on every reload, then published
+ * as a whole, so readers never walk Bukkit's config maps and never see a
+ * half-applied reload.
+ */
+public record RentABotSettings(
+    boolean debug,
+    boolean packetFilter,
+    Reconnect reconnect,
+    Admission admission,
+    AntiAfk antiAfk,
+    Network network,
+    WriteBehind writeBehind,
+    Naming naming,
+    Tpa tpa,
+    boolean returnAfterDeath,
+    LeanProfile leanProfile,
+    AuthMe authMe,
+    Sounds sounds
+) {
+    
+    private static final List<String> DEFAULT_TPA_PATTERNS = List.of(
+        "teleport to you",
+        "teleport request",
+        "has requested to teleport",
+        "wants to teleport to you",
+        "sent you a teleport request"
+    );
+    
+    private static final List<String> DEFAULT_TPAHERE_PATTERNS = List.of(
+        "teleport to them",
+        "you teleport to",
+        "requests that you teleport",
+        "wants you to teleport"
+    );
+    
+    /** {@code bots.behavior.auto-reconnect}, with delays in milliseconds. */
+    public record Reconnect(boolean enabled, int maxAttempts, long delayMillis, long maxDelayMillis,
+                            double multiplier, double jitter, CircuitBreaker breaker) {}
+    
+    /** {@code bots.behavior.auto-reconnect.circuit-breaker}, with times in milliseconds. */
+    public record CircuitBreaker(boolean enabled, int failureThreshold, long windowMillis, long cooldownMillis) {}
+    
+    /** {@code advanced.connection-queue} */
+    public record Admission(int maxInFlight, double joinsPerSecond, long loginTimeoutMillis) {}
+    
+    /** {@code bots.behavior.anti-afk}, with the interval and its randomness in ticks. */
+    public record AntiAfk(boolean enabled, int intervalTicks, int jitterTicks, String type) {}
+    
+    /** Packet budget, write coalescing and bot actor threads from {@code advanced.network}. */
+    public record Network(int packetsPerTick, int packetBurst, boolean coalesceWrites, int flushThreshold,
+                          int actorThreads) {}
+    
+    /** {@code storage.write-behind} */
+    public record WriteBehind(long flushIntervalMillis, int batchSize) {}
+    
+    /** {@code bots.naming} prefix and suffix of connection names. */
+    public record Naming(String prefix, String suffix) {
+        
+        /**
+         * Wraps a bot name in the configured prefix and suffix.
+         */
+        public String apply(String botName) {
+            return prefix + botName + suffix;
+        }
+    }
+    
+    /** TPA handling from {@code bots.behavior}, with the patterns compiled into one matcher. */
+    public record Tpa(TpaMatcher matcher, boolean acceptOwnerTpa, boolean acceptOwnerTpaHere, boolean denyOthers) {}
+    
+    /** {@code bots.lean-profile}; chat is lower-cased ("full", "system" or "hidden"). */
+    public record LeanProfile(boolean enabled, int viewDistance, String chat) {}
+    
+    /** {@code hooks.authme} */
+    public record AuthMe(boolean enabled, String mode, String password, int loginDelay) {}
+    
+    /** {@code notifications.sounds}, with sound names resolved up front. */
+    public record Sounds(boolean enabled, float volume, float pitch, Map<String, Sound> sounds) {
+        
+        /**
+         * Gets the sound configured for a key, or null if unset or unknown.
+         */
+        public Sound get(String key) {
+            return sounds.get(key);
+        }
+    }
+    
+    /**
+     * Reads a snapshot from the given config.
+     */
+    public static RentABotSettings load(FileConfiguration config) {
+        long delayMillis = Math.max(1, config.getInt("bots.behavior.auto-reconnect.delay", 10)) * 1000L;
+        Reconnect reconnect = new Reconnect(
+            config.getBoolean("bots.behavior.auto-reconnect.enabled", true),
+            config.getInt("bots.behavior.auto-reconnect.max-attempts", 5),
+            delayMillis,
+            Math.max(delayMillis, config.getInt("bots.behavior.auto-reconnect.max-delay", 300) * 1000L),
+            Math.max(1.0, config.getDouble("bots.behavior.auto-reconnect.backoff-multiplier", 2.0)),
+            Math.min(1.0, Math.max(0.0, config.getDouble("bots.behavior.auto-reconnect.jitter", 0.3))),
+            new CircuitBreaker(
+                config.getBoolean("bots.behavior.auto-reconnect.circuit-breaker.enabled", true),
+                Math.max(2, config.getInt("bots.behavior.auto-reconnect.circuit-breaker.failure-threshold", 10)),
+                Math.max(1, config.getInt("bots.behavior.auto-reconnect.circuit-breaker.window", 30)) * 1000L,
+                Math.max(1, config.getInt("bots.behavior.auto-reconnect.circuit-breaker.cooldown", 30)) * 1000L));
+        
+        Admission admission = new Admission(
+            Math.max(1, config.getInt("advanced.connection-queue.max-in-flight", 8)),
+            Math.max(0.1, config.getDouble("advanced.connection-queue.joins-per-second", 4)),
+            Math.max(5, config.getInt("advanced.connection-queue.login-timeout", 30)) * 1000L);
+        
+        int intervalTicks = Math.max(20, config.getInt("bots.behavior.anti-afk.interval", 45) * 20);
+        double randomness = config.getDouble("bots.behavior.anti-afk.interval-randomness", 0.4);
+        AntiAfk antiAfk = new AntiAfk(
+            config.getBoolean("bots.behavior.anti-afk.enabled", true),
+            intervalTicks,
+            (int) (intervalTicks * Math.max(0.0, Math.min(1.0, randomness))),
+            config.getString("bots.behavior.anti-afk.type", "look"));
+        
+        int perTick = Math.max(0, config.getInt("advanced.network.packet-budget.per-tick", 200));
+        int actorThreads = config.getInt("advanced.network.actor-threads", 0);
+        Network network = new Network(
+            perTick,
+            Math.max(perTick, config.getInt("advanced.network.packet-budget.burst", perTick * 2)),
+            config.getBoolean("advanced.network.coalesce-writes", true),
+            Math.max(1, config.getInt("advanced.network.flush-threshold", 16)),
+            actorThreads > 0 ? actorThreads : Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        
+        WriteBehind writeBehind = new WriteBehind(
+            Math.max(100, (long) (config.getDouble("storage.write-behind.flush-interval", 2) * 1000)),
+            Math.max(1, config.getInt("storage.write-behind.batch-size", 64)));
+        
+        Naming naming = new Naming(
+            config.getString("bots.naming.prefix", "Bot_"),
+            config.getString("bots.naming.suffix", ""));
+        
+        Tpa tpa = new Tpa(
+            TpaMatcher.compile(
+                patterns(config.getStringList("bots.behavior.tpa-patterns"), DEFAULT_TPA_PATTERNS),
+                patterns(config.getStringList("bots.behavior.tpahere-patterns"), DEFAULT_TPAHERE_PATTERNS)),
+            config.getBoolean("bots.behavior.accept-owner-tpa", true),
+            config.getBoolean("bots.behavior.accept-owner-tpahere", true),
+            config.getBoolean("bots.behavior.deny-others-tpa", true));
+        
+        LeanProfile leanProfile = new LeanProfile(
+            config.getBoolean("bots.lean-profile.enabled", true),
+            Math.max(2, config.getInt("bots.lean-profile.view-distance", 2)),
+            config.getString("bots.lean-profile.chat", "system").toLowerCase(Locale.ROOT));
+        
+        AuthMe authMe = new AuthMe(
+            config.getBoolean("hooks.authme.enabled", true),
+            config.getString("hooks.authme.mode", "auto-register"),
+            config.getString("hooks.authme.default-password", "RentABot2024!"),
+            config.getInt("hooks.authme.login-delay", 40));
+        
+        return new RentABotSettings(
+            config.getBoolean("advanced.debug", false),
+            config.getBoolean("advanced.packet-filter.enabled", true),
+            reconnect,
+            admission,
+            antiAfk,
+            network,
+            writeBehind,
+            naming,
+            tpa,
+            config.getBoolean("bots.behavior.return-after-death", true),
+            leanProfile,
+            authMe,
+            sounds(config));
+    }
+    
+    private static List<String> patterns(List<String> configured, List<String> defaults) {
+        if (configured == null || configured.isEmpty()) {
+            return defaults;
+        }
+        return configured.stream()
+            .map(pattern -> pattern.toLowerCase(Locale.ROOT))
+            .toList();
+    }
+    
+    private static Sounds sounds(FileConfiguration config) {
+        Map<String, Sound> resolved = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("notifications.sounds");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                if (!section.isString(key)) {
+                    continue;
+                }
+                String name = section.getString(key);
+                if (name == null || name.isEmpty()) {
+                    continue;
+                }
+                try {
+                    Sound sound = Registry.SOUNDS.get(NamespacedKey.minecraft(name.toLowerCase(Locale.ROOT)));
+                    if (sound != null) {
+                        resolved.put(key, sound);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // Invalid key - same as an unknown sound
+                }
+            }
+        }
+        return new Sounds(
+            config.getBoolean("notifications.sounds.enabled", true),
+            (float) config.getDouble("notifications.sounds.volume", 1.0),
+            (float) config.getDouble("notifications.sounds.pitch", 1.0),
+            Map.copyOf(resolved));
+    }
+}
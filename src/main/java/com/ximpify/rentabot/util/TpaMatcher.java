@@ -0,0 +1,275 @@
+package com.ximpify.rentabot.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds TPA / TPAHere requests in a chat line with one pass over the text.
+ * All configured patterns are compiled into a single Aho–Corasick automaton
+ * (case-insensitive). Patterns may contain {@code %player%}; those are matched
+ * on their longest literal part and then confirmed with a regex that also
+ * captures the requester's name.
+ */
+public final class TpaMatcher {
+    
+    public static final String PLAYER_PLACEHOLDER = "%player%";
+    
+    /**
+     * Result of {@link #feed} once a pattern's literal text has been seen.
+     */
+    public static final int FOUND = -1;
+    
+    private static final String NAME_REGEX = "([A-Za-z0-9_]{1,16})";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]{3,16}");
+    // Rank and server tags such as "[Server]", "[VIP]" or "(Staff)"
+    private static final Pattern TAG = Pattern.compile("\\[[^\\]]*]|\\([^)]*\\)");
+    private static final Pattern EDGES = Pattern.compile("^[^A-Za-z0-9_]+|[^A-Za-z0-9_]+$");
+    
+    /**
+     * Kind of teleport request.
+     */
+    public enum Kind { TPA, TPAHERE }
+    
+    /**
+     * A matched request. {@code player} is the requester's name, or null if the
+     * message did not contain a recognisable name.
+     */
+    public record Match(Kind kind, String player) {}
+    
+    private record Entry(Kind kind, Pattern placeholder) {}
+    
+    private final Entry[] entries;
+    // Compact alphabet: pattern characters map to 1..n, everything else to 0
+    private final int[] alphabet;
+    // Full transition table: delta[state * width + symbol]
+    private final int[] delta;
+    private final int width;
+    // Entry indices ending at each state (including via suffix links)
+    private final int[][] outputs;
+    
+    private TpaMatcher(List<String> tpaPatterns, List<String> tpaHerePatterns) {
+        List<Entry> entryList = new ArrayList<>();
+        List<String> keywords = new ArrayList<>();
+        addPatterns(tpaPatterns, Kind.TPA, entryList, keywords);
+        addPatterns(tpaHerePatterns, Kind.TPAHERE, entryList, keywords);
+        this.entries = entryList.toArray(new Entry[0]);
+        
+        int maxChar = 0;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                maxChar = Math.max(maxChar, keyword.charAt(i));
+            }
+        }
+        this.alphabet = new int[maxChar + 1];
+        int symbols = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (alphabet[c] == 0) {
+                    alphabet[c] = symbols++;
+                }
+            }
+        }
+        this.width = symbols;
+        
+        // Trie (goto function), -1 = missing
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        gotoTable.add(newRow());
+        out.add(new ArrayList<>());
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = alphabet[keyword.charAt(i)];
+                if (gotoTable.get(state)[symbol] < 0) {
+                    gotoTable.get(state)[symbol] = gotoTable.size();
+                    gotoTable.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                state = gotoTable.get(state)[symbol];
+            }
+            out.get(state).add(k);
+        }
+        
+        // BFS: failure links folded into a full DFA
+        int states = gotoTable.size();
+        int[] fail = new int[states];
+        this.delta = new int[states * width];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < width; symbol++) {
+            int next = gotoTable.get(0)[symbol];
+            if (next > 0) {
+                fail[next] = 0;
+                delta[symbol] = next;
+                queue.add(next);
+            } else {
+                delta[symbol] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int symbol = 0; symbol < width; symbol++) {
+                int next = gotoTable.get(state)[symbol];
+                if (next > 0) {
+                    fail[next] = delta[fail[state] * width + symbol];
+                    delta[state * width + symbol] = next;
+                    queue.add(next);
+                } else {
+                    delta[state * width + symbol] = delta[fail[state] * width + symbol];
+                }
+            }
+        }
+        
+        this.outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            outputs[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+    
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+    
+    private static void addPatterns(List<String> patterns, Kind kind, List<Entry> entries, List<String> keywords) {
+        for (String raw : patterns) {
+            String pattern = raw.toLowerCase(Locale.ROOT);
+            if (!pattern.contains(PLAYER_PLACEHOLDER)) {
+                if (!pattern.isEmpty()) {
+                    entries.add(new Entry(kind, null));
+                    keywords.add(pattern);
+                }
+                continue;
+            }
+            
+            // Match on the longest literal part, confirm with the full pattern
+            String[] parts = pattern.split(Pattern.quote(PLAYER_PLACEHOLDER), -1);
+            String longest = "";
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(NAME_REGEX);
+                }
+                if (!parts[i].isEmpty()) {
+                    regex.append(Pattern.quote(parts[i]));
+                }
+                if (parts[i].trim().length() > longest.length()) {
+                    longest = parts[i].trim();
+                }
+            }
+            if (longest.isEmpty()) {
+                // Nothing literal to look for
+                continue;
+            }
+            entries.add(new Entry(kind, Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE)));
+            keywords.add(longest);
+        }
+    }
+    
+    /**
+     * Compiles the given patterns.
+     */
+    public static TpaMatcher compile(List<String> tpaPatterns, List<String> tpaHerePatterns) {
+        return new TpaMatcher(tpaPatterns, tpaHerePatterns);
+    }
+    
+    /**
+     * Checks if no pattern can ever match.
+     */
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+    
+    /**
+     * Runs the keyword automaton over one piece of a chat line, without confirming
+     * placeholders or extracting a name. Pieces fed in order are read as if they were
+     * concatenated, so a keyword split across two styled parts of a component is still
+     * found. Start with state 0.
+     *
+     * @return the state to pass with the next piece, or {@link #FOUND} once any
+     *         pattern's literal text has occurred
+     */
+    public int feed(int state, String text) {
+        if (state == FOUND) {
+            return FOUND;
+        }
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int symbol = c < alphabet.length ? alphabet[c] : 0;
+            state = delta[state * width + symbol];
+            if (outputs[state].length > 0) {
+                return FOUND;
+            }
+        }
+        return state;
+    }
+    
+    /**
+     * Scans a plain-text chat line. A TPA match wins over a TPAHere match, like the
+     * old per-pattern checks did.
+     *
+     * @return the match, or null if the line is not a teleport request
+     */
+    public Match match(String message) {
+        if (entries.length == 0) {
+            return null;
+        }
+        
+        Match tpaHere = null;
+        int state = 0;
+        for (int i = 0, len = message.length(); i < len; i++) {
+            char c = Character.toLowerCase(message.charAt(i));
+            int symbol = c < alphabet.length ? alphabet[c] : 0;
+            state = delta[state * width + symbol];
+            
+            for (int index : outputs[state]) {
+                Entry entry = entries[index];
+                if (entry.kind() == Kind.TPAHERE && tpaHere != null) {
+                    continue;
+                }
+                String player;
+                if (entry.placeholder() != null) {
+                    Matcher matcher = entry.placeholder().matcher(message);
+                    if (!matcher.find()) {
+                        continue;
+                    }
+                    player = matcher.group(1);
+                } else {
+                    player = firstName(message);
+                }
+                
+                Match match = new Match(entry.kind(), player);
+                if (entry.kind() == Kind.TPA) {
+                    return match;
+                }
+                tpaHere = match;
+            }
+        }
+        return tpaHere;
+    }
+    
+    /**
+     * Requester name for patterns without {@code %player%}: the first word that looks
+     * like a Minecraft name. Bracketed tags such as "[Server]" or "(VIP)" are skipped,
+     * and punctuation such as "»" or "<...>" around a word is stripped.
+     */
+    private static String firstName(String message) {
+        String untagged = TAG.matcher(message).replaceAll(" ");
+        for (String word : untagged.split("\\s+")) {
+            String stripped = EDGES.matcher(word).replaceAll("");
+            if (NAME.matcher(stripped).matches()) {
+                return stripped;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ximpify.rentabot.bot;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BotLifecycleTest {
+    
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    
+    private static BotLifecycle rentedForOneHour() {
+        return BotLifecycle.rented(START, 3600);
+    }
+    
+    // ==================== Clock ====================
+    
+    @Test
+    void activeBotCountsDown() {
+        BotLifecycle active = rentedForOneHour();
+        assertEquals(3600, active.remainingSeconds(START));
+        assertEquals(600, active.remainingSeconds(START.plusSeconds(3000)));
+        assertEquals(0, active.remainingSeconds(START.plusSeconds(4000)));
+        assertFalse(active.hasTimeRemaining(START.plusSeconds(3600)));
+    }
+    
+    @Test
+    void stopFreezesTimeLeft() {
+        BotLifecycle stopped = rentedForOneHour().stop(START.plusSeconds(1000));
+        assertEquals(BotStatus.STOPPED, stopped.status());
+        assertEquals(2600, stopped.remainingSeconds(START.plusSeconds(99_999)));
+        assertEquals(START.plusSeconds(1000), stopped.lastActiveAt());
+        assertNull(stopped.stop(START.plusSeconds(2000)));
+    }
+    
+    // ==================== Resume ====================
+    
+    @Test
+    void resumePublishesStatusAndExpiryTogether() {
+        BotLifecycle stopped = rentedForOneHour().stop(START.plusSeconds(1000));
+        Instant later = START.plusSeconds(50_000);
+        BotLifecycle resumed = stopped.resume(later);
+        assertEquals(BotStatus.ACTIVE, resumed.status());
+        assertEquals(later.plusSeconds(2600), resumed.expiresAt());
+        assertEquals(2600, resumed.remainingSeconds(later));
+        assertTrue(resumed.hasTimeRemaining(later));
+    }
+    
+    @Test
+    void resumeNeedsTimeLeft() {
+        BotLifecycle empty = rentedForOneHour().stop(START.plusSeconds(3600));
+        assertNull(empty.resume(START.plusSeconds(4000)));
+        assertNull(rentedForOneHour().resume(START));
+    }
+    
+    @Test
+    void resumeWithHoursOnlyWhenOutOfTime() {
+        Instant later = START.plusSeconds(10_000);
+        BotLifecycle expired = rentedForOneHour().expire(START.plusSeconds(3600));
+        BotLifecycle resumed = expired.resumeWithHours(later, 2);
+        assertEquals(BotStatus.ACTIVE, resumed.status());
+        assertEquals(later.plusSeconds(7200), resumed.expiresAt());
+        
+        assertNull(rentedForOneHour().stop(START).resumeWithHours(later, 2));
+        assertNotNull(rentedForOneHour().stop(START.plusSeconds(3600)).resumeWithHours(later, 2));
+    }
+    
+    // ==================== Expire / extend ====================
+    
+    @Test
+    void expireOnlyOnceTimeRanOut() {
+        assertNull(rentedForOneHour().expire(START.plusSeconds(3599)));
+        BotLifecycle expired = rentedForOneHour().expire(START.plusSeconds(3600));
+        assertEquals(BotStatus.EXPIRED, expired.status());
+        assertEquals(0, expired.remainingSeconds(START));
+        assertNull(rentedForOneHour().stop(START).expire(START.plusSeconds(99_999)));
+    }
+    
+    @Test
+    void extendedBotIsNotExpired() {
+        BotLifecycle extended = rentedForOneHour().extend(1);
+        assertNull(extended.expire(START.plusSeconds(3600)));
+        assertEquals(START.plusSeconds(7200), extended.expiresAt());
+    }
+    
+    @Test
+    void extendAddsToFrozenTime() {
+        BotLifecycle stopped = rentedForOneHour().stop(START.plusSeconds(1000));
+        assertEquals(2600 + 3600, stopped.extend(1).remainingSeconds(START));
+        BotLifecycle expired = rentedForOneHour().expire(START.plusSeconds(3600));
+        assertEquals(7200, expired.extend(2).remainingSeconds(START));
+        assertEquals(BotStatus.EXPIRED, expired.extend(2).status());
+    }
+}
@@ -0,0 +1,121 @@
+package com.ximpify.rentabot.bot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BotMailboxTest {
+    
+    private static final int THREADS = 8;
+    private static final int MESSAGES = 10_000;
+    
+    @Test
+    void runsMessagesInOrderOnPool() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            BotMailbox mailbox = new BotMailbox(pool, error -> { });
+            List<Integer> seen = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(1);
+            for (int i = 0; i < MESSAGES; i++) {
+                int n = i;
+                mailbox.execute(() -> seen.add(n));
+            }
+            mailbox.execute(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < MESSAGES; i++) {
+                assertEquals(i, seen.get(i));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    void oneRunnerAtATimeOnRejectingPool() throws InterruptedException {
+        BotMailbox mailbox = new BotMailbox(task -> {
+            throw new RejectedExecutionException("shut down");
+        }, error -> { });
+        assertOneAtATime(mailbox);
+    }
+    
+    @Test
+    void oneRunnerAtATimeOnPool() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            assertOneAtATime(new BotMailbox(pool, error -> { }));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    void failingMessageDoesNotStopLaterOnes() throws InterruptedException {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            AtomicInteger errors = new AtomicInteger();
+            BotMailbox mailbox = new BotMailbox(pool, error -> errors.incrementAndGet());
+            CountDownLatch done = new CountDownLatch(1);
+            mailbox.execute(() -> {
+                throw new IllegalStateException("boom");
+            });
+            mailbox.execute(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1, errors.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static void assertOneAtATime(BotMailbox mailbox) throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger executed = new AtomicInteger();
+        Runnable message = () -> {
+            if (running.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            Thread.onSpinWait();
+            running.decrementAndGet();
+            executed.incrementAndGet();
+        };
+        
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < MESSAGES; i++) {
+                    mailbox.execute(message);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Pool drains finish asynchronously
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (executed.get() < THREADS * MESSAGES && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(THREADS * MESSAGES, executed.get());
+        assertEquals(0, overlaps.get());
+    }
+}
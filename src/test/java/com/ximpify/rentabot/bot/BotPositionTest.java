@@ -0,0 +1,121 @@
+package com.ximpify.rentabot.bot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BotPositionTest {
+    
+    private static final String[] WORLDS = {"world", "world_nether", "world_the_end"};
+    
+    @Test
+    void startsAtOrigin() {
+        BotPosition.Snapshot snapshot = new BotPosition().snapshot();
+        assertEquals(0, snapshot.getX());
+        assertEquals(0, snapshot.getYaw());
+        assertNull(snapshot.getWorld());
+    }
+    
+    @Test
+    void setsEveryField() {
+        BotPosition position = new BotPosition();
+        position.set(1.5, 64, -3.25, 90f, -10f, "world");
+        BotPosition.Snapshot snapshot = position.snapshot();
+        assertEquals(1.5, snapshot.getX());
+        assertEquals(64, snapshot.getY());
+        assertEquals(-3.25, snapshot.getZ());
+        assertEquals(90f, snapshot.getYaw());
+        assertEquals(-10f, snapshot.getPitch());
+        assertEquals("world", snapshot.getWorld());
+    }
+    
+    @Test
+    void partialSettersKeepOtherFields() {
+        BotPosition position = new BotPosition();
+        position.set(1, 2, 3, 4f, 5f, "world");
+        position.set(10, 20, 30, 40f, 50f);
+        assertEquals("world", position.snapshot().getWorld());
+        assertEquals(10, position.snapshot().getX());
+        
+        position.setRotation(7f, 8f);
+        BotPosition.Snapshot snapshot = position.snapshot();
+        assertEquals(10, snapshot.getX());
+        assertEquals(7f, snapshot.getYaw());
+        assertEquals(8f, snapshot.getPitch());
+    }
+    
+    @Test
+    void readIntoReusesTarget() {
+        BotPosition position = new BotPosition();
+        BotPosition.Snapshot target = new BotPosition.Snapshot();
+        position.set(1, 2, 3, 4f, 5f, "world");
+        assertSame(target, position.readInto(target));
+        position.set(6, 7, 8, 9f, 10f, "world_nether");
+        position.readInto(target);
+        assertEquals(6, target.getX());
+        assertEquals("world_nether", target.getWorld());
+    }
+    
+    @Test
+    void readersNeverSeeTornWrites() throws InterruptedException {
+        BotPosition position = new BotPosition();
+        position.set(0, 0, 0, 0f, 0f, WORLDS[0]);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong torn = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+        AtomicInteger sequence = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        
+        // Two writers, as with packet handling and a spawn point save racing
+        for (int w = 0; w < 2; w++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    int i = sequence.incrementAndGet();
+                    if ((i & 1) == 0) {
+                        position.set(i, i, i, i, i, WORLDS[i % WORLDS.length]);
+                    } else {
+                        position.set(i, i, i, i, i);
+                    }
+                }
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            threads.add(new Thread(() -> {
+                BotPosition.Snapshot snapshot = new BotPosition.Snapshot();
+                while (running.get()) {
+                    position.readInto(snapshot);
+                    double x = snapshot.getX();
+                    // Integer values up to 2^24 are exact in both double and float
+                    if (snapshot.getY() != x || snapshot.getZ() != x
+                            || snapshot.getYaw() != (float) x || snapshot.getPitch() != (float) x) {
+                        torn.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+        
+        threads.forEach(Thread::start);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < deadline && sequence.get() < (1 << 23)) {
+            Thread.sleep(10);
+        }
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertTrue(reads.get() > 0);
+        assertEquals(0, torn.get());
+    }
+}
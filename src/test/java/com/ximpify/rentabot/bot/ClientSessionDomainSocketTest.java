@@ -0,0 +1,84 @@
+package com.ximpify.rentabot.bot;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import net.kyori.adventure.text.Component;
+import org.geysermc.mcprotocollib.network.ClientSession;
+import org.geysermc.mcprotocollib.network.factory.ClientNetworkSessionFactory;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that MCProtocolLib's client session connects when given a
+ * {@link DomainSocketAddress}, which is what {@link BotNetworkRuntime#getServerAddress()}
+ * returns with {@code server.transport: unix}.
+ */
+@EnabledOnOs(OS.LINUX)
+class ClientSessionDomainSocketTest {
+    
+    @TempDir
+    Path directory;
+    
+    private final Semaphore accepted = new Semaphore(0);
+    private EventLoopGroup group;
+    private Channel server;
+    
+    @BeforeEach
+    void startServer() throws InterruptedException {
+        assumeTrue(Epoll.isAvailable(), "native epoll not available");
+        group = new MultiThreadIoEventLoopGroup(1, EpollIoHandler.newFactory());
+        server = new ServerBootstrap()
+            .group(group)
+            .channel(EpollServerDomainSocketChannel.class)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    accepted.release();
+                }
+            })
+            .bind(new DomainSocketAddress(directory.resolve("server.sock").toFile())).sync().channel();
+    }
+    
+    @AfterEach
+    void stopServer() {
+        if (group != null) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+    
+    @Test
+    void clientSessionConnectsToDomainSocket() throws InterruptedException {
+        DomainSocketAddress address = (DomainSocketAddress) server.localAddress();
+        // Built the same way RentableBot builds its sessions
+        ClientSession session = ClientNetworkSessionFactory.factory()
+            .setRemoteSocketAddress(address)
+            .setProtocol(new MinecraftProtocol("SocketCheck"))
+            .create();
+        try {
+            session.connect();
+            assertTrue(accepted.tryAcquire(5, TimeUnit.SECONDS),
+                "MCProtocolLib did not open a connection to " + address.path());
+        } finally {
+            session.disconnect(Component.text("Done"));
+        }
+    }
+}
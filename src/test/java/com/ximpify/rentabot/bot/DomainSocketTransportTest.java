@@ -0,0 +1,215 @@
+package com.ximpify.rentabot.bot;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Stand-in server for {@code server.transport: unix}: an echo server listening on
+ * both loopback TCP and a domain socket, driven through the same native epoll
+ * transport the bot runtime uses. Run with {@code -Drentabot.benchmark=true} to
+ * print a round-trip latency and CPU comparison of the two.
+ */
+@EnabledOnOs(OS.LINUX)
+class DomainSocketTransportTest {
+    
+    private static final int WARMUP = 5_000;
+    private static final int ROUND_TRIPS = 50_000;
+    // Event loop threads of both ends are named with this prefix
+    private static final String THREAD_PREFIX = "transport-test";
+    
+    @TempDir
+    Path directory;
+    
+    private EventLoopGroup group;
+    private Channel tcpServer;
+    private Channel unixServer;
+    
+    @BeforeEach
+    void startServers() throws InterruptedException {
+        assumeTrue(Epoll.isAvailable(), "native epoll not available");
+        group = new MultiThreadIoEventLoopGroup(2, new DefaultThreadFactory(THREAD_PREFIX), EpollIoHandler.newFactory());
+        tcpServer = echoServer(EpollServerSocketChannel.class, new InetSocketAddress("127.0.0.1", 0));
+        unixServer = echoServer(EpollServerDomainSocketChannel.class,
+            new DomainSocketAddress(directory.resolve("server.sock").toFile()));
+    }
+    
+    @AfterEach
+    void stopServers() {
+        if (group != null) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+    
+    @Test
+    void connectsAndEchoesOverDomainSocket() throws InterruptedException {
+        try (Pinger pinger = connect(EpollDomainSocketChannel.class, unixServer.localAddress())) {
+            for (long i = 0; i < 100; i++) {
+                assertEquals(i, pinger.ping(i));
+            }
+        }
+    }
+    
+    @Test
+    void connectsAndEchoesOverTcp() throws InterruptedException {
+        try (Pinger pinger = connect(EpollSocketChannel.class, tcpServer.localAddress())) {
+            for (long i = 0; i < 100; i++) {
+                assertEquals(i, pinger.ping(i));
+            }
+        }
+    }
+    
+    @Test
+    @EnabledIfSystemProperty(named = "rentabot.benchmark", matches = "true")
+    void compareRoundTripLatencyAndCpu() throws InterruptedException {
+        assumeTrue(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported(), "thread CPU time not supported");
+        Result tcp = measure(EpollSocketChannel.class, tcpServer.localAddress());
+        Result unix = measure(EpollDomainSocketChannel.class, unixServer.localAddress());
+        System.out.println("Round trip over " + ROUND_TRIPS + " pings (microseconds; cpu is both ends plus the caller):");
+        System.out.println(summary("tcp ", tcp));
+        System.out.println(summary("unix", unix));
+    }
+    
+    private Result measure(Class<? extends Channel> channelClass, SocketAddress address) throws InterruptedException {
+        try (Pinger pinger = connect(channelClass, address)) {
+            for (long i = 0; i < WARMUP; i++) {
+                pinger.ping(i);
+            }
+            // Warmup has started every event loop thread the run uses
+            long cpuBefore = cpuNanos();
+            long[] nanos = new long[ROUND_TRIPS];
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                long start = System.nanoTime();
+                pinger.ping(i);
+                nanos[i] = System.nanoTime() - start;
+            }
+            long cpu = cpuNanos() - cpuBefore;
+            Arrays.sort(nanos);
+            return new Result(nanos, cpu);
+        }
+    }
+    
+    /**
+     * CPU time of the calling thread and every event loop thread, in nanoseconds.
+     */
+    private static long cpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<Long> ids = new ArrayList<>();
+        ids.add(Thread.currentThread().getId());
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith(THREAD_PREFIX)) {
+                ids.add(thread.getId());
+            }
+        }
+        long total = 0;
+        for (long id : ids) {
+            total += Math.max(0, threads.getThreadCpuTime(id));
+        }
+        return total;
+    }
+    
+    private static String summary(String name, Result result) {
+        long[] sorted = result.sortedNanos();
+        return String.format("  %s  p50 %6.1f  p99 %6.1f  mean %6.1f  cpu %6.1f", name,
+            sorted[sorted.length / 2] / 1000.0,
+            sorted[(int) (sorted.length * 0.99)] / 1000.0,
+            Arrays.stream(sorted).average().orElse(0) / 1000.0,
+            result.cpuNanos() / 1000.0 / sorted.length);
+    }
+    
+    private record Result(long[] sortedNanos, long cpuNanos) {}
+    
+    private Channel echoServer(Class<? extends io.netty.channel.ServerChannel> channelClass, SocketAddress address)
+            throws InterruptedException {
+        return new ServerBootstrap()
+            .group(group)
+            .channel(channelClass)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            ctx.writeAndFlush(msg);
+                        }
+                    });
+                }
+            })
+            .bind(address).sync().channel();
+    }
+    
+    private Pinger connect(Class<? extends Channel> channelClass, SocketAddress address) throws InterruptedException {
+        SynchronousQueue<Long> replies = new SynchronousQueue<>();
+        Channel channel = new Bootstrap()
+            .group(group)
+            .channel(channelClass)
+            .handler(new SimpleChannelInboundHandler<ByteBuf>() {
+                private final ByteBuf pending = Unpooled.buffer(Long.BYTES);
+                
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws InterruptedException {
+                    // Replies can arrive split; collect the eight bytes first
+                    pending.writeBytes(msg);
+                    if (pending.readableBytes() >= Long.BYTES) {
+                        replies.put(pending.readLong());
+                        pending.discardReadBytes();
+                    }
+                }
+            })
+            .connect(address).sync().channel();
+        return new Pinger(channel, replies);
+    }
+    
+    private record Pinger(Channel channel, SynchronousQueue<Long> replies) implements AutoCloseable {
+        long ping(long value) throws InterruptedException {
+            channel.writeAndFlush(channel.alloc().buffer(Long.BYTES).writeLong(value));
+            Long reply = replies.poll(5, TimeUnit.SECONDS);
+            if (reply == null) {
+                throw new AssertionError("No reply within 5 seconds");
+            }
+            return reply;
+        }
+        
+        @Override
+        public void close() {
+            channel.close().syncUninterruptibly();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ximpify.rentabot.bot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReconnectPolicyTest {
+    
+    private ReconnectPolicy policy;
+    
+    @BeforeEach
+    void setUp() {
+        policy = new ReconnectPolicy();
+        policy.configureBackoff(10_000, 300_000, 2.0, 0.3);
+        policy.configureBreaker(true, 3, 30_000, 30_000);
+    }
+    
+    // ==================== Backoff ====================
+    
+    @Test
+    void backoffDoublesPerAttempt() {
+        assertEquals(10_000, policy.delay(0, 0.5));
+        assertEquals(20_000, policy.delay(1, 0.5));
+        assertEquals(40_000, policy.delay(2, 0.5));
+    }
+    
+    @Test
+    void backoffIsCappedAtMaxDelay() {
+        assertEquals(300_000, policy.delay(10, 0.5));
+        assertEquals(300_000, policy.delay(Integer.MAX_VALUE, 0.5));
+        // Jitter never pushes past the cap
+        assertEquals(300_000, policy.delay(10, 0.99));
+    }
+    
+    @Test
+    void jitterSpreadsAroundTheDelay() {
+        assertEquals(7_000, policy.delay(0, 0.0));
+        assertEquals(12_999, policy.delay(0, 0.99999), 1);
+    }
+    
+    @Test
+    void zeroJitterIsExact() {
+        policy.configureBackoff(5_000, 60_000, 1.5, 0.0);
+        assertEquals(7_500, policy.delay(1, 0.0));
+        assertEquals(7_500, policy.delay(1, 0.99));
+    }
+    
+    // ==================== Breaker ====================
+    
+    @Test
+    void tripsAtThresholdWithinWindow() {
+        assertFalse(policy.recordFailure(1_000));
+        assertFalse(policy.recordFailure(2_000));
+        assertTrue(policy.recordFailure(3_000));
+        assertEquals(ReconnectPolicy.BreakerState.OPEN, policy.state());
+    }
+    
+    @Test
+    void failuresOutsideWindowDoNotCount() {
+        policy.recordFailure(0);
+        policy.recordFailure(1_000);
+        assertFalse(policy.recordFailure(40_000));
+        assertEquals(ReconnectPolicy.BreakerState.CLOSED, policy.state());
+    }
+    
+    @Test
+    void disabledBreakerNeverTrips() {
+        policy.configureBreaker(false, 3, 30_000, 30_000);
+        for (int i = 0; i < 10; i++) {
+            assertFalse(policy.recordFailure(i));
+        }
+        assertEquals(ReconnectPolicy.BreakerState.CLOSED, policy.state());
+    }
+    
+    @Test
+    void halfOpensAfterCooldown() {
+        assertTrue(policy.trip(0));
+        assertFalse(policy.advance(29_999));
+        assertEquals(ReconnectPolicy.BreakerState.OPEN, policy.state());
+        assertTrue(policy.advance(30_000));
+        assertEquals(ReconnectPolicy.BreakerState.HALF_OPEN, policy.state());
+    }
+    
+    @Test
+    void failedProbeRestartsCooldownWithinSameOutage() {
+        policy.trip(0);
+        policy.advance(30_000);
+        assertFalse(policy.trip(31_000));
+        assertFalse(policy.advance(60_000));
+        assertTrue(policy.advance(61_000));
+        assertEquals(45_000, policy.close(45_000));
+    }
+    
+    @Test
+    void closeReportsOutageOnlyOnce() {
+        policy.trip(5_000);
+        assertEquals(10_000, policy.outageMillis(15_000));
+        assertEquals(20_000, policy.close(25_000));
+        assertEquals(-1, policy.close(26_000));
+        assertEquals(0, policy.outageMillis(27_000));
+    }
+    
+    @Test
+    void failuresBeforeTripAreForgotten() {
+        policy.recordFailure(0);
+        policy.recordFailure(1);
+        policy.recordFailure(2);
+        policy.close(3);
+        assertFalse(policy.recordFailure(4));
+        assertFalse(policy.recordFailure(5));
+        assertTrue(policy.recordFailure(6));
+    }
+    
+    // ==================== Ramp ====================
+    
+    @Test
+    void unlimitedReleasesWithoutOutage() {
+        policy.beginReleases(0);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(policy.tryRelease());
+        }
+    }
+    
+    @Test
+    void releasesDoubleEverySecondAfterOutage() {
+        policy.trip(0);
+        policy.close(1_000);
+        for (int second = 2, expected = 1; expected <= ReconnectPolicy.MAX_RAMP_RATE; second++, expected *= 2) {
+            policy.beginReleases(second * 1_000L);
+            assertEquals(expected, drain(), "second " + second);
+            // Same second: no refill
+            policy.beginReleases(second * 1_000L + 500);
+            assertFalse(policy.tryRelease());
+        }
+        // Past the top rate the ramp stops limiting
+        policy.beginReleases(100_000);
+        assertEquals(1_000, drain());
+    }
+    
+    @Test
+    void tripStopsRamp() {
+        policy.trip(0);
+        policy.close(1_000);
+        policy.beginReleases(2_000);
+        policy.trip(2_100);
+        policy.beginReleases(3_000);
+        assertEquals(1_000, drain());
+    }
+    
+    private int drain() {
+        int released = 0;
+        while (released < 1_000 && policy.tryRelease()) {
+            released++;
+        }
+        return released;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ximpify.rentabot.storage;
+
+import com.ximpify.rentabot.storage.PendingWrites.Op;
+import com.ximpify.rentabot.storage.PendingWrites.Pending;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PendingWritesTest {
+    
+    private final PendingWrites<String> writes = new PendingWrites<>();
+    
+    @Test
+    void repeatedSavesCoalesceIntoOneKeepingOldestTime() {
+        writes.save("Alpha", "v1", 10);
+        writes.save("alpha", "v2", 20);
+        writes.save("ALPHA", "v3", 30);
+        assertEquals(1, writes.size());
+        assertEquals(new Pending<>(Op.SAVE, "ALPHA", "v3", 10), only());
+    }
+    
+    @Test
+    void deleteReplacesPendingSave() {
+        writes.save("alpha", "v1", 10);
+        writes.delete("alpha", 20);
+        assertEquals(new Pending<>(Op.DELETE, "alpha", null, 10), only());
+    }
+    
+    @Test
+    void saveAfterDeleteBecomesReplace() {
+        writes.delete("Alpha", 10);
+        writes.save("alpha", "v2", 20);
+        // The row to delete keeps the deleted name
+        assertEquals(new Pending<>(Op.REPLACE, "Alpha", "v2", 10), only());
+    }
+    
+    @Test
+    void saveAfterReplaceStaysReplace() {
+        writes.delete("alpha", 10);
+        writes.save("alpha", "v2", 20);
+        writes.save("alpha", "v3", 30);
+        assertEquals(new Pending<>(Op.REPLACE, "alpha", "v3", 10), only());
+    }
+    
+    @Test
+    void deleteAfterReplaceIsDelete() {
+        writes.delete("alpha", 10);
+        writes.save("alpha", "v2", 20);
+        writes.delete("alpha", 30);
+        assertEquals(Op.DELETE, only().op());
+    }
+    
+    @Test
+    void deleteHasNoValue() {
+        writes.delete("alpha", 10);
+        assertNull(only().bot());
+    }
+    
+    @Test
+    void rowsAreIndependent() {
+        writes.save("alpha", "a", 10);
+        writes.delete("beta", 20);
+        writes.save("gamma", "c", 30);
+        assertEquals(3, writes.takeAll().size());
+        assertTrue(writes.isEmpty());
+    }
+    
+    // ==================== Requeue ====================
+    
+    @Test
+    void requeuedRowComesBack() {
+        writes.save("alpha", "v1", 10);
+        Pending<String> failed = only();
+        writes.requeue(failed);
+        assertEquals(failed, only());
+    }
+    
+    @Test
+    void newerSaveWinsOverFailedSave() {
+        writes.save("alpha", "v1", 10);
+        Pending<String> failed = only();
+        writes.save("alpha", "v2", 20);
+        writes.requeue(failed);
+        assertEquals(new Pending<>(Op.SAVE, "alpha", "v2", 20), only());
+    }
+    
+    @Test
+    void saveAfterFailedDeleteStillDeletesFirst() {
+        writes.delete("alpha", 10);
+        Pending<String> failed = only();
+        writes.save("alpha", "v2", 20);
+        writes.requeue(failed);
+        assertEquals(new Pending<>(Op.REPLACE, "alpha", "v2", 10), only());
+    }
+    
+    @Test
+    void newerDeleteWinsOverFailedReplace() {
+        writes.delete("alpha", 10);
+        writes.save("alpha", "v2", 20);
+        Pending<String> failed = only();
+        writes.delete("alpha", 30);
+        writes.requeue(failed);
+        assertEquals(new Pending<>(Op.DELETE, "alpha", null, 30), only());
+    }
+    
+    // ==================== Concurrency ====================
+    
+    @Test
+    void takeAllLosesNothingUnderConcurrentSaves() throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    writes.save("bot" + id + "_" + i, "v", i);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        
+        Set<String> seen = new HashSet<>();
+        start.countDown();
+        boolean writing = true;
+        while (writing) {
+            writing = writers.stream().anyMatch(Thread::isAlive);
+            for (Pending<String> row : writes.takeAll()) {
+                assertTrue(seen.add(row.botName()), "taken twice: " + row.botName());
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        for (Pending<String> row : writes.takeAll()) {
+            assertTrue(seen.add(row.botName()));
+        }
+        assertEquals(threads * perThread, seen.size());
+    }
+    
+    private Pending<String> only() {
+        List<Pending<String>> batch = writes.takeAll();
+        assertEquals(1, batch.size());
+        assertTrue(writes.isEmpty());
+        return batch.get(0);
+    }
+}
@@ -0,0 +1,265 @@
+package com.ximpify.rentabot.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the batch writer against a SQLite file set up like the plugin's (WAL,
+ * synchronous NORMAL), on a small table with one column per dirty bit. Run with
+ * {@code -Drentabot.benchmark=true} to compare it with per-row auto-commit saves.
+ */
+class RentalBatchWriterTest {
+    
+    private static final int A = 1;
+    private static final int B = 2;
+    private static final int ROWS = 2_000;
+    private static final int ROUNDS = 15;
+    
+    /**
+     * A row with two column groups and its dirty mask.
+     */
+    private static final class Row {
+        final String name;
+        int a;
+        int b;
+        int dirty;
+        
+        Row(String name, int a, int b, int dirty) {
+            this.name = name;
+            this.a = a;
+            this.b = b;
+            this.dirty = dirty;
+        }
+    }
+    
+    private static final RentalBatchWriter.Rows<Row> ROW_BINDING = new RentalBatchWriter.Rows<>() {
+        @Override
+        public int takeDirty(Row row) {
+            int mask = row.dirty;
+            row.dirty = 0;
+            return mask;
+        }
+        
+        @Override
+        public void restoreDirty(Row row, int mask) {
+            row.dirty |= mask;
+        }
+        
+        @Override
+        public void bind(PreparedStatement stmt, Row row) throws SQLException {
+            if (row.name.startsWith("broken")) {
+                throw new SQLException("cannot bind " + row.name);
+            }
+            stmt.setString(1, row.name);
+            stmt.setInt(2, row.a);
+            stmt.setInt(3, row.b);
+        }
+    };
+    
+    @TempDir
+    Path dir;
+    
+    private final List<Integer> prepared = new ArrayList<>();
+    private final RentalBatchWriter<Row> writer = new RentalBatchWriter<>(ROW_BINDING, mask -> {
+        prepared.add(mask);
+        return upsert(mask);
+    }, "DELETE FROM rows WHERE name = ?");
+    private Connection conn;
+    
+    @BeforeEach
+    void open() throws SQLException {
+        conn = open("rows");
+    }
+    
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+    
+    @Test
+    void prepareOneStatementPerDirtyMask() throws SQLException {
+        List<Row> saves = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            saves.add(new Row("bot" + i, i, i, i % 3 == 0 ? A : i % 3 == 1 ? B : A | B));
+        }
+        writer.write(conn, List.of(), saves);
+        
+        Collections.sort(prepared);
+        assertEquals(List.of(A, B, A | B), prepared);
+        assertEquals(30, count());
+    }
+    
+    @Test
+    void writeMoreRowsThanOneChunk() throws SQLException {
+        int rows = RentalBatchWriter.BATCH_CHUNK * 2 + 17;
+        List<Row> saves = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            saves.add(new Row("bot" + i, i, i, A | B));
+            deletes.add("gone" + i);
+        }
+        writer.write(conn, deletes, saves);
+        assertEquals(rows, count());
+    }
+    
+    @Test
+    void existingRowOnlyGetsDirtyColumns() throws SQLException {
+        writer.write(conn, List.of(), List.of(new Row("bot", 1, 1, A | B)));
+        writer.write(conn, List.of(), List.of(new Row("bot", 2, 2, B)));
+        assertEquals(List.of(1, 2), read("bot"));
+    }
+    
+    @Test
+    void deletesRunBeforeSaves() throws SQLException {
+        writer.write(conn, List.of(), List.of(new Row("bot", 1, 1, A | B)));
+        // A bot recreated under a deleted name: the delete must not remove the new row
+        writer.write(conn, List.of("bot"), List.of(new Row("bot", 2, 2, A | B)));
+        assertEquals(List.of(2, 2), read("bot"));
+    }
+    
+    @Test
+    void skipRowsWithNothingDirty() throws SQLException {
+        writer.write(conn, List.of(), List.of(new Row("clean", 1, 1, 0), new Row("dirty", 1, 1, A)));
+        assertEquals(List.of(A), prepared);
+        assertEquals(1, count());
+    }
+    
+    @Test
+    void failedWriteRollsBackAndRestoresMasks() throws SQLException {
+        writer.write(conn, List.of(), List.of(new Row("kept", 1, 1, A | B)));
+        Row first = new Row("first", 1, 1, A);
+        Row second = new Row("second", 1, 1, B);
+        Row broken = new Row("broken", 1, 1, B);
+        
+        assertThrows(SQLException.class, () -> writer.write(conn, List.of("kept"), List.of(first, second, broken)));
+        
+        // Nothing committed, including the delete
+        assertEquals(List.of(1, 1), read("kept"));
+        assertEquals(1, count());
+        // Every taken mask is handed back so the next flush writes the rows again
+        assertEquals(A, first.dirty);
+        assertEquals(B, second.dirty);
+        assertEquals(B, broken.dirty);
+        assertTrue(conn.getAutoCommit());
+    }
+    
+    // ==================== Benchmark ====================
+    
+    @Test
+    @EnabledIfSystemProperty(named = "rentabot.benchmark", matches = "true")
+    void compareWriteThroughput() throws SQLException {
+        // First round warms up the JIT and is not reported
+        round("warmup");
+        List<Long> perRow = new ArrayList<>();
+        List<Long> batched = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] nanos = round(String.valueOf(round));
+            perRow.add(nanos[0]);
+            batched.add(nanos[1]);
+        }
+        
+        System.out.println("SQLite writes, " + ROWS + " rows, median of " + ROUNDS + " rounds:");
+        report("per-row auto-commit", perRow);
+        report("RentalBatchWriter, one transaction", batched);
+    }
+    
+    /**
+     * Saves every row once per path, each on a fresh file, and returns the times.
+     */
+    private long[] round(String name) throws SQLException {
+        long[] nanos = new long[2];
+        try (Connection single = open("per-row-" + name)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                // The save path before batching: prepared and auto-committed per row
+                try (PreparedStatement stmt = single.prepareStatement(upsert(A | B))) {
+                    ROW_BINDING.bind(stmt, new Row("bot" + i, i, i, A | B));
+                    stmt.executeUpdate();
+                }
+            }
+            nanos[0] = System.nanoTime() - start;
+        }
+        try (Connection batch = open("batched-" + name)) {
+            List<Row> saves = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                saves.add(new Row("bot" + i, i, i, A | B));
+            }
+            long start = System.nanoTime();
+            writer.write(batch, List.of(), saves);
+            nanos[1] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+    
+    private static void report(String name, List<Long> nanos) {
+        Collections.sort(nanos);
+        double millis = nanos.get(nanos.size() / 2) / 1_000_000.0;
+        System.out.printf("  %-36s %8.1f ms %10.0f rows/s%n", name, millis, ROWS / (millis / 1000));
+    }
+    
+    // ==================== Helpers ====================
+    
+    private static String upsert(int mask) {
+        List<String> assignments = new ArrayList<>();
+        if ((mask & A) != 0) {
+            assignments.add("a = excluded.a");
+        }
+        if ((mask & B) != 0) {
+            assignments.add("b = excluded.b");
+        }
+        return "INSERT INTO rows (name, a, b) VALUES (?, ?, ?) ON CONFLICT(name) DO UPDATE SET "
+            + String.join(", ", assignments);
+    }
+    
+    private Connection open(String name) throws SQLException {
+        // Same pragmas the plugin's SQLite writer uses by default
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", "WAL");
+        properties.setProperty("synchronous", "NORMAL");
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve(name + ".db"), properties);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE rows (name TEXT PRIMARY KEY, a INTEGER, b INTEGER)");
+        }
+        return connection;
+    }
+    
+    private int count() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM rows")) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+    
+    private List<Integer> read(String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT a, b FROM rows WHERE name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                List<Integer> values = List.of(rs.getInt(1), rs.getInt(2));
+                assertFalse(rs.next());
+                return values;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ximpify.rentabot.storage;
+
+import com.ximpify.rentabot.bot.ColumnGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rental upserts and deletes run against SQLite, plus the MySQL dialect's text.
+ */
+class RentalSqlTest {
+    
+    private static final String PREFIX = "rentabot_";
+    
+    private final RentalSql sql = new RentalSql(PREFIX, false);
+    
+    @TempDir
+    Path dir;
+    
+    private Connection conn;
+    
+    @BeforeEach
+    void open() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("rentals.db"));
+        // Every written column, keyed like the real table
+        StringBuilder columns = new StringBuilder("id INTEGER PRIMARY KEY AUTOINCREMENT, bot_name TEXT NOT NULL UNIQUE");
+        for (String column : RentalSql.INSERT_COLUMNS.subList(1, RentalSql.INSERT_COLUMNS.size())) {
+            columns.append(", ").append(column);
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + PREFIX + "rentals (" + columns + ")");
+        }
+    }
+    
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+    
+    @Test
+    void groupsCoverEveryColumnButTheKey() {
+        Set<String> grouped = new HashSet<>();
+        for (ColumnGroup group : ColumnGroup.values()) {
+            for (String column : RentalSql.GROUP_COLUMNS.get(group)) {
+                assertTrue(grouped.add(column), column + " is in more than one group");
+            }
+        }
+        Set<String> written = new HashSet<>(RentalSql.INSERT_COLUMNS);
+        assertTrue(written.remove("bot_name"));
+        assertEquals(written, grouped);
+    }
+    
+    @Test
+    void newRowGetsEveryColumn() throws SQLException {
+        upsert(ColumnGroup.POSITION.bit(), 1, 0);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT display_name, status, x, spawn_world FROM rentabot_rentals")) {
+            assertTrue(rs.next());
+            assertEquals("Bot1", rs.getString(1));
+            assertEquals("ACTIVE", rs.getString(2));
+            assertEquals(1.0, rs.getDouble(3));
+            assertEquals("world", rs.getString(4));
+        }
+    }
+    
+    @Test
+    void existingRowOnlyGetsDirtyGroups() throws SQLException {
+        upsert(ColumnGroup.ALL, 1, 0);
+        upsert(ColumnGroup.POSITION.bit(), 1, 1);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT display_name, status, remaining_seconds, world, x, spawn_x FROM rentabot_rentals")) {
+            assertTrue(rs.next());
+            // Unchanged groups keep the first write
+            assertEquals("Bot1", rs.getString(1));
+            assertEquals("ACTIVE", rs.getString(2));
+            assertEquals(3600, rs.getLong(3));
+            assertEquals(1.0, rs.getDouble(6));
+            // Position takes the second
+            assertEquals("world_nether", rs.getString(4));
+            assertEquals(2.0, rs.getDouble(5));
+            assertFalse(rs.next());
+        }
+    }
+    
+    @Test
+    void upsertKeepsRowId() throws SQLException {
+        upsert(ColumnGroup.ALL, 1, 0);
+        long id = id("bot1");
+        upsert(ColumnGroup.LIFECYCLE.bit(), 1, 1);
+        // Updated in place rather than deleted and reinserted
+        assertEquals(id, id("bot1"));
+    }
+    
+    @Test
+    void everyMaskPrepares() throws SQLException {
+        for (int mask = 1; mask <= ColumnGroup.ALL; mask++) {
+            conn.prepareStatement(sql.upsert(mask)).close();
+        }
+        conn.prepareStatement(sql.delete()).close();
+    }
+    
+    @Test
+    void deleteRemovesRow() throws SQLException {
+        upsert(ColumnGroup.ALL, 1, 0);
+        upsert(ColumnGroup.ALL, 2, 0);
+        try (PreparedStatement stmt = conn.prepareStatement(sql.delete())) {
+            stmt.setString(1, "bot1");
+            assertEquals(1, stmt.executeUpdate());
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT bot_name FROM rentabot_rentals")) {
+            assertTrue(rs.next());
+            assertEquals("bot2", rs.getString(1));
+            assertFalse(rs.next());
+        }
+    }
+    
+    @Test
+    void mysqlUsesDuplicateKeyUpdate() {
+        String upsert = new RentalSql(PREFIX, true).upsert(ColumnGroup.POSITION.bit());
+        assertTrue(upsert.startsWith("INSERT INTO rentabot_rentals ("), upsert);
+        assertTrue(upsert.endsWith(" ON DUPLICATE KEY UPDATE world = VALUES(world), x = VALUES(x), y = VALUES(y), "
+            + "z = VALUES(z), yaw = VALUES(yaw), pitch = VALUES(pitch)"), upsert);
+    }
+    
+    // ==================== Helpers ====================
+    
+    private void upsert(int mask, int row, int version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql.upsert(mask))) {
+            bind(stmt, row, version);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Binds row {@code i} in {@link RentalSql#INSERT_COLUMNS} order. Position and
+     * time values move with {@code version}; everything else stays fixed.
+     */
+    private static void bind(PreparedStatement stmt, int i, int version) throws SQLException {
+        stmt.setString(1, "bot" + i);
+        stmt.setString(2, "Bot" + i);
+        stmt.setString(3, "00000000-0000-0000-0000-" + String.format("%012d", i));
+        stmt.setString(4, "Owner" + i);
+        stmt.setString(5, "ACTIVE");
+        stmt.setLong(6, 3600 - version);
+        stmt.setLong(7, 1_700_000_000_000L + version);
+        stmt.setLong(8, 1_700_000_000_000L);
+        stmt.setLong(9, 1_700_003_600_000L);
+        stmt.setString(10, version == 0 ? "world" : "world_nether");
+        stmt.setDouble(11, i + version);
+        stmt.setDouble(12, 64 + version);
+        stmt.setDouble(13, -i - version);
+        stmt.setFloat(14, version);
+        stmt.setFloat(15, 0);
+        stmt.setString(16, "world");
+        stmt.setDouble(17, i);
+        stmt.setDouble(18, 64);
+        stmt.setDouble(19, -i);
+        stmt.setFloat(20, 0);
+        stmt.setFloat(21, 0);
+    }
+    
+    private long id(String botName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM rentabot_rentals WHERE bot_name = ?")) {
+            stmt.setString(1, botName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ximpify.rentabot.storage;
+
+import com.ximpify.rentabot.bot.ColumnGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+    
+    private static final String PREFIX = "rentabot_";
+    private static final int LATEST = 2;
+    private static final List<String> MIGRATED_COLUMNS = List.of(
+        "spawn_world", "spawn_x", "spawn_y", "spawn_z", "spawn_yaw", "spawn_pitch",
+        "status", "remaining_seconds", "last_active");
+    
+    @TempDir
+    Path dir;
+    
+    private final List<LogRecord> logged = new ArrayList<>();
+    private final Logger logger = Logger.getAnonymousLogger();
+    private Connection conn;
+    
+    @BeforeEach
+    void open() throws SQLException {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public void close() {
+            }
+        });
+        conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("rentabot.db"));
+    }
+    
+    @AfterEach
+    void closeConnection() throws SQLException {
+        conn.close();
+    }
+    
+    @Test
+    void freshDatabaseReachesLatestVersion() throws SQLException {
+        migrator().migrate(conn);
+        assertEquals(LATEST, version());
+        assertTrue(columns().containsAll(MIGRATED_COLUMNS));
+        assertEquals(LATEST, logged.size());
+        assertTrue(conn.getAutoCommit());
+    }
+    
+    @Test
+    void legacyTableGainsMissingColumnsAndKeepsRows() throws SQLException {
+        // Rentals table as written by releases before versioning
+        execute("""
+            CREATE TABLE rentabot_rentals (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                bot_name VARCHAR(64) NOT NULL UNIQUE,
+                display_name VARCHAR(64) NOT NULL,
+                owner_uuid VARCHAR(36) NOT NULL,
+                owner_name VARCHAR(16) NOT NULL,
+                created_at BIGINT NOT NULL,
+                expires_at BIGINT NOT NULL,
+                world VARCHAR(64),
+                x DOUBLE DEFAULT 0,
+                y DOUBLE DEFAULT 0,
+                z DOUBLE DEFAULT 0,
+                yaw FLOAT DEFAULT 0,
+                pitch FLOAT DEFAULT 0
+            )
+            """);
+        execute("INSERT INTO rentabot_rentals (bot_name, display_name, owner_uuid, owner_name, created_at, expires_at) "
+            + "VALUES ('Alpha', 'Alpha', '00000000-0000-0000-0000-000000000001', 'Owner', 1, 2)");
+        
+        migrator().migrate(conn);
+        
+        assertEquals(LATEST, version());
+        // Every column a rental save writes
+        assertTrue(columns().containsAll(RentalSql.INSERT_COLUMNS));
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT bot_name, status, remaining_seconds FROM rentabot_rentals")) {
+            assertTrue(rs.next());
+            assertEquals("Alpha", rs.getString(1));
+            assertEquals("ACTIVE", rs.getString(2));
+            assertEquals(0, rs.getLong(3));
+            assertFalse(rs.next());
+        }
+    }
+    
+    @Test
+    void migratedTableTakesEveryRentalWrite() throws SQLException {
+        migrator().migrate(conn);
+        Set<String> migrated = columns();
+        assertTrue(migrated.containsAll(RentalSql.INSERT_COLUMNS), migrated.toString());
+        
+        RentalSql sql = new RentalSql(PREFIX, false);
+        for (int mask = 1; mask <= ColumnGroup.ALL; mask++) {
+            conn.prepareStatement(sql.upsert(mask)).close();
+        }
+        conn.prepareStatement(sql.delete()).close();
+    }
+    
+    @Test
+    void columnMigrationSkipsColumnsThatExist() throws SQLException {
+        // Older releases added columns one at a time, so some may already exist
+        migrator().migrate(conn);
+        execute("DELETE FROM rentabot_schema_version");
+        execute("INSERT INTO rentabot_schema_version (version) VALUES (1)");
+        
+        migrator().migrate(conn);
+        assertEquals(LATEST, version());
+    }
+    
+    @Test
+    void upToDateDatabaseIsLeftAlone() throws SQLException {
+        migrator().migrate(conn);
+        logged.clear();
+        
+        migrator().migrate(conn);
+        assertEquals(LATEST, version());
+        assertTrue(logged.isEmpty());
+    }
+    
+    @Test
+    void newerVersionIsWarnedAboutAndLeftAlone() throws SQLException {
+        migrator().migrate(conn);
+        execute("UPDATE rentabot_schema_version SET version = " + (LATEST + 1));
+        logged.clear();
+        
+        migrator().migrate(conn);
+        assertEquals(LATEST + 1, version());
+        assertEquals(1, logged.size());
+        assertEquals(Level.WARNING, logged.get(0).getLevel());
+    }
+    
+    @Test
+    void failedMigrationKeepsEarlierVersion() throws SQLException {
+        // Version 1 recorded but the rentals table is gone, so adding columns fails
+        migrator().migrate(conn);
+        execute("DROP TABLE rentabot_rentals");
+        execute("UPDATE rentabot_schema_version SET version = 1");
+        
+        SQLException error = assertThrows(SQLException.class, () -> migrator().migrate(conn));
+        assertTrue(error.getMessage().startsWith("Schema migration 2"), error.getMessage());
+        assertEquals(1, version());
+        assertTrue(conn.getAutoCommit());
+    }
+    
+    @Test
+    void prefixKeepsInstallationsApart() throws SQLException {
+        migrator().migrate(conn);
+        new SchemaMigrator(logger, "other_", false).migrate(conn);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM other_schema_version")) {
+            assertTrue(rs.next());
+            assertEquals(LATEST, rs.getInt(1));
+        }
+        assertEquals(LATEST, version());
+    }
+    
+    private SchemaMigrator migrator() {
+        return new SchemaMigrator(logger, PREFIX, false);
+    }
+    
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
+    private int version() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM rentabot_schema_version")) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+    
+    private Set<String> columns() throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = conn.getMetaData().getColumns(null, null, PREFIX + "rentals", null)) {
+            while (rs.next()) {
+                names.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ximpify.rentabot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TpaMatcherTest {
+    
+    private static final TpaMatcher MATCHER = TpaMatcher.compile(
+        List.of("has requested to teleport to you", "%player% wants to teleport to you"),
+        List.of("has requested that you teleport to them", "teleport to them"));
+    
+    @Test
+    void matchesTpaAndTakesFirstName() {
+        assertEquals(new TpaMatcher.Match(TpaMatcher.Kind.TPA, "Steve"),
+            MATCHER.match("Steve has requested to teleport to you."));
+    }
+    
+    @Test
+    void matchesCaseInsensitively() {
+        assertEquals(TpaMatcher.Kind.TPA, MATCHER.match("Steve HAS REQUESTED TO TELEPORT TO YOU").kind());
+    }
+    
+    @Test
+    void matchesTpaHere() {
+        assertEquals(new TpaMatcher.Match(TpaMatcher.Kind.TPAHERE, "Alex"),
+            MATCHER.match("Alex has requested that you teleport to them."));
+    }
+    
+    @Test
+    void tpaWinsOverTpaHere() {
+        TpaMatcher matcher = TpaMatcher.compile(List.of("teleport"), List.of("teleport to them"));
+        assertEquals(TpaMatcher.Kind.TPA, matcher.match("Alex wants you to teleport to them").kind());
+    }
+    
+    @Test
+    void capturesPlayerPlaceholder() {
+        assertEquals(new TpaMatcher.Match(TpaMatcher.Kind.TPA, "Notch_99"),
+            MATCHER.match("» Notch_99 wants to teleport to you"));
+    }
+    
+    @Test
+    void placeholderPatternNeedsAName() {
+        TpaMatcher matcher = TpaMatcher.compile(List.of("%player% sent a request"), List.of());
+        assertNull(matcher.match("!!! sent a request"));
+    }
+    
+    @Test
+    void skipsBracketedTags() {
+        assertEquals("Steve", MATCHER.match("[Server] Steve has requested to teleport to you").player());
+        assertEquals("Steve", MATCHER.match("[VIP]Steve has requested to teleport to you").player());
+        assertEquals("Steve", MATCHER.match("(Staff Team) Steve has requested to teleport to you").player());
+    }
+    
+    @Test
+    void stripsPunctuationAroundName() {
+        assertEquals("Steve", MATCHER.match("<Steve> has requested to teleport to you").player());
+    }
+    
+    @Test
+    void ignoresUnrelatedLines() {
+        assertNull(MATCHER.match("Steve joined the game"));
+        assertNull(MATCHER.match(""));
+    }
+    
+    @Test
+    void emptyPatternsNeverMatch() {
+        TpaMatcher matcher = TpaMatcher.compile(List.of(), List.of("%player%"));
+        assertTrue(matcher.isEmpty());
+        assertNull(matcher.match("Steve has requested to teleport to you"));
+    }
+    
+    @Test
+    void feedFindsKeywordSplitAcrossPieces() {
+        int state = MATCHER.feed(0, "Steve has REQUESTED to tele");
+        assertNotEquals(TpaMatcher.FOUND, state);
+        assertEquals(TpaMatcher.FOUND, MATCHER.feed(state, "port to you."));
+        assertEquals(TpaMatcher.FOUND, MATCHER.feed(TpaMatcher.FOUND, ""));
+    }
+    
+    @Test
+    void feedSkipsUnrelatedLines() {
+        int state = MATCHER.feed(0, "Steve joined ");
+        assertNotEquals(TpaMatcher.FOUND, MATCHER.feed(state, "the game"));
+    }
+}